@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmarks;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BenchmarkData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2023, 1, 1, 12, 0);
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("user" + id);
+        user.setEmail("user" + id + "@email.com");
+        return user;
+    }
+
+    public static ItemRequest request(long id, User requestor) {
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription("Need a tool number " + id);
+        request.setRequestor(requestor);
+        request.setCreated(NOW.minusDays(id));
+        return request;
+    }
+
+    public static Item item(long id, User owner, ItemRequest request) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setDescription("Cordless drill with two batteries and a charger, item number " + id);
+        item.setAvailable(id % 2 == 0);
+        item.setOwner(owner);
+        item.setRequest(request);
+        return item;
+    }
+
+    public static Booking booking(long id, Item item, User booker) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setStart(NOW.plusDays(id));
+        booking.setEnd(NOW.plusDays(id + 1));
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+
+    public static List<Item> items(int size) {
+        User owner = user(1);
+        ItemRequest request = request(1, user(2));
+        List<Item> items = new ArrayList<>(size);
+
+        for (long id = 1; id <= size; id++) {
+            items.add(item(id, owner, id % 3 == 0 ? request : null));
+        }
+
+        return items;
+    }
+
+    public static List<ItemRequest> requests(int size) {
+        User requestor = user(2);
+        List<ItemRequest> requests = new ArrayList<>(size);
+
+        for (long id = 1; id <= size; id++) {
+            requests.add(request(id, requestor));
+        }
+
+        return requests;
+    }
+
+    public static List<BookingListEntry> bookingEntries(int size) {
+        List<BookingListEntry> entries = new ArrayList<>(size);
+
+        for (long id = 1; id <= size; id++) {
+            entries.add(new BookingListEntry(id, NOW.plusDays(id), NOW.plusDays(id + 1), BookingStatus.WAITING, id,
+                    "Item " + id, 2L));
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.support.ConstraintChecker;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintCheckerBenchmark {
+    final Exception violation = new RuntimeException("could not execute statement",
+            new IllegalStateException("constraint violation", new IllegalArgumentException(
+                    "ERROR: duplicate key value violates unique constraint \"UQ_USER_EMAIL\"")));
+
+    String constraintName = "uq_user_email";
+
+    String otherConstraintName = "fk_booking_item";
+
+    @Benchmark
+    public boolean checkMatchingInnermostCause() {
+        return ConstraintChecker.check(violation, constraintName);
+    }
+
+    @Benchmark
+    public boolean checkNotMatching() {
+        return ConstraintChecker.check(violation, otherConstraintName);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.item.dto.CommentDtoToClient;
+import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    int size;
+
+    ObjectMapper objectMapper;
+
+    ObjectWriter listWriter;
+
+    List<ItemDtoToClient> items;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ItemDtoToClient.class));
+        items = Mappers.getMapper(ItemMapper.class).toDtoList(BenchmarkData.items(size), 2L, null, null);
+
+        for (ItemDtoToClient item : items) {
+            CommentDtoToClient comment = new CommentDtoToClient();
+            comment.setId(item.getId());
+            comment.setText("Works great, returned on time");
+            comment.setAuthorName("user2");
+            comment.setCreated(BenchmarkData.NOW);
+            item.setComments(List.of(comment));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeItemList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] writeItemListWithTypedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(items);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDtoToClient;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
+import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "100"})
+    int size;
+
+    ItemMapper itemMapper;
+
+    BookingMapper bookingMapper;
+
+    ItemRequestMapper itemRequestMapper;
+
+    List<Item> items;
+
+    List<ItemRequest> requests;
+
+    List<BookingListEntry> bookingEntries;
+
+    Booking booking;
+
+    @Setup
+    public void setUp() {
+        itemMapper = Mappers.getMapper(ItemMapper.class);
+        bookingMapper = Mappers.getMapper(BookingMapper.class);
+        itemRequestMapper = Mappers.getMapper(ItemRequestMapper.class);
+        items = BenchmarkData.items(size);
+        requests = BenchmarkData.requests(size);
+        bookingEntries = BenchmarkData.bookingEntries(size);
+        booking = BenchmarkData.booking(1, items.get(0), BenchmarkData.user(2));
+    }
+
+    @Benchmark
+    public ItemDtoToClient itemToDto() {
+        return itemMapper.toDto(items.get(0), 2L, null, null);
+    }
+
+    @Benchmark
+    public List<ItemDtoToClient> itemsToDtoList() {
+        return itemMapper.toDtoList(items, 2L, null, null);
+    }
+
+    @Benchmark
+    public BookingDtoToClient bookingToDto() {
+        return bookingMapper.toDto(booking);
+    }
+
+    @Benchmark
+    public List<BookingDtoToClient> bookingEntriesToDtoList() {
+        return bookingMapper.toDtoList(bookingEntries);
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoToClient> requestsToDtoList() {
+        return itemRequestMapper.toDtoList(requests, null);
+    }
+
+    @Benchmark
+    public List<ru.practicum.shareit.request.dto.ItemDtoToClient> requestItemsToDtoList() {
+        return itemRequestMapper.toItemDtoList(items);
+    }
+}
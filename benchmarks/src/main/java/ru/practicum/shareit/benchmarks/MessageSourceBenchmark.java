@@ -0,0 +1,44 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.configuration.AppConfiguration;
+import ru.practicum.shareit.support.DefaultLocaleMessageSource;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageSourceBenchmark {
+    DefaultLocaleMessageSource messageSource;
+
+    String existingCode = "item.ItemController.readById";
+
+    String missingCode = "item.ItemController.missing";
+
+    @Setup
+    public void setUp() {
+        messageSource = new AppConfiguration().messageSource();
+    }
+
+    @Benchmark
+    public String getExisting() {
+        return messageSource.get(existingCode);
+    }
+
+    @Benchmark
+    public String getMissing() {
+        return messageSource.get(missingCode);
+    }
+}
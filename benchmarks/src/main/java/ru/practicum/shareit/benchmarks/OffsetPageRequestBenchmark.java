@@ -0,0 +1,50 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.support.OffsetPageRequest;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OffsetPageRequestBenchmark {
+    final Sort sort = Sort.by(Sort.Direction.DESC, "start");
+
+    final OffsetPageRequest pageRequest = OffsetPageRequest.ofOffset(25, 10, null);
+
+    Integer from = 25;
+
+    Integer size = 10;
+
+    @Benchmark
+    public OffsetPageRequest ofOffset() {
+        return OffsetPageRequest.ofOffset(from, size, sort);
+    }
+
+    @Benchmark
+    public OffsetPageRequest ofOffsetWithoutSize() {
+        return OffsetPageRequest.ofOffset(from, null, null);
+    }
+
+    @Benchmark
+    public OffsetPageRequest withSortByDirectionAndProperties() {
+        return pageRequest.withSort(Sort.Direction.DESC, "start", "id");
+    }
+
+    @Benchmark
+    public OffsetPageRequest withSort() {
+        return pageRequest.withSort(sort);
+    }
+}
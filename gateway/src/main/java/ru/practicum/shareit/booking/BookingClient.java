@@ -1,36 +1,54 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.HttpClientProperties;
 import ru.practicum.shareit.client.QueryParameters;
+import ru.practicum.shareit.client.RequestCoalescer;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory requestFactory, HttpClientProperties httpClientProperties,
+                         ObjectProvider<AsyncServerExchange> asyncExchange,
+                         ObjectProvider<GatewayResponseCache> responseCache,
+                         ObjectProvider<RequestCoalescer> requestCoalescer,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                httpClientProperties.isStreaming(),
+                asyncExchange.getIfAvailable(),
+                responseCache.getIfAvailable(),
+                requestCoalescer.getIfAvailable(),
+                meterRegistry.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> create(long userId, BookingDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(long userId, BookingDtoFromClient requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> readByBooker(long userId, BookingState state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> readByBooker(long userId, BookingState state, Integer from,
+                                                                  Integer size) {
         QueryParameters queryParameters = new QueryParameters();
         queryParameters.add("state", state);
         queryParameters.add("size", size);
@@ -38,7 +56,8 @@ public class BookingClient extends BaseClient {
         return get(queryParameters.getQuery(), userId, queryParameters.getParameters());
     }
 
-    public ResponseEntity<Object> readByOwner(long userId, BookingState state, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> readByOwner(long userId, BookingState state, Integer from,
+                                                                 Integer size) {
         QueryParameters queryParameters = new QueryParameters();
         queryParameters.add("state", state);
         queryParameters.add("size", size);
@@ -46,11 +65,29 @@ public class BookingClient extends BaseClient {
         return get("/owner" + queryParameters.getQuery(), userId, queryParameters.getParameters());
     }
 
-    public ResponseEntity<Object> readById(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public CompletableFuture<ResponseEntity<Object>> readByBookerAfter(long userId, BookingState state, String after,
+                                                                       Integer size) {
+        QueryParameters queryParameters = new QueryParameters();
+        queryParameters.add("state", state);
+        queryParameters.add("size", size);
+        queryParameters.add("after", after);
+        return get(queryParameters.getQuery(), userId, queryParameters.getParameters());
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> readByOwnerAfter(long userId, BookingState state, String after,
+                                                                      Integer size) {
+        QueryParameters queryParameters = new QueryParameters();
+        queryParameters.add("state", state);
+        queryParameters.add("size", size);
+        queryParameters.add("after", after);
+        return get("/owner" + queryParameters.getQuery(), userId, queryParameters.getParameters());
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> readById(long userId, Long bookingId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + bookingId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> approve(long userId, Long bookingId, boolean approved) {
+    public CompletableFuture<ResponseEntity<Object>> approve(long userId, Long bookingId, boolean approved) {
         QueryParameters queryParameters = new QueryParameters();
         queryParameters.add("approved", approved);
         return patch("/" + bookingId + queryParameters.getQuery(), userId, queryParameters.getParameters(),
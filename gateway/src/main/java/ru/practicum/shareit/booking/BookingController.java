@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -26,8 +28,8 @@ public class BookingController {
 	DefaultLocaleMessageSource messageSource;
 
 	@PostMapping
-	public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-										 @Valid @RequestBody BookingDtoFromClient inDto) {
+	public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+															@Valid @RequestBody BookingDtoFromClient inDto) {
 		if (!inDto.getStart().isBefore(inDto.getEnd())) {
 			throw new ValidationException("start", messageSource.get("booking.BookingController.startBeforeEnd") + ": "
 					+ inDto.getStart() + " " + inDto.getEnd());
@@ -38,13 +40,14 @@ public class BookingController {
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> readByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
-											   @RequestParam(value = "from", required = false, defaultValue = "0")
-											   @Min(value = 0, message = "{controller.minFrom}") Integer from,
-											   @RequestParam(value = "size", required = false)
-											   @Min(value = 1, message = "{controller.minSize}") Integer size,
-											   @RequestParam(value = "state", required = false, defaultValue = "all")
-											   String stateParam) {
+	public CompletableFuture<ResponseEntity<Object>> readByBooker(
+			@RequestHeader("X-Sharer-User-Id") Long userId,
+			@RequestParam(value = "from", required = false, defaultValue = "0")
+			@Min(value = 0, message = "{controller.minFrom}") Integer from,
+			@RequestParam(value = "size", required = false)
+			@Min(value = 1, message = "{controller.minSize}") Integer size,
+			@RequestParam(value = "state", required = false, defaultValue = "all")
+			String stateParam) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new ValidationException("error", "Unknown state: " + stateParam));
 
@@ -54,13 +57,14 @@ public class BookingController {
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> readByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
-											  @RequestParam(value = "from", required = false, defaultValue = "0")
-											  @Min(value = 0, message = "{controller.minFrom}") Integer from,
-											  @RequestParam(value = "size", required = false)
-											  @Min(value = 1, message = "{controller.minSize}") Integer size,
-											  @RequestParam(value = "state", defaultValue = "all", required = false)
-											  String stateParam) {
+	public CompletableFuture<ResponseEntity<Object>> readByOwner(
+			@RequestHeader("X-Sharer-User-Id") Long userId,
+			@RequestParam(value = "from", required = false, defaultValue = "0")
+			@Min(value = 0, message = "{controller.minFrom}") Integer from,
+			@RequestParam(value = "size", required = false)
+			@Min(value = 1, message = "{controller.minSize}") Integer size,
+			@RequestParam(value = "state", defaultValue = "all", required = false)
+			String stateParam) {
 		BookingState state = BookingState.from(stateParam)
 				.orElseThrow(() -> new ValidationException("error", "Unknown state: " + stateParam));
 
@@ -69,17 +73,51 @@ public class BookingController {
 		return bookingClient.readByOwner(userId, state, from, size);
 	}
 
+	@GetMapping(params = "after")
+	public CompletableFuture<ResponseEntity<Object>> readByBookerAfter(
+			@RequestHeader("X-Sharer-User-Id") Long userId,
+			@RequestParam(value = "after") String after,
+			@RequestParam(value = "size", required = false)
+			@Min(value = 1, message = "{controller.minSize}") Integer size,
+			@RequestParam(value = "state", required = false, defaultValue = "all")
+			String stateParam) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new ValidationException("error", "Unknown state: " + stateParam));
+
+		log.info("{}: {}, {}, {}, {}", messageSource.get("booking.BookingController.readByBooker"), userId, state, after,
+				size);
+		return bookingClient.readByBookerAfter(userId, state, after, size);
+	}
+
+	@GetMapping(value = "/owner", params = "after")
+	public CompletableFuture<ResponseEntity<Object>> readByOwnerAfter(
+			@RequestHeader("X-Sharer-User-Id") Long userId,
+			@RequestParam(value = "after") String after,
+			@RequestParam(value = "size", required = false)
+			@Min(value = 1, message = "{controller.minSize}") Integer size,
+			@RequestParam(value = "state", defaultValue = "all", required = false)
+			String stateParam) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new ValidationException("error", "Unknown state: " + stateParam));
+
+		log.info("{}: {}, {}, {}, {}", messageSource.get("booking.BookingController.readByOwner"), userId, state, after,
+				size);
+		return bookingClient.readByOwnerAfter(userId, state, after, size);
+	}
+
 	@GetMapping("/{id}")
-	public ResponseEntity<Object> readById(@RequestHeader("X-Sharer-User-Id") Long userId,
-										   @PathVariable Long id) {
+	public CompletableFuture<ResponseEntity<Object>> readById(
+			@RequestHeader("X-Sharer-User-Id") Long userId,
+			@PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 		log.info("{}: {}, {}", messageSource.get("booking.BookingController.readById"), userId, id);
-		return bookingClient.readById(userId, id);
+		return bookingClient.readById(userId, id, ifNoneMatch);
 	}
 
 	@PatchMapping("/{id}")
-	public ResponseEntity<Object> approve(@RequestHeader("X-Sharer-User-Id") Long userId,
-										  @PathVariable Long id,
-										  @RequestParam(value = "approved") boolean approved) {
+	public CompletableFuture<ResponseEntity<Object>> approve(@RequestHeader("X-Sharer-User-Id") Long userId,
+															 @PathVariable Long id,
+															 @RequestParam(value = "approved") boolean approved) {
 		log.info("{}: {}, {}, {}", messageSource.get("booking.BookingController.approve"), id, userId, approved);
 		return bookingClient.approve(userId, id, approved);
 	}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.util.EntityUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.http-client.non-blocking", havingValue = "true")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AsyncServerExchange {
+    CloseableHttpAsyncClient httpAsyncClient;
+
+    ObjectMapper objectMapper;
+
+    public CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, URI uri, HttpHeaders headers,
+                                                              @Nullable Object body) {
+        RequestBuilder requestBuilder = RequestBuilder.create(method.name()).setUri(uri);
+        headers.forEach((name, values) -> values.forEach(value -> requestBuilder.addHeader(name, value)));
+
+        if (body != null) {
+            try {
+                requestBuilder.setEntity(new ByteArrayEntity(objectMapper.writeValueAsBytes(body)));
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(new HttpMessageNotWritableException(
+                        "Could not write request body: " + e.getOriginalMessage(), e));
+            }
+        }
+
+        CompletableFuture<ResponseEntity<Object>> future = new CompletableFuture<>();
+
+        httpAsyncClient.execute(requestBuilder.build(), new FutureCallback<>() {
+            @Override
+            public void completed(HttpResponse response) {
+                try {
+                    future.complete(toResponseEntity(response));
+                } catch (IOException e) {
+                    future.completeExceptionally(ioError(method, uri, e));
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                future.completeExceptionally(e instanceof IOException ? ioError(method, uri, (IOException) e) : e);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+
+        return future;
+    }
+
+    private static ResponseEntity<Object> toResponseEntity(HttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+
+        for (Header header : response.getAllHeaders()) {
+            if (BaseClient.isEndToEndHeader(header.getName())
+                    && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getName())) {
+                headers.add(header.getName(), header.getValue());
+            }
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusLine().getStatusCode())
+                .headers(headers);
+        HttpEntity entity = response.getEntity();
+        byte[] body = entity == null ? null : EntityUtils.toByteArray(entity);
+
+        return body == null || body.length == 0 ? responseBuilder.build() : responseBuilder.body(body);
+    }
+
+    private static ResourceAccessException ioError(HttpMethod method, URI uri, IOException e) {
+        return new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                + e.getMessage(), e);
+    }
+}
@@ -1,90 +1,292 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 @SuppressWarnings("all")
 public class BaseClient {
+    static final String DOWNSTREAM_REQUESTS_METRIC = "gateway.downstream.requests";
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.TE, HttpHeaders.TRAILER,
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE);
+
     protected final RestTemplate rest;
 
+    private final boolean streaming;
+
+    @Nullable
+    private final AsyncServerExchange asyncExchange;
+
+    @Nullable
+    private final GatewayResponseCache responseCache;
+
+    @Nullable
+    private final RequestCoalescer requestCoalescer;
+
+    @Nullable
+    private final MeterRegistry meterRegistry;
+
     public BaseClient(RestTemplate rest) {
+        this(rest, false, null);
+    }
+
+    public BaseClient(RestTemplate rest, boolean streaming, @Nullable AsyncServerExchange asyncExchange) {
+        this(rest, streaming, asyncExchange, null, null, null);
+    }
+
+    public BaseClient(RestTemplate rest, boolean streaming, @Nullable AsyncServerExchange asyncExchange,
+                      @Nullable GatewayResponseCache responseCache, @Nullable RequestCoalescer requestCoalescer,
+                      @Nullable MeterRegistry meterRegistry) {
         this.rest = rest;
+        this.streaming = streaming;
+        this.asyncExchange = asyncExchange;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static boolean isEndToEndHeader(String name) {
+        return HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase);
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    static ResponseEntity<Object> buffer(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof Resource)) {
+            return response;
+        }
+
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            return new ResponseEntity<>(StreamUtils.copyToByteArray(body), response.getHeaders(),
+                    response.getStatusCode());
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error on buffering response: " + e.getMessage(), e);
+        }
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> get(String path, Long userId,
+                                                            @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected CompletableFuture<ResponseEntity<Object>> getIfNoneMatch(String path, long userId,
+                                                                       @Nullable String eTag) {
+        HttpHeaders headers = defaultHeaders(userId);
+
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+
+        return makeAndSendRequest(HttpMethod.GET, path, headers, null, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getStream(String path, long userId) {
+        HttpHeaders headers = defaultHeaders(userId);
+        headers.setAccept(List.of(NDJSON));
+        return exchange(HttpMethod.GET, path, headers, null, null);
+    }
+
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters,
-                                              T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId,
+                                                                 @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters,
-                                             T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> put(String path, long userId,
+                                                                @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
-                                               T body) {
+    protected <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId,
+                                                                  @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId,
+                                                               @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path,
+                                                                             Long userId,
+                                                                             @Nullable Map<String, Object> parameters,
+                                                                             @Nullable T body) {
+        return makeAndSendRequest(method, path, defaultHeaders(userId), parameters, body);
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path,
+                                                                             HttpHeaders headers,
+                                                                             @Nullable Map<String, Object> parameters,
+                                                                             @Nullable T body) {
+        if (responseCache == null && requestCoalescer == null) {
+            return exchange(method, path, headers, parameters, body);
+        }
+
+        URI uri = expand(path, parameters);
+
+        if (method == HttpMethod.GET) {
+            return readThrough(uri, headers, upstreamHeaders -> exchange(method, path, upstreamHeaders, parameters,
+                    body));
+        }
+
+        CompletableFuture<ResponseEntity<Object>> response;
+
+        try {
+            response = exchange(method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            invalidate(uri);
+            throw e;
+        }
+
+        return response.whenComplete((result, e) -> invalidate(uri));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> readThrough(
+            URI uri, HttpHeaders headers, Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> upstream) {
+        Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> coalesced = requestCoalescer == null
+                ? upstream
+                : upstreamHeaders -> requestCoalescer.execute(uri, upstreamHeaders,
+                        () -> upstream.apply(upstreamHeaders));
+
+        return responseCache == null ? coalesced.apply(headers) : responseCache.get(uri, headers, coalesced);
+    }
+
+    private void invalidate(URI uri) {
+        if (requestCoalescer != null) {
+            requestCoalescer.invalidate();
+        }
+
+        if (responseCache != null) {
+            responseCache.invalidate(uri);
+        }
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                                   @Nullable Map<String, Object> parameters,
+                                                                   @Nullable T body) {
+        if (meterRegistry == null) {
+            return dispatch(method, path, headers, parameters, body);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String uri = uriTag(expand(path, parameters));
+        CompletableFuture<ResponseEntity<Object>> response;
+
+        try {
+            response = dispatch(method, path, headers, parameters, body);
+        } catch (RuntimeException e) {
+            record(sample, method, uri, null, e);
+            throw e;
+        }
+
+        return response.whenComplete((result, e) -> record(sample, method, uri, result, e));
+    }
+
+    private void record(Timer.Sample sample, HttpMethod method, String uri, @Nullable ResponseEntity<Object> response,
+                        @Nullable Throwable exception) {
+        if (exception instanceof CompletionException && exception.getCause() != null) {
+            exception = exception.getCause();
+        }
+
+        sample.stop(Timer.builder(DOWNSTREAM_REQUESTS_METRIC)
+                .description("Latency of gateway calls to the ShareIt server")
+                .tag("method", method.name())
+                .tag("uri", uri)
+                .tag("status", response == null ? "IO_ERROR" : String.valueOf(response.getStatusCodeValue()))
+                .tag("outcome", response == null ? Outcome.UNKNOWN.name()
+                        : Outcome.forStatus(response.getStatusCodeValue()).name())
+                .tag("exception", exception == null ? "none" : exception.getClass().getSimpleName())
+                .register(meterRegistry));
+    }
+
+    static String uriTag(URI uri) {
+        return uri.getPath().replaceAll("/\\d+(?=/|$)", "/{id}");
+    }
+
+    private <T> CompletableFuture<ResponseEntity<Object>> dispatch(HttpMethod method, String path, HttpHeaders headers,
+                                                                   @Nullable Map<String, Object> parameters,
+                                                                   @Nullable T body) {
+        if (asyncExchange != null) {
+            return asyncExchange.exchange(method, expand(path, parameters), headers, body);
+        }
+
+        return CompletableFuture.completedFuture(sendRequest(method, path, headers, parameters, body));
+    }
+
+    private <T> ResponseEntity<Object> sendRequest(HttpMethod method, String path, HttpHeaders headers,
+                                                   @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
+
+        if (streaming || headers.getAccept().contains(NDJSON)) {
+            return streamRequest(method, path, parameters, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -99,6 +301,55 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> streamRequest(HttpMethod method, String path,
+                                                     @Nullable Map<String, Object> parameters,
+                                                     HttpEntity<T> requestEntity) {
+        URI uri = expand(path, parameters);
+        ClientHttpResponse response = null;
+
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            response = request.execute();
+
+            HttpHeaders headers = new HttpHeaders();
+            response.getHeaders().forEach((name, values) -> {
+                if (isEndToEndHeader(name)) {
+                    headers.addAll(name, values);
+                }
+            });
+
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getRawStatusCode())
+                    .headers(headers);
+
+            if (response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()
+                    || response.getHeaders().getContentLength() == 0) {
+                response.close();
+                return responseBuilder.build();
+            }
+
+            return responseBuilder.body(new InputStreamResource(response.getBody()));
+        } catch (IOException e) {
+            close(response);
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": "
+                    + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            close(response);
+            throw e;
+        }
+    }
+
+    private URI expand(String path, @Nullable Map<String, Object> parameters) {
+        return parameters != null ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+    }
+
+    private static void close(@Nullable ClientHttpResponse response) {
+        if (response != null) {
+            response.close();
+        }
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -116,6 +367,10 @@ public class BaseClient {
 
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
 
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return responseBuilder.eTag(response.getHeaders().getETag()).build();
+        }
+
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
         }
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.response-cache.enabled", havingValue = "true")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GatewayResponseCache {
+    public static final String NAME = "gatewayResponses";
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private static final Map<String, Set<String>> AFFECTED_RESOURCES = Map.of(
+            "users", Set.of("users", "items", "requests", "bookings"),
+            "items", Set.of("items", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests"));
+
+    private static final Set<String> REVALIDATED_RESOURCES = Set.of("items", "bookings");
+
+    Cache<Key, ResponseEntity<Object>> cache;
+
+    AtomicLong generation = new AtomicLong();
+
+    public GatewayResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> get(
+            URI uri, HttpHeaders headers, Function<HttpHeaders, CompletableFuture<ResponseEntity<Object>>> loader) {
+        Key key = new Key(HttpMethod.GET, uri, headers.getFirst(USER_ID_HEADER));
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        boolean revalidated = REVALIDATED_RESOURCES.contains(resourceOf(uri));
+
+        if (cached != null && !revalidated) {
+            return CompletableFuture.completedFuture(notModifiedOr(cached, headers));
+        }
+
+        long loadGeneration = generation.get();
+
+        return loader.apply(cached == null ? headers : conditional(headers, cached)).thenApply(response -> {
+            if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return notModifiedOr(cached, headers);
+            }
+
+            if (response.getStatusCode() != HttpStatus.OK || generation.get() != loadGeneration
+                    || revalidated && response.getHeaders().getETag() == null) {
+                return response;
+            }
+
+            ResponseEntity<Object> cacheable = BaseClient.buffer(response);
+            cache.put(key, cacheable);
+
+            if (generation.get() != loadGeneration) {
+                cache.invalidate(key);
+            }
+
+            return notModifiedOr(cacheable, headers);
+        });
+    }
+
+    public void invalidate(URI uri) {
+        Set<String> affected = AFFECTED_RESOURCES.get(resourceOf(uri));
+        generation.incrementAndGet();
+
+        if (affected == null) {
+            cache.invalidateAll();
+            return;
+        }
+
+        cache.asMap().keySet().removeIf(key -> affected.contains(resourceOf(key.getUri())));
+    }
+
+    private static String resourceOf(URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static HttpHeaders conditional(HttpHeaders headers, ResponseEntity<Object> cached) {
+        HttpHeaders conditional = new HttpHeaders();
+        conditional.putAll(headers);
+        conditional.setIfNoneMatch(cached.getHeaders().getETag());
+        return conditional;
+    }
+
+    private static ResponseEntity<Object> notModifiedOr(ResponseEntity<Object> cached, HttpHeaders headers) {
+        String eTag = cached.getHeaders().getETag();
+
+        if (eTag != null && headers.getIfNoneMatch().contains(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return cached;
+    }
+
+    @Value
+    private static class Key {
+        HttpMethod method;
+
+        URI uri;
+
+        @Nullable
+        String userId;
+    }
+}
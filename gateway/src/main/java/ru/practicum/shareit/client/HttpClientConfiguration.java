@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties({HttpClientProperties.class, ResponseCacheProperties.class,
+        RequestCoalescingProperties.class})
+public class HttpClientConfiguration {
+    @Bean
+    public PoolingHttpClientConnectionManager httpClientConnectionManager(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                          HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.http-client.non-blocking", havingValue = "true")
+    public CloseableHttpAsyncClient httpAsyncClient(HttpClientProperties properties) throws IOReactorException {
+        PoolingNHttpClientConnectionManager connectionManager = new PoolingNHttpClientConnectionManager(
+                new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                        .setIoThreadCount(properties.getIoThreads())
+                        .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                        .setSoTimeout((int) properties.getReadTimeout().toMillis())
+                        .build()));
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+
+        CloseableHttpAsyncClient httpAsyncClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                .setDefaultRequestConfig(requestConfig(properties))
+                .build();
+        httpAsyncClient.start();
+        return httpAsyncClient;
+    }
+
+    private static RequestConfig requestConfig(HttpClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .build();
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long maxKeepAlive) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? Math.min(keepAlive, maxKeepAlive) : maxKeepAlive;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "httpclientpool")
+@RequiredArgsConstructor
+public class HttpClientPoolEndpoint {
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> routes = new LinkedHashMap<>();
+
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), toMap(connectionManager.getStats(route)));
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", toMap(connectionManager.getTotalStats()));
+        stats.put("routes", routes);
+        return stats;
+    }
+
+    private static Map<String, Integer> toMap(PoolStats poolStats) {
+        Map<String, Integer> stats = new LinkedHashMap<>();
+        stats.put("leased", poolStats.getLeased());
+        stats.put("pending", poolStats.getPending());
+        stats.put("available", poolStats.getAvailable());
+        stats.put("max", poolStats.getMax());
+        return stats;
+    }
+}
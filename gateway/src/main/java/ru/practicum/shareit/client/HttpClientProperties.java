@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HttpClientProperties {
+    boolean streaming = true;
+
+    boolean nonBlocking = false;
+
+    int ioThreads = Runtime.getRuntime().availableProcessors();
+
+    int maxTotal = 200;
+
+    int maxPerRoute = 100;
+
+    Duration timeToLive = Duration.ofMinutes(5);
+
+    Duration idleTimeout = Duration.ofSeconds(30);
+
+    Duration keepAlive = Duration.ofSeconds(30);
+
+    Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    Duration connectTimeout = Duration.ofSeconds(2);
+
+    Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    Duration readTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,149 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Value;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.request-coalescing.enabled", havingValue = "true",
+        matchIfMissing = true)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RequestCoalescer {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    RequestCoalescingProperties properties;
+
+    Counter collapsed;
+
+    Counter bypassed;
+
+    public RequestCoalescer(RequestCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        collapsed = Counter.builder("gateway.coalescing.collapsed")
+                .description("GET requests answered by an identical in-flight upstream call")
+                .register(meterRegistry);
+        bypassed = Counter.builder("gateway.coalescing.bypassed")
+                .description("GET requests sent upstream on their own because a coalescing limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", flights, Map::size)
+                .description("Distinct upstream GET calls currently shared by coalesced requests")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> execute(
+            URI uri, HttpHeaders headers, Supplier<CompletableFuture<ResponseEntity<Object>>> upstream) {
+        Key key = new Key(uri, headers.getFirst(USER_ID_HEADER), headers.getFirst(HttpHeaders.IF_NONE_MATCH));
+        Flight flight = flights.get(key);
+
+        if (flight == null) {
+            if (flights.size() >= properties.getMaxInFlight()) {
+                bypassed.increment();
+                return upstream.get();
+            }
+
+            Flight created = new Flight();
+            flight = flights.putIfAbsent(key, created);
+
+            if (flight == null) {
+                return lead(key, created, upstream);
+            }
+        }
+
+        if (!flight.join(properties.getMaxFollowers())) {
+            bypassed.increment();
+            return upstream.get();
+        }
+
+        collapsed.increment();
+        return flight.getResponse();
+    }
+
+    public void invalidate() {
+        flights.clear();
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> lead(
+            Key key, Flight flight, Supplier<CompletableFuture<ResponseEntity<Object>>> upstream) {
+        CompletableFuture<ResponseEntity<Object>> response;
+
+        try {
+            response = upstream.get();
+        } catch (RuntimeException e) {
+            flights.remove(key, flight);
+            flight.land();
+            flight.getResponse().completeExceptionally(e);
+            throw e;
+        }
+
+        response.whenComplete((result, e) -> {
+            flights.remove(key, flight);
+            boolean shared = flight.land();
+
+            if (e != null) {
+                flight.getResponse().completeExceptionally(e);
+                return;
+            }
+
+            try {
+                flight.getResponse().complete(shared ? BaseClient.buffer(result) : result);
+            } catch (RuntimeException bufferingError) {
+                flight.getResponse().completeExceptionally(bufferingError);
+            }
+        });
+
+        return flight.getResponse();
+    }
+
+    @Value
+    private static class Key {
+        URI uri;
+
+        @Nullable
+        String userId;
+
+        @Nullable
+        String ifNoneMatch;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    private static class Flight {
+        final CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+
+        int followers;
+
+        boolean landed;
+
+        CompletableFuture<ResponseEntity<Object>> getResponse() {
+            return response;
+        }
+
+        synchronized boolean join(int maxFollowers) {
+            if (landed || followers >= maxFollowers) {
+                return false;
+            }
+
+            followers++;
+            return true;
+        }
+
+        synchronized boolean land() {
+            landed = true;
+            return followers > 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.request-coalescing")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RequestCoalescingProperties {
+    boolean enabled = true;
+
+    int maxInFlight = 1000;
+
+    int maxFollowers = 1000;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.response-cache")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ResponseCacheProperties {
+    boolean enabled;
+
+    long maximumSize = 10_000;
+
+    Duration timeToLive = Duration.ofSeconds(10);
+}
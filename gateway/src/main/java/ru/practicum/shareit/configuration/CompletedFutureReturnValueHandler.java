@@ -0,0 +1,83 @@
+package ru.practicum.shareit.configuration;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.DeferredResultMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class CompletedFutureReturnValueHandler implements HandlerMethodReturnValueHandler {
+    private final HandlerMethodReturnValueHandler asyncHandler;
+
+    private final HandlerMethodReturnValueHandler entityHandler;
+
+    public CompletedFutureReturnValueHandler(List<HandlerMethodReturnValueHandler> handlers) {
+        this.asyncHandler = find(handlers, DeferredResultMethodReturnValueHandler.class);
+        this.entityHandler = find(handlers, HttpEntityMethodProcessor.class);
+    }
+
+    private static HandlerMethodReturnValueHandler find(List<HandlerMethodReturnValueHandler> handlers,
+                                                        Class<? extends HandlerMethodReturnValueHandler> type) {
+        return handlers.stream()
+                .filter(type::isInstance)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No " + type.getSimpleName() + " registered"));
+    }
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return CompletableFuture.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(@Nullable Object returnValue, MethodParameter returnType,
+                                  ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        CompletableFuture<?> future = (CompletableFuture<?>) returnValue;
+
+        if (future != null && future.isDone() && !future.isCompletedExceptionally()
+                && future.join() instanceof ResponseEntity) {
+            entityHandler.handleReturnValue(future.join(), new CompletedValueParameter(returnType), mavContainer,
+                    webRequest);
+            return;
+        }
+
+        asyncHandler.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
+    }
+
+    private static class CompletedValueParameter extends MethodParameter {
+        private final ResolvableType valueType;
+
+        CompletedValueParameter(MethodParameter futureType) {
+            super(futureType);
+            this.valueType = ResolvableType.forMethodParameter(futureType).getGeneric();
+        }
+
+        CompletedValueParameter(CompletedValueParameter original) {
+            super(original);
+            this.valueType = original.valueType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            Class<?> resolved = valueType.resolve();
+            return resolved != null ? resolved : ResponseEntity.class;
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return valueType.getType();
+        }
+
+        @Override
+        public CompletedValueParameter clone() {
+            return new CompletedValueParameter(this);
+        }
+    }
+}
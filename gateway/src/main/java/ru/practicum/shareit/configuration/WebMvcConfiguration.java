@@ -0,0 +1,24 @@
+package ru.practicum.shareit.configuration;
+
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class WebMvcConfiguration implements WebMvcRegistrations {
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return new RequestMappingHandlerAdapter() {
+            @Override
+            public void afterPropertiesSet() {
+                super.afterPropertiesSet();
+                List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(getReturnValueHandlers());
+                handlers.add(0, new CompletedFutureReturnValueHandler(handlers));
+                setReturnValueHandlers(handlers);
+            }
+        };
+    }
+}
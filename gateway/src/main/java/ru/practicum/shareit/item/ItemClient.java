@@ -1,59 +1,84 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.HttpClientProperties;
 import ru.practicum.shareit.client.QueryParameters;
+import ru.practicum.shareit.client.RequestCoalescer;
 import ru.practicum.shareit.item.dto.CommentDtoFromClient;
 import ru.practicum.shareit.item.dto.ItemDtoFromClient;
+import ru.practicum.shareit.item.dto.ItemSearchOrder;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, HttpClientProperties httpClientProperties,
+                      ObjectProvider<AsyncServerExchange> asyncExchange,
+                      ObjectProvider<GatewayResponseCache> responseCache,
+                      ObjectProvider<RequestCoalescer> requestCoalescer,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                httpClientProperties.isStreaming(),
+                asyncExchange.getIfAvailable(),
+                responseCache.getIfAvailable(),
+                requestCoalescer.getIfAvailable(),
+                meterRegistry.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(long userId, ItemDtoFromClient requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> createComment(long userId, long itemId, CommentDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> createComment(long userId, long itemId,
+                                                                   CommentDtoFromClient requestDto) {
         return post("/" + itemId + "/comment", userId, requestDto);
     }
 
-    public ResponseEntity<Object> readByOwner(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> readByOwner(long userId, Integer from, Integer size) {
         QueryParameters queryParameters = new QueryParameters();
         queryParameters.add("size", size);
         queryParameters.add("from", from);
         return get(queryParameters.getQuery(), userId, queryParameters.getParameters());
     }
 
-    public ResponseEntity<Object> readByQuery(long userId, String text, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> streamByOwner(long userId) {
+        return getStream("", userId);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> readByQuery(long userId, String text, ItemSearchOrder order,
+                                                                 Integer from, Integer size) {
         QueryParameters queryParameters = new QueryParameters();
         queryParameters.add("text", text);
+        queryParameters.add("order", order);
         queryParameters.add("from", from);
         queryParameters.add("size", size);
         return get("/search" + queryParameters.getQuery(), userId, queryParameters.getParameters());
     }
 
-    public ResponseEntity<Object> readById(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> readById(long userId, Long itemId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> update(long userId, Long itemId, ItemDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(long userId, Long itemId, ItemDtoFromClient requestDto) {
         return patch("/" + itemId, userId, requestDto);
     }
 }
\ No newline at end of file
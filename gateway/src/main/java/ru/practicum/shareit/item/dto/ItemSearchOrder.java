@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum ItemSearchOrder {
+    ID,
+    RELEVANCE;
+
+    public static Optional<ItemSearchOrder> from(String stringOrder) {
+        for (ItemSearchOrder order : values()) {
+            if (order.name().equalsIgnoreCase(stringOrder)) {
+                return Optional.of(order);
+            }
+        }
+        return Optional.empty();
+    }
+}
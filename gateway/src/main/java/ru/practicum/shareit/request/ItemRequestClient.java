@@ -1,45 +1,69 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.HttpClientProperties;
 import ru.practicum.shareit.client.QueryParameters;
+import ru.practicum.shareit.client.RequestCoalescer;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                             ClientHttpRequestFactory requestFactory, HttpClientProperties httpClientProperties,
+                             ObjectProvider<AsyncServerExchange> asyncExchange,
+                             ObjectProvider<GatewayResponseCache> responseCache,
+                             ObjectProvider<RequestCoalescer> requestCoalescer,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                httpClientProperties.isStreaming(),
+                asyncExchange.getIfAvailable(),
+                responseCache.getIfAvailable(),
+                requestCoalescer.getIfAvailable(),
+                meterRegistry.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(long userId, ItemRequestDtoFromClient requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> readByUser(long userId) {
-        return get("", userId);
+    public CompletableFuture<ResponseEntity<Object>> readByUser(long userId, Integer from, Integer size) {
+        QueryParameters queryParameters = new QueryParameters();
+        queryParameters.add("size", size);
+        queryParameters.add("from", from);
+        return get(queryParameters.getQuery(), userId, queryParameters.getParameters());
     }
 
-    public ResponseEntity<Object> readAll(long userId, Integer from, Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> readAll(long userId, Integer from, Integer size) {
         QueryParameters queryParameters = new QueryParameters();
         queryParameters.add("size", size);
         queryParameters.add("from", from);
         return get("/all" + queryParameters.getQuery(), userId, queryParameters.getParameters());
     }
 
-    public ResponseEntity<Object> readById(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public CompletableFuture<ResponseEntity<Object>> streamAll(long userId) {
+        return getStream("/all", userId);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> readById(long userId, Long itemId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + itemId, userId, ifNoneMatch);
     }
 }
\ No newline at end of file
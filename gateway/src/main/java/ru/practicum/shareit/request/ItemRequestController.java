@@ -4,12 +4,15 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -23,32 +26,47 @@ public class ItemRequestController {
     ItemRequestClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                         @Valid @RequestBody ItemRequestDtoFromClient inDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @Valid @RequestBody ItemRequestDtoFromClient inDto) {
         log.info("{}: {}, {}", messageSource.get("itemRequest.ItemRequestController.create"), userId, inDto);
         return client.create(userId, inDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> readByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("{}: {}", messageSource.get("itemRequest.ItemRequestController.readByUser"), userId);
-        return client.readByUser(userId);
+    public CompletableFuture<ResponseEntity<Object>> readByUser(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "from", required = false, defaultValue = "0")
+            @Min(value = 0, message = "{controller.minFrom}") Integer from,
+            @RequestParam(value = "size", required = false)
+            @Min(value = 1, message = "{controller.minSize}") Integer size) {
+        log.info("{}: {}, {}, {}", messageSource.get("itemRequest.ItemRequestController.readByUser"), userId, from,
+                size);
+        return client.readByUser(userId, from, size);
     }
 
     @GetMapping(path = "/all")
-    public ResponseEntity<Object> readAll(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @RequestParam(value = "from", required = false, defaultValue = "0")
-                                          @Min(value = 0, message = "{controller.minFrom}") Integer from,
-                                          @RequestParam(value = "size", required = false)
-                                          @Min(value = 1, message = "{controller.minSize}") Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> readAll(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(value = "from", required = false, defaultValue = "0")
+            @Min(value = 0, message = "{controller.minFrom}") Integer from,
+            @RequestParam(value = "size", required = false)
+            @Min(value = 1, message = "{controller.minSize}") Integer size) {
         log.info("{}: {}, {}, {}", messageSource.get("itemRequest.ItemRequestController.readAll"), userId, from, size);
         return client.readAll(userId, from, size);
     }
 
+    @GetMapping(path = "/all", produces = BaseClient.NDJSON_VALUE)
+    public CompletableFuture<ResponseEntity<Object>> streamAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("{}: {}", messageSource.get("itemRequest.ItemRequestController.streamAll"), userId);
+        return client.streamAll(userId);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<Object> readById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                           @PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> readById(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("{}: {}, {}", messageSource.get("itemRequest.ItemRequestController.readById"), userId, id);
-        return client.readById(userId, id);
+        return client.readById(userId, id, ifNoneMatch);
     }
 }
\ No newline at end of file
@@ -1,45 +1,62 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.AsyncServerExchange;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.client.RequestCoalescer;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                      ClientHttpRequestFactory requestFactory, HttpClientProperties httpClientProperties,
+                      ObjectProvider<AsyncServerExchange> asyncExchange,
+                      ObjectProvider<GatewayResponseCache> responseCache,
+                      ObjectProvider<RequestCoalescer> requestCoalescer,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                httpClientProperties.isStreaming(),
+                asyncExchange.getIfAvailable(),
+                responseCache.getIfAvailable(),
+                requestCoalescer.getIfAvailable(),
+                meterRegistry.getIfAvailable()
         );
     }
 
-    public ResponseEntity<Object> create(UserDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(UserDtoFromClient requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> readAll() {
+    public CompletableFuture<ResponseEntity<Object>> readAll() {
         return get("");
     }
 
-    public ResponseEntity<Object> readById(Long userId) {
+    public CompletableFuture<ResponseEntity<Object>> readById(Long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> update(Long itemId, UserDtoFromClient requestDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(Long itemId, UserDtoFromClient requestDto) {
         return patch("/" + itemId, requestDto);
     }
 
-    public ResponseEntity<Object> deleteById(Long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> deleteById(Long itemId) {
         return delete("/" + itemId);
     }
 }
\ No newline at end of file
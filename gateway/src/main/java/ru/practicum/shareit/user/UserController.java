@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
 import ru.practicum.shareit.validation.groups.OnCreate;
 import ru.practicum.shareit.validation.groups.OnUpdate;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RestController
@@ -22,32 +23,34 @@ public class UserController {
     UserClient client;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Validated(OnCreate.class) @RequestBody UserDtoFromClient inDto) {
+    public CompletableFuture<ResponseEntity<Object>> create(
+            @Validated(OnCreate.class) @RequestBody UserDtoFromClient inDto) {
         log.info("{}: {}", messageSource.get("user.UserController.create"), inDto);
         return client.create(inDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> readAll() {
+    public CompletableFuture<ResponseEntity<Object>> readAll() {
         log.info("{}", messageSource.get("user.UserController.readAll"));
         return client.readAll();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> readById(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> readById(@PathVariable Long id) {
         log.info("{}: {}", messageSource.get("user.UserController.readById"), id);
         return client.readById(id);
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Object> update(@PathVariable Long id,
-                                         @Validated(OnUpdate.class) @RequestBody UserDtoFromClient inDto) {
+    public CompletableFuture<ResponseEntity<Object>> update(
+            @PathVariable Long id,
+            @Validated(OnUpdate.class) @RequestBody UserDtoFromClient inDto) {
         log.info("{}: {}, {}", messageSource.get("user.UserController.update"), id, inDto);
         return client.update(id, inDto);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> delete(@PathVariable Long id) {
+    public CompletableFuture<ResponseEntity<Object>> delete(@PathVariable Long id) {
         log.info("{}: {}", messageSource.get("user.UserController.delete"), id);
         return client.deleteById(id);
     }
@@ -0,0 +1,151 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+
+@Slf4j
+@Tag("benchmark")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class NonBlockingGatewayBenchmarkTest {
+    static final int CONNECTIONS = 1000;
+
+    static final int ROUNDS = 3;
+
+    static final long SERVER_DELAY_MILLIS = 100;
+
+    static final String MAX_IDLE_CONNECTIONS_PROPERTY = "sun.net.httpserver.maxIdleConnections";
+
+    static String previousMaxIdleConnections;
+
+    HttpServer server;
+
+    ScheduledExecutorService scheduler;
+
+    HttpClient httpClient;
+
+    @BeforeAll
+    static void setUpHttpServerProperties() {
+        previousMaxIdleConnections = System.setProperty(MAX_IDLE_CONNECTIONS_PROPERTY,
+                String.valueOf(CONNECTIONS * 2));
+    }
+
+    @AfterAll
+    static void restoreHttpServerProperties() {
+        if (previousMaxIdleConnections == null) {
+            System.clearProperty(MAX_IDLE_CONNECTIONS_PROPERTY);
+        } else {
+            System.setProperty(MAX_IDLE_CONNECTIONS_PROPERTY, previousMaxIdleConnections);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scheduler = Executors.newScheduledThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONNECTIONS * 2);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/users", exchange -> scheduler.schedule(() -> {
+            byte[] body = "{\"id\":1,\"name\":\"userName\",\"email\":\"user@email.com\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+            return null;
+        }, SERVER_DELAY_MILLIS, TimeUnit.MILLISECONDS));
+        server.start();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newCachedThreadPool())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        scheduler.shutdownNow();
+    }
+
+    private double measure(boolean nonBlocking) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--spring.main.allow-bean-definition-overriding=true",
+                "--server.tomcat.accept-count=" + CONNECTIONS * 2,
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                "--shareit-server.http-client.non-blocking=" + nonBlocking,
+                "--shareit-server.http-client.max-total=" + CONNECTIONS,
+                "--shareit-server.http-client.max-per-route=" + CONNECTIONS,
+                "--shareit-server.http-client.connection-request-timeout=30s",
+                "--logging.level.root=WARN",
+                "--logging.level." + NonBlockingGatewayBenchmarkTest.class.getName() + "=INFO",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/users/1");
+
+            sendConcurrently(uri);
+
+            long started = System.nanoTime();
+
+            for (int i = 0; i < ROUNDS; i++) {
+                sendConcurrently(uri);
+            }
+
+            double seconds = (System.nanoTime() - started) / 1e9;
+            double throughput = CONNECTIONS * ROUNDS / seconds;
+            log.info("{} gateway: {} concurrent connections, {} requests/s",
+                    nonBlocking ? "Non-blocking" : "Blocking", CONNECTIONS, String.format("%.1f", throughput));
+            return throughput;
+        }
+    }
+
+    private void sendConcurrently(URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        List<CompletableFuture<Integer>> responses = new ArrayList<>(CONNECTIONS);
+
+        for (int i = 0; i < CONNECTIONS; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode));
+        }
+
+        List<Integer> statuses = new ArrayList<>(CONNECTIONS);
+        responses.forEach(response -> statuses.add(response.join()));
+
+        assertThat(statuses, everyItem(equalTo(200)));
+    }
+
+    @Test
+    void nonBlockingMode_atThousandConcurrentConnections_shouldOutperformBlockingMode() {
+        double blocking = measure(false);
+        double nonBlocking = measure(true);
+
+        assertThat(nonBlocking, greaterThan(blocking));
+    }
+}
@@ -15,6 +15,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.validation.Errors;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -24,12 +26,14 @@ import ru.practicum.shareit.controller.ControllerErrorHandler;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.doReturn;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.tools.factories.DtoFactory.createBookingDtoFromClient;
 import static ru.practicum.shareit.tools.matchers.BookingDtoFromClientMatcher.equalToDto;
@@ -68,7 +72,12 @@ class BookingControllerTest {
 
     final BookingDtoFromClient validDto = createBookingDtoFromClient(4L, start, end);
 
-    final ResponseEntity<Object> result = ResponseEntity.ok("OK");
+    final CompletableFuture<ResponseEntity<Object>> result = CompletableFuture.completedFuture(ResponseEntity.ok("OK"));
+
+    private ResultActions performCompleted(RequestBuilder requestBuilder) throws Exception {
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncNotStarted());
+    }
 
     final BookingState state = BookingState.ALL;
 
@@ -305,7 +314,7 @@ class BookingControllerTest {
             throws Exception {
         doReturn(result).when(client).create(eq(validUserId), argThat(equalToDto(validDto)));
 
-        mockMvc.perform(post("/bookings")
+        performCompleted(post("/bookings")
                         .header("X-Sharer-User-Id", validUserId)
                         .content(objectMapper.writeValueAsString(validDto))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -320,7 +329,7 @@ class BookingControllerTest {
             throws Exception {
         doReturn(result).when(client).readByBooker(validUserId, state, validFrom, validSize);
 
-        mockMvc.perform(get("/bookings?state=" + state + "&from=" + validFrom + "&size=" + validSize)
+        performCompleted(get("/bookings?state=" + state + "&from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
@@ -331,18 +340,54 @@ class BookingControllerTest {
             throws Exception {
         doReturn(result).when(client).readByOwner(validUserId, state, validFrom, validSize);
 
-        mockMvc.perform(get("/bookings/owner?state=" + state + "&from=" + validFrom + "&size=" + validSize)
+        performCompleted(get("/bookings/owner?state=" + state + "&from=" + validFrom + "&size=" + validSize)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_withReadByBookerAfterEndPoint_shouldReturnClientReadByBookerAfterMethodResult()
+            throws Exception {
+        doReturn(result).when(client).readByBookerAfter(validUserId, state, "cursor", validSize);
+
+        performCompleted(get("/bookings?state=" + state + "&after=cursor&size=" + validSize)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+
+        verify(client, never()).readByBooker(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void request_withReadByOwnerAfterEndPoint_shouldReturnClientReadByOwnerAfterMethodResult()
+            throws Exception {
+        doReturn(result).when(client).readByOwnerAfter(validUserId, state, "", validSize);
+
+        performCompleted(get("/bookings/owner?state=" + state + "&after=&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
+
+        verify(client, never()).readByOwner(anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void request_withReadByOwnerAfterEndPointAndZeroSize_shouldReturnStatusBadRequest()
+            throws Exception {
+        mockMvc.perform(get("/bookings/owner?after=&size=0")
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).readByOwnerAfter(anyLong(), any(), any(), any());
     }
 
     @Test
     void request_withReadByIdEndPoint_shouldReturnClientReadByIdMethodResult()
             throws Exception {
-        doReturn(result).when(client).readById(validUserId, validId);
+        doReturn(result).when(client).readById(validUserId, validId, null);
 
-        mockMvc.perform(get("/bookings/" + validId).header("X-Sharer-User-Id", validUserId))
+        performCompleted(get("/bookings/" + validId).header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
@@ -352,7 +397,7 @@ class BookingControllerTest {
             throws Exception {
         doReturn(result).when(client).approve(validUserId, validId, true);
 
-        mockMvc.perform(patch("/bookings/" + validId + "?approved=true")
+        performCompleted(patch("/bookings/" + validId + "?approved=true")
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
@@ -0,0 +1,407 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.support.DefaultLocaleMessageSource;
+import ru.practicum.shareit.user.UserClient;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.UserDtoFromClient;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BaseClientTest {
+    static final String usersJson = "[{\"id\":1,\"name\":\"userName\",\"email\":\"user@email.com\"}]";
+
+    static final String errorJson = "{\"id\":\"not found\"}";
+
+    static final String eTag = "\"1-0\"";
+
+    static final String usersNdjson = "{\"id\":1,\"name\":\"userName\"}\n{\"id\":2,\"name\":\"otherName\"}\n";
+
+    HttpServer server;
+
+    String serverUrl;
+
+    String lastUserId;
+
+    String lastBody;
+
+    String lastAccept;
+
+    CloseableHttpAsyncClient httpAsyncClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/users", exchange -> {
+            lastUserId = exchange.getRequestHeaders().getFirst("X-Sharer-User-Id");
+            lastBody = StreamUtils.copyToString(exchange.getRequestBody(), StandardCharsets.UTF_8);
+            lastAccept = exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT);
+            String path = exchange.getRequestURI().getPath();
+
+            if (path.equals("/users")) {
+                respond(exchange, 200, "POST".equals(exchange.getRequestMethod()) ? lastBody : usersJson);
+            } else if (path.equals("/users/all")) {
+                respond(exchange, 200, BaseClient.NDJSON_VALUE, usersNdjson);
+            } else if (path.equals("/users/404")) {
+                respond(exchange, 404, errorJson);
+            } else if (path.equals("/users/1") && "GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().add(HttpHeaders.ETAG, eTag);
+
+                if (eTag.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                } else {
+                    respond(exchange, 200, usersJson);
+                }
+            } else {
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        httpAsyncClient = HttpAsyncClients.createDefault();
+        httpAsyncClient.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.stop(0);
+        httpAsyncClient.close();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, MediaType.APPLICATION_JSON_VALUE, body);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private TestClient createClient(boolean streaming) {
+        return createClient(streaming, null);
+    }
+
+    private TestClient createClient(boolean streaming, AsyncServerExchange asyncExchange) {
+        return new TestClient(createRestTemplate(), streaming, asyncExchange);
+    }
+
+    private RestTemplate createRestTemplate() {
+        return new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/users"))
+                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .build();
+    }
+
+    private TestClient createNonBlockingClient() {
+        return createClient(false, new AsyncServerExchange(httpAsyncClient, new ObjectMapper()));
+    }
+
+    private UserController createController(HttpClientProperties properties, AsyncServerExchange asyncExchange) {
+        DefaultLocaleMessageSource messageSource = new DefaultLocaleMessageSource();
+        messageSource.setBasename("classpath:messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+
+        if (asyncExchange != null) {
+            beanFactory.addBean("asyncServerExchange", asyncExchange);
+        }
+
+        UserClient client = new UserClient(serverUrl, new RestTemplateBuilder(),
+                new HttpComponentsClientHttpRequestFactory(), properties,
+                beanFactory.getBeanProvider(AsyncServerExchange.class),
+                beanFactory.getBeanProvider(GatewayResponseCache.class),
+                beanFactory.getBeanProvider(RequestCoalescer.class),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+        return new UserController(messageSource, client);
+    }
+
+    private static String bodyOf(ResponseEntity<Object> response) throws IOException {
+        return StreamUtils.copyToString(((InputStreamResource) response.getBody()).getInputStream(),
+                StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void get_withStreaming_shouldReturnServerBytesAndHeadersWithoutParsing() throws IOException {
+        ResponseEntity<Object> response = createClient(true).get("", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getContentLength(), equalTo((long) usersJson.length()));
+        assertThat(response.getBody(), instanceOf(InputStreamResource.class));
+        assertThat(bodyOf(response), equalTo(usersJson));
+        assertThat(lastUserId, equalTo("1"));
+    }
+
+    @Test
+    void get_withStreamingAndErrorStatus_shouldReturnServerStatusAndBody() throws IOException {
+        ResponseEntity<Object> response = createClient(true).get("/404", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(bodyOf(response), equalTo(errorJson));
+    }
+
+    @Test
+    void delete_withStreamingAndEmptyBody_shouldReturnStatusWithoutBody() {
+        ResponseEntity<Object> response = createClient(true).delete("/1", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.hasBody(), is(false));
+    }
+
+    @Test
+    void post_withStreaming_shouldSendSerializedBody() throws IOException {
+        UserDtoFromClient dto = new UserDtoFromClient();
+        dto.setName("userName");
+
+        ResponseEntity<Object> response = createClient(true).post("", 1L, null, dto).join();
+
+        assertThat(lastBody, containsString("\"name\":\"userName\""));
+        assertThat(bodyOf(response), equalTo(lastBody));
+    }
+
+    @Test
+    void get_withoutStreaming_shouldReturnParsedBody() {
+        ResponseEntity<Object> response = createClient(false).get("", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getBody(), instanceOf(List.class));
+    }
+
+    @Test
+    void controller_withStreamingClient_shouldCopyServerBytesToResponse() throws Exception {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setStreaming(true);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(createController(properties, null)).build();
+
+        performAsync(mockMvc, get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(content().string(usersJson));
+        performAsync(mockMvc, get("/users/404"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(errorJson));
+    }
+
+    @Test
+    void get_withNonBlockingExchange_shouldReturnServerBytesAndHeaders() {
+        ResponseEntity<Object> response = createNonBlockingClient().get("", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(usersJson));
+        assertThat(lastUserId, equalTo("1"));
+    }
+
+    @Test
+    void get_withNonBlockingExchangeAndErrorStatus_shouldReturnServerStatusAndBody() {
+        ResponseEntity<Object> response = createNonBlockingClient().get("/404", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(errorJson));
+    }
+
+    @Test
+    void delete_withNonBlockingExchangeAndEmptyBody_shouldReturnStatusWithoutBody() {
+        ResponseEntity<Object> response = createNonBlockingClient().delete("/1", 1L, null).join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.hasBody(), is(false));
+    }
+
+    @Test
+    void post_withNonBlockingExchange_shouldSendSerializedBodyAndExpandedParameters() {
+        UserDtoFromClient dto = new UserDtoFromClient();
+        dto.setName("userName");
+
+        ResponseEntity<Object> response = createNonBlockingClient().post("", 1L, Map.of(), dto).join();
+
+        assertThat(lastBody, containsString("\"name\":\"userName\""));
+        assertThat(new String((byte[]) response.getBody(), StandardCharsets.UTF_8), equalTo(lastBody));
+    }
+
+    @Test
+    void get_withNonBlockingExchangeAndStoppedServer_shouldCompleteWithResourceAccessException() {
+        server.stop(0);
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> createNonBlockingClient().get("", 1L, null).join());
+
+        assertThat(exception.getCause(), instanceOf(ResourceAccessException.class));
+    }
+
+    @Test
+    void controller_withNonBlockingClient_shouldCopyServerBytesToResponse() throws Exception {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setNonBlocking(true);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(createController(properties,
+                new AsyncServerExchange(httpAsyncClient, new ObjectMapper()))).build();
+
+        performAsync(mockMvc, get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(content().string(usersJson));
+        performAsync(mockMvc, get("/users/404"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(errorJson));
+    }
+
+    @Test
+    void getIfNoneMatch_withMatchingETag_shouldReturnStatusNotModifiedWithETagInAllModes() {
+        for (TestClient client : List.of(createClient(false), createClient(true), createNonBlockingClient())) {
+            ResponseEntity<Object> response = client.getIfNoneMatch("/1", 1L, eTag).join();
+
+            assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+            assertThat(response.getHeaders().getETag(), equalTo(eTag));
+            assertThat(response.hasBody(), is(false));
+        }
+    }
+
+    @Test
+    void getIfNoneMatch_withoutETag_shouldReturnStatusOkWithETagInAllModes() {
+        for (TestClient client : List.of(createClient(false), createClient(true), createNonBlockingClient())) {
+            ResponseEntity<Object> response = client.getIfNoneMatch("/1", 1L, null).join();
+
+            assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+            assertThat(response.getHeaders().getETag(), equalTo(eTag));
+            assertThat(response.hasBody(), is(true));
+        }
+    }
+
+    @Test
+    void getStream_shouldSendNdjsonAcceptAndReturnServerBytesInAllModes() throws IOException {
+        for (TestClient client : List.of(createClient(false), createClient(true), createNonBlockingClient())) {
+            ResponseEntity<Object> response = client.getStream("/all", 1L).join();
+            String body = response.getBody() instanceof byte[]
+                    ? new String((byte[]) response.getBody(), StandardCharsets.UTF_8) : bodyOf(response);
+
+            assertThat(lastAccept, equalTo(BaseClient.NDJSON_VALUE));
+            assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+            assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE), equalTo(BaseClient.NDJSON_VALUE));
+            assertThat(body, equalTo(usersNdjson));
+        }
+    }
+
+    @Test
+    void get_withMeterRegistry_shouldRecordDownstreamLatencyByUriTemplateAndStatus() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TestClient client = new TestClient(createRestTemplate(), meterRegistry);
+
+        client.get("/1", 1L, null).join();
+        client.get("/1", 2L, null).join();
+        client.get("/404", 1L, null).join();
+
+        assertThat(meterRegistry.get(BaseClient.DOWNSTREAM_REQUESTS_METRIC)
+                .tags("method", "GET", "uri", "/users/{id}", "status", "200", "outcome", "SUCCESS",
+                        "exception", "none")
+                .timer().count(), equalTo(2L));
+        assertThat(meterRegistry.get(BaseClient.DOWNSTREAM_REQUESTS_METRIC)
+                .tags("method", "GET", "uri", "/users/{id}", "status", "404", "outcome", "CLIENT_ERROR")
+                .timer().count(), equalTo(1L));
+    }
+
+    @Test
+    void get_withMeterRegistryAndStoppedServer_shouldRecordFailedDownstreamCall() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TestClient client = new TestClient(createRestTemplate(), meterRegistry);
+        server.stop(0);
+
+        assertThrows(ResourceAccessException.class, () -> client.get("", 1L, null));
+
+        assertThat(meterRegistry.get(BaseClient.DOWNSTREAM_REQUESTS_METRIC)
+                .tags("uri", "/users", "status", "IO_ERROR", "outcome", "UNKNOWN",
+                        "exception", "ResourceAccessException")
+                .timer().count(), equalTo(1L));
+    }
+
+    private static ResultActions performAsync(MockMvc mockMvc, RequestBuilder requestBuilder) throws Exception {
+        return mockMvc.perform(asyncDispatch(mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn()));
+    }
+
+    static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, boolean streaming, AsyncServerExchange asyncExchange) {
+            super(rest, streaming, asyncExchange);
+        }
+
+        TestClient(RestTemplate rest, MeterRegistry meterRegistry) {
+            super(rest, true, null, null, null, meterRegistry);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> get(String path, Long userId,
+                                                             Map<String, Object> parameters) {
+            return super.get(path, userId, parameters);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> getIfNoneMatch(String path, long userId, String eTag) {
+            return super.getIfNoneMatch(path, userId, eTag);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> getStream(String path, long userId) {
+            return super.getStream(path, userId);
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<Object>> post(String path, Long userId,
+                                                                  Map<String, Object> parameters, T body) {
+            return super.post(path, userId, parameters, body);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> delete(String path, Long userId,
+                                                                Map<String, Object> parameters) {
+            return super.delete(path, userId, parameters);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class GatewayResponseCacheTest {
+    final Map<String, AtomicInteger> serverHits = new ConcurrentHashMap<>();
+
+    final Map<String, String> eTags = new ConcurrentHashMap<>();
+
+    final AtomicInteger notModified = new AtomicInteger();
+
+    HttpServer server;
+
+    MeterRegistry meterRegistry;
+
+    GatewayResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().toString();
+            int hit = serverHits.computeIfAbsent(exchange.getRequestMethod() + " " + path,
+                    key -> new AtomicInteger()).incrementAndGet();
+            String eTag = path.matches("/[a-z]+/\\d+") ? eTags.getOrDefault(path, "\"1\"") : null;
+
+            if (eTag != null) {
+                exchange.getResponseHeaders().add(HttpHeaders.ETAG, eTag);
+            }
+
+            if (eTag != null && eTag.equals(exchange.getRequestHeaders().getFirst(HttpHeaders.IF_NONE_MATCH))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            byte[] body = ("{\"path\":\"" + path + "\",\"user\":\""
+                    + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id") + "\",\"hit\":" + hit + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+            exchange.sendResponseHeaders(path.endsWith("/404") ? 404 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new GatewayResponseCache(new ResponseCacheProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private TestClient createClient(boolean streaming) {
+        return new TestClient(new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()))
+                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .build(), streaming, responseCache);
+    }
+
+    private int hitsOf(String request) {
+        return serverHits.getOrDefault(request, new AtomicInteger()).get();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", GatewayResponseCache.NAME).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static String bodyOf(ResponseEntity<Object> response) {
+        return new String((byte[]) response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void properties_byDefault_shouldDisableCache() {
+        assertThat(new ResponseCacheProperties().isEnabled(), is(false));
+    }
+
+    @Test
+    void get_repeatedBySameUser_shouldBeServedFromCacheAndCountHitsAndMisses() {
+        TestClient client = createClient(true);
+
+        ResponseEntity<Object> first = client.get("/users/1", 1L, null).join();
+        ResponseEntity<Object> second = client.get("/users/1", 1L, null).join();
+
+        assertThat(hitsOf("GET /users/1"), equalTo(1));
+        assertThat(bodyOf(first), containsString("\"hit\":1"));
+        assertThat(bodyOf(second), equalTo(bodyOf(first)));
+        assertThat(second.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(cacheGets("hit"), equalTo(1.0));
+        assertThat(cacheGets("miss"), equalTo(1.0));
+    }
+
+    @Test
+    void get_byDifferentUsers_shouldCacheSeparateResponses() {
+        TestClient client = createClient(true);
+
+        client.get("/requests/1", 1L, null).join();
+        ResponseEntity<Object> otherUserResponse = client.get("/requests/1", 2L, null).join();
+        ResponseEntity<Object> requestorResponse = client.get("/requests/1", 1L, null).join();
+
+        assertThat(hitsOf("GET /requests/1"), equalTo(2));
+        assertThat(bodyOf(otherUserResponse), containsString("\"user\":\"2\""));
+        assertThat(bodyOf(requestorResponse), containsString("\"user\":\"1\""));
+    }
+
+    @Test
+    void get_withDifferentQuery_shouldNotBeServedFromCache() {
+        TestClient client = createClient(false);
+
+        client.get("/requests/all?from={from}", 1L, Map.of("from", 0)).join();
+        client.get("/requests/all?from={from}", 1L, Map.of("from", 10)).join();
+
+        assertThat(hitsOf("GET /requests/all?from=0"), equalTo(1));
+        assertThat(hitsOf("GET /requests/all?from=10"), equalTo(1));
+    }
+
+    @Test
+    void get_withErrorStatus_shouldNotBeCached() {
+        TestClient client = createClient(true);
+
+        client.get("/items/404", 1L, null).join();
+        ResponseEntity<Object> response = client.get("/items/404", 1L, null).join();
+
+        assertThat(hitsOf("GET /items/404"), equalTo(2));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void get_withIfNoneMatchOfCachedResponse_shouldReturnStatusNotModifiedFromCache() {
+        TestClient client = createClient(true);
+        client.getIfNoneMatch("/users/1", 1L, null).join();
+
+        ResponseEntity<Object> response = client.getIfNoneMatch("/users/1", 1L, "\"1\"").join();
+
+        assertThat(hitsOf("GET /users/1"), equalTo(1));
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo("\"1\""));
+        assertThat(response.hasBody(), is(false));
+    }
+
+    @Test
+    void get_ofCachedItem_shouldRevalidateWithServerETagAndReturnCachedBody() {
+        TestClient client = createClient(true);
+
+        ResponseEntity<Object> first = client.get("/items/1", 1L, null).join();
+        ResponseEntity<Object> second = client.get("/items/1", 1L, null).join();
+
+        assertThat(hitsOf("GET /items/1"), equalTo(2));
+        assertThat(notModified.get(), equalTo(1));
+        assertThat(second.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(bodyOf(second), equalTo(bodyOf(first)));
+    }
+
+    @Test
+    void get_ofCachedItemWithChangedServerETag_shouldReturnAndCacheNewResponse() {
+        TestClient client = createClient(true);
+        client.get("/items/1", 1L, null).join();
+        eTags.put("/items/1", "\"2\"");
+
+        ResponseEntity<Object> changed = client.get("/items/1", 1L, null).join();
+        ResponseEntity<Object> revalidated = client.get("/items/1", 1L, null).join();
+
+        assertThat(bodyOf(changed), containsString("\"hit\":2"));
+        assertThat(changed.getHeaders().getETag(), equalTo("\"2\""));
+        assertThat(bodyOf(revalidated), equalTo(bodyOf(changed)));
+        assertThat(notModified.get(), equalTo(1));
+    }
+
+    @Test
+    void get_ofCachedItemWithIfNoneMatchOfNewServerETag_shouldReturnStatusNotModified() {
+        TestClient client = createClient(true);
+        client.get("/items/1", 1L, null).join();
+        eTags.put("/items/1", "\"2\"");
+
+        ResponseEntity<Object> response = client.getIfNoneMatch("/items/1", 1L, "\"2\"").join();
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getHeaders().getETag(), equalTo("\"2\""));
+    }
+
+    @Test
+    void get_ofBookingsByStateAndOwnerItems_shouldNotBeCached() {
+        TestClient client = createClient(true);
+
+        client.get("/bookings?state={state}", 1L, Map.of("state", "CURRENT")).join();
+        client.get("/bookings?state={state}", 1L, Map.of("state", "CURRENT")).join();
+        client.get("/items", 1L, null).join();
+        client.get("/items", 1L, null).join();
+
+        assertThat(hitsOf("GET /bookings?state=CURRENT"), equalTo(2));
+        assertThat(hitsOf("GET /items"), equalTo(2));
+        assertThat(cacheGets("hit"), equalTo(0.0));
+    }
+
+    @Test
+    void patch_ofItem_shouldInvalidateRequestsOfAllUsersButNotUsers() {
+        TestClient client = createClient(true);
+        client.get("/requests/1", 1L, null).join();
+        client.get("/requests/1", 2L, null).join();
+        client.get("/users/1", 2L, null).join();
+
+        client.patch("/items/1", 1L, null, Map.of("name", "name")).join();
+        client.get("/requests/1", 1L, null).join();
+        ResponseEntity<Object> otherUserResponse = client.get("/requests/1", 2L, null).join();
+        client.get("/users/1", 2L, null).join();
+
+        assertThat(hitsOf("GET /requests/1"), equalTo(4));
+        assertThat(bodyOf(otherUserResponse), containsString("\"hit\":4"));
+        assertThat(hitsOf("GET /users/1"), equalTo(1));
+    }
+
+    @Test
+    void patch_ofBooking_shouldInvalidateItemsWithOwnerBookings() {
+        TestClient client = createClient(true);
+        client.get("/items/1", 1L, null).join();
+
+        client.patch("/bookings/1?approved={approved}", 1L, Map.of("approved", true), null).join();
+        ResponseEntity<Object> response = client.get("/items/1", 1L, null).join();
+
+        assertThat(hitsOf("GET /items/1"), equalTo(2));
+        assertThat(notModified.get(), equalTo(0));
+        assertThat(bodyOf(response), containsString("\"hit\":2"));
+    }
+
+    @Test
+    void get_completedAfterInvalidation_shouldNotBeCached() {
+        URI uri = URI.create("http://localhost/users/1");
+        HttpHeaders headers = new HttpHeaders();
+        CompletableFuture<ResponseEntity<Object>> staleResponse = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<ResponseEntity<Object>> response = responseCache.get(uri, headers, upstreamHeaders -> {
+            loads.incrementAndGet();
+            return staleResponse;
+        });
+        responseCache.invalidate(URI.create("http://localhost/users/1"));
+        staleResponse.complete(ResponseEntity.ok("stale"));
+        responseCache.get(uri, headers, upstreamHeaders -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok("fresh"));
+        });
+
+        assertThat(response.join().getBody(), equalTo("stale"));
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void get_withStreamingResponse_shouldCacheBufferedBody() {
+        CompletableFuture<ResponseEntity<Object>> response = responseCache.get(URI.create("http://localhost/users"),
+                new HttpHeaders(), upstreamHeaders -> CompletableFuture.completedFuture(ResponseEntity.ok(
+                        new InputStreamResource(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8))))));
+
+        assertThat(bodyOf(response.join()), equalTo("[]"));
+    }
+
+    static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, boolean streaming, GatewayResponseCache responseCache) {
+            super(rest, streaming, null, responseCache, null, null);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> get(String path, Long userId,
+                                                             Map<String, Object> parameters) {
+            return super.get(path, userId, parameters);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> getIfNoneMatch(String path, long userId, String eTag) {
+            return super.getIfNoneMatch(path, userId, eTag);
+        }
+
+        @Override
+        public <T> CompletableFuture<ResponseEntity<Object>> patch(String path, Long userId,
+                                                                   Map<String, Object> parameters, T body) {
+            return super.patch(path, userId, parameters, body);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(classes = {HttpClientConfiguration.class, HttpClientPoolEndpoint.class}, properties = {
+        "shareit-server.http-client.max-total=7",
+        "shareit-server.http-client.max-per-route=3"
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class HttpClientConfigurationTest {
+    @Autowired
+    PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    ClientHttpRequestFactory requestFactory;
+
+    @Autowired
+    HttpClientPoolEndpoint endpoint;
+
+    HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void connectionManager_shouldBeConfiguredFromProperties() {
+        assertThat(connectionManager.getMaxTotal(), equalTo(7));
+        assertThat(connectionManager.getDefaultMaxPerRoute(), equalTo(3));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stats_afterSequentialRequests_shouldReportOneReusedConnection() {
+        RestTemplate rest = new RestTemplate(requestFactory);
+        String url = "http://localhost:" + server.getAddress().getPort() + "/";
+
+        for (int i = 0; i < 3; i++) {
+            rest.getForObject(url, Map.class);
+        }
+
+        Map<String, Object> stats = endpoint.stats();
+
+        assertThat((Map<String, Integer>) stats.get("total"), allOf(
+                hasEntry("leased", 0),
+                hasEntry("pending", 0),
+                hasEntry("available", 1),
+                hasEntry("max", 7)
+        ));
+        assertThat((Map<String, Object>) stats.get("routes"), aMapWithSize(1));
+    }
+}
@@ -0,0 +1,229 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class RequestCoalescerTest {
+    final URI uri = URI.create("http://localhost/items/search?text=drill");
+
+    final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    RequestCoalescingProperties properties;
+
+    MeterRegistry meterRegistry;
+
+    RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RequestCoalescingProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new RequestCoalescer(properties, meterRegistry);
+    }
+
+    private static HttpHeaders headers(long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> execute(HttpHeaders headers,
+                                                              CompletableFuture<ResponseEntity<Object>> upstream) {
+        return coalescer.execute(uri, headers, () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    void execute_withConcurrentIdenticalRequests_shouldShareOneUpstreamCall() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> first = execute(headers(1), upstream);
+        CompletableFuture<ResponseEntity<Object>> second = execute(headers(1), new CompletableFuture<>());
+        CompletableFuture<ResponseEntity<Object>> third = execute(headers(1), new CompletableFuture<>());
+        assertThat(meterRegistry.get("gateway.coalescing.in-flight").gauge().value(), equalTo(1.0));
+        upstream.complete(ResponseEntity.ok("OK"));
+
+        assertThat(upstreamCalls.get(), equalTo(1));
+        assertThat(first.join().getBody(), equalTo("OK"));
+        assertThat(second.join().getBody(), equalTo("OK"));
+        assertThat(third.join().getBody(), equalTo("OK"));
+        assertThat(count("gateway.coalescing.collapsed"), equalTo(2.0));
+        assertThat(meterRegistry.get("gateway.coalescing.in-flight").gauge().value(), equalTo(0.0));
+    }
+
+    @Test
+    void execute_withDifferentUsersOrIfNoneMatch_shouldNotShareUpstreamCall() {
+        HttpHeaders conditional = headers(1);
+        conditional.setIfNoneMatch("\"1\"");
+
+        execute(headers(1), new CompletableFuture<>());
+        execute(headers(2), new CompletableFuture<>());
+        execute(conditional, new CompletableFuture<>());
+
+        assertThat(upstreamCalls.get(), equalTo(3));
+        assertThat(count("gateway.coalescing.collapsed"), equalTo(0.0));
+    }
+
+    @Test
+    void execute_afterUpstreamCallCompleted_shouldStartNewUpstreamCall() {
+        execute(headers(1), CompletableFuture.completedFuture(ResponseEntity.ok("OK"))).join();
+        execute(headers(1), CompletableFuture.completedFuture(ResponseEntity.ok("OK"))).join();
+
+        assertThat(upstreamCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void execute_withMaxFollowersReached_shouldBypassCoalescing() {
+        properties.setMaxFollowers(1);
+
+        execute(headers(1), new CompletableFuture<>());
+        execute(headers(1), new CompletableFuture<>());
+        execute(headers(1), new CompletableFuture<>());
+
+        assertThat(upstreamCalls.get(), equalTo(2));
+        assertThat(count("gateway.coalescing.collapsed"), equalTo(1.0));
+        assertThat(count("gateway.coalescing.bypassed"), equalTo(1.0));
+    }
+
+    @Test
+    void execute_withMaxInFlightReached_shouldBypassCoalescing() {
+        properties.setMaxInFlight(1);
+
+        execute(headers(1), new CompletableFuture<>());
+        execute(headers(2), new CompletableFuture<>());
+        execute(headers(2), new CompletableFuture<>());
+
+        assertThat(upstreamCalls.get(), equalTo(3));
+        assertThat(count("gateway.coalescing.bypassed"), equalTo(2.0));
+    }
+
+    @Test
+    void execute_afterInvalidate_shouldNotJoinEarlierUpstreamCall() {
+        execute(headers(1), new CompletableFuture<>());
+
+        coalescer.invalidate();
+        execute(headers(1), new CompletableFuture<>());
+
+        assertThat(upstreamCalls.get(), equalTo(2));
+    }
+
+    @Test
+    void execute_withSharedStreamingResponse_shouldGiveEveryRequestBufferedBody() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> first = execute(headers(1), upstream);
+        CompletableFuture<ResponseEntity<Object>> second = execute(headers(1), new CompletableFuture<>());
+        upstream.complete(ResponseEntity.ok(new InputStreamResource(
+                new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)))));
+
+        assertThat(new String((byte[]) first.join().getBody(), StandardCharsets.UTF_8), equalTo("[]"));
+        assertThat(new String((byte[]) second.join().getBody(), StandardCharsets.UTF_8), equalTo("[]"));
+    }
+
+    @Test
+    void execute_withFailedUpstreamCall_shouldFailEveryRequest() {
+        CompletableFuture<ResponseEntity<Object>> upstream = new CompletableFuture<>();
+
+        CompletableFuture<ResponseEntity<Object>> first = execute(headers(1), upstream);
+        CompletableFuture<ResponseEntity<Object>> second = execute(headers(1), new CompletableFuture<>());
+        upstream.completeExceptionally(new ResourceAccessException("error"));
+
+        assertThat(assertThrows(CompletionException.class, first::join).getCause(),
+                instanceOf(ResourceAccessException.class));
+        assertThat(assertThrows(CompletionException.class, second::join).getCause(),
+                instanceOf(ResourceAccessException.class));
+    }
+
+    @Test
+    void get_withBlockingClient_shouldLetConcurrentRequestWaitForInFlightCall() throws Exception {
+        CountDownLatch received = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger serverHits = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            serverHits.incrementAndGet();
+            received.countDown();
+
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            TestClient client = new TestClient(new RestTemplateBuilder()
+                    .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:"
+                            + server.getAddress().getPort()))
+                    .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                    .build(), coalescer);
+
+            CompletableFuture<ResponseEntity<Object>> first = CompletableFuture.supplyAsync(
+                    () -> client.get("/requests/all", 1L, null).join());
+            assertThat(received.await(10, TimeUnit.SECONDS), is(true));
+            CompletableFuture<ResponseEntity<Object>> second = client.get("/requests/all", 1L, null);
+
+            assertThat(second.isDone(), is(false));
+            release.countDown();
+
+            assertThat(new String((byte[]) first.get(10, TimeUnit.SECONDS).getBody(), StandardCharsets.UTF_8),
+                    equalTo("[]"));
+            assertThat(new String((byte[]) second.get(10, TimeUnit.SECONDS).getBody(), StandardCharsets.UTF_8),
+                    equalTo("[]"));
+            assertThat(serverHits.get(), equalTo(1));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, RequestCoalescer requestCoalescer) {
+            super(rest, true, null, null, requestCoalescer, null);
+        }
+
+        @Override
+        public CompletableFuture<ResponseEntity<Object>> get(String path, Long userId,
+                                                             Map<String, Object> parameters) {
+            return super.get(path, userId, parameters);
+        }
+    }
+}
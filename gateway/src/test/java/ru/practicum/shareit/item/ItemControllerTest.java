@@ -11,27 +11,34 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.validation.Errors;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
 import ru.practicum.shareit.item.dto.CommentDtoFromClient;
 import ru.practicum.shareit.item.dto.ItemDtoFromClient;
+import ru.practicum.shareit.item.dto.ItemSearchOrder;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import ru.practicum.shareit.tools.matchers.CommentDtoFromClientMatcher;
 import ru.practicum.shareit.validation.groups.OnCreate;
 import ru.practicum.shareit.validation.groups.OnUpdate;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.tools.factories.DtoFactory.createCommentDtoFromClient;
 import static ru.practicum.shareit.tools.factories.DtoFactory.createItemDtoFromClient;
@@ -69,7 +76,12 @@ class ItemControllerTest {
     final ItemDtoFromClient validDto = createItemDtoFromClient("item", "desc", true,
             4L);
 
-    final ResponseEntity<Object> result = ResponseEntity.ok("OK");
+    final CompletableFuture<ResponseEntity<Object>> result = CompletableFuture.completedFuture(ResponseEntity.ok("OK"));
+
+    private ResultActions performCompleted(RequestBuilder requestBuilder) throws Exception {
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncNotStarted());
+    }
 
     final Integer validFrom = 2;
 
@@ -316,7 +328,7 @@ class ItemControllerTest {
             throws Exception {
         doReturn(result).when(client).create(eq(validUserId), argThat(equalToDto(validDto)));
 
-        mockMvc.perform(post("/items")
+        performCompleted(post("/items")
                         .header("X-Sharer-User-Id", validUserId)
                         .content(objectMapper.writeValueAsString(validDto))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -334,7 +346,7 @@ class ItemControllerTest {
         doReturn(result).when(client).createComment(eq(validUserId), eq(validId),
                 argThat(CommentDtoFromClientMatcher.equalToDto(validCommentDto)));
 
-        mockMvc.perform(post("/items/" + validId + "/comment")
+        performCompleted(post("/items/" + validId + "/comment")
                         .header("X-Sharer-User-Id", validUserId)
                         .content(objectMapper.writeValueAsString(validCommentDto))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -350,30 +362,81 @@ class ItemControllerTest {
             throws Exception {
         doReturn(result).when(client).readByOwner(validUserId, validFrom, validSize);
 
-        mockMvc.perform(get("/items?from=" + validFrom + "&size=" + validSize)
+        performCompleted(get("/items?from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadByOwnerEndPointAndNdjsonAccept_shouldReturnClientStreamByOwnerMethodResult()
+            throws Exception {
+        doReturn(result).when(client).streamByOwner(validUserId);
+
+        performCompleted(get("/items")
+                        .header("X-Sharer-User-Id", validUserId)
+                        .accept(BaseClient.NDJSON_VALUE))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+
+        verify(client, never()).readByOwner(anyLong(), any(), any());
+    }
+
     @Test
     void request_withReadByQueryEndPoint_shouldReturnClientReadByQueryMethodResult()
             throws Exception {
         String query = "query";
-        doReturn(result).when(client).readByQuery(validUserId, query, validFrom, validSize);
+        doReturn(result).when(client).readByQuery(validUserId, query, ItemSearchOrder.ID, validFrom, validSize);
 
-        mockMvc.perform(get("/items/search?text=" + query + "&from=" + validFrom + "&size=" + validSize)
+        performCompleted(get("/items/search?text=" + query + "&from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadByQueryEndPointAndRelevanceOrder_shouldReturnClientReadByQueryMethodResult()
+            throws Exception {
+        String query = "query";
+        doReturn(result).when(client).readByQuery(validUserId, query, ItemSearchOrder.RELEVANCE, validFrom,
+                validSize);
+
+        performCompleted(get("/items/search?text=" + query + "&order=relevance&from=" + validFrom + "&size="
+                        + validSize)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_withReadByQueryEndPointAndUnknownOrder_shouldReturnStatusBadRequest()
+            throws Exception {
+        mockMvc.perform(get("/items/search?text=query&order=unknown")
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(status().isBadRequest());
+
+        verify(client, never()).readByQuery(anyLong(), any(), any(), any(), any());
+    }
+
     @Test
     void request_withReadByIdEndPoint_shouldReturnClientReadByIdMethodResult()
             throws Exception {
-        doReturn(result).when(client).readById(validUserId, validId);
+        doReturn(result).when(client).readById(validUserId, validId, null);
 
-        mockMvc.perform(get("/items/" + validId).header("X-Sharer-User-Id", validUserId))
+        performCompleted(get("/items/" + validId).header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_withReadByIdEndPointAndIfNoneMatch_shouldPassETagToClientReadByIdMethod()
+            throws Exception {
+        String eTag = "\"1-0\"";
+        doReturn(result).when(client).readById(validUserId, validId, eTag);
+
+        performCompleted(get("/items/" + validId)
+                        .header("X-Sharer-User-Id", validUserId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
@@ -383,7 +446,7 @@ class ItemControllerTest {
             throws Exception {
         doReturn(result).when(client).update(eq(validUserId), eq(validId), argThat(equalToDto(validDto)));
 
-        mockMvc.perform(patch("/items/" + validId)
+        performCompleted(patch("/items/" + validId)
                         .header("X-Sharer-User-Id", validUserId)
                         .content(objectMapper.writeValueAsString(validDto))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -15,18 +15,23 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.validation.Errors;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.tools.factories.DtoFactory.createItemRequestDtoFromClient;
 import static ru.practicum.shareit.tools.matchers.ItemRequestDtoFromClientMatcher.equalToDto;
@@ -60,7 +65,12 @@ public class ItemRequestControllerTest {
 
     final ItemRequestDtoFromClient validDto = createItemRequestDtoFromClient("description");
 
-    final ResponseEntity<Object> result = ResponseEntity.ok("OK");
+    final CompletableFuture<ResponseEntity<Object>> result = CompletableFuture.completedFuture(ResponseEntity.ok("OK"));
+
+    private ResultActions performCompleted(RequestBuilder requestBuilder) throws Exception {
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncNotStarted());
+    }
 
     private static Stream<Arguments> httpMediaTypeNotSupportedRequests() {
         return Stream.of(
@@ -141,6 +151,14 @@ public class ItemRequestControllerTest {
                         get("/requests")
                                 .header("X-Sharer-User-Id", incorrectUserId)),
 
+                Arguments.of("readByUser with incorrect size",
+                        get("/requests?size=" + incorrectSize)
+                                .header("X-Sharer-User-Id", validUserId)),
+
+                Arguments.of("readByUser with incorrect from",
+                        get("/requests?from=" + incorrectFrom)
+                                .header("X-Sharer-User-Id", validUserId)),
+
                 Arguments.of("readAll with incorrect userId",
                         get("/requests/all")
                                 .header("X-Sharer-User-Id", incorrectUserId)),
@@ -176,6 +194,12 @@ public class ItemRequestControllerTest {
 
     private static Stream<Arguments> constraintViolationRequests() {
         return Stream.of(
+                Arguments.of("readByUser with negative from",
+                        get("/requests?from=-1").header("X-Sharer-User-Id", validUserId)),
+
+                Arguments.of("readByUser with zero size",
+                        get("/requests?size=0").header("X-Sharer-User-Id", validUserId)),
+
                 Arguments.of("readAll with negative from",
                         get("/requests/all?from=-1").header("X-Sharer-User-Id", validUserId)),
 
@@ -217,7 +241,7 @@ public class ItemRequestControllerTest {
             throws Exception {
         doReturn(result).when(client).create(eq(validUserId), argThat(equalToDto(validDto)));
 
-        mockMvc.perform(post("/requests")
+        performCompleted(post("/requests")
                         .header("X-Sharer-User-Id", validUserId)
                         .content(objectMapper.writeValueAsString(validDto))
                         .contentType(MediaType.APPLICATION_JSON))
@@ -230,9 +254,11 @@ public class ItemRequestControllerTest {
     @Test
     void request_withReadByUserEndPoint_shouldReturnClientReadByUserMethodResult()
             throws Exception {
-        doReturn(result).when(client).readByUser(validUserId);
+        Integer validFrom = 2;
+        Integer validSize = 10;
+        doReturn(result).when(client).readByUser(validUserId, validFrom, validSize);
 
-        mockMvc.perform(get("/requests")
+        performCompleted(get("/requests?from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
@@ -245,18 +271,32 @@ public class ItemRequestControllerTest {
         Integer validSize = 10;
         doReturn(result).when(client).readAll(validUserId, validFrom, validSize);
 
-        mockMvc.perform(get("/requests/all?from=" + validFrom + "&size=" + validSize)
+        performCompleted(get("/requests/all?from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadAllEndPointAndNdjsonAccept_shouldReturnClientStreamAllMethodResult()
+            throws Exception {
+        doReturn(result).when(client).streamAll(validUserId);
+
+        performCompleted(get("/requests/all")
+                        .header("X-Sharer-User-Id", validUserId)
+                        .accept(BaseClient.NDJSON_VALUE))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+
+        verify(client, never()).readAll(anyLong(), any(), any());
+    }
+
     @Test
     void request_withReadByIdEndPoint_shouldReturnClientReadByIdMethodResult()
             throws Exception {
-        doReturn(result).when(client).readById(validUserId, validId);
+        doReturn(result).when(client).readById(validUserId, validId, null);
 
-        mockMvc.perform(get("/requests/" + validId)
+        performCompleted(get("/requests/" + validId)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
@@ -15,6 +15,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.validation.Errors;
 import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
@@ -23,10 +26,12 @@ import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import ru.practicum.shareit.validation.groups.OnCreate;
 import ru.practicum.shareit.validation.groups.OnUpdate;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.tools.factories.DtoFactory.createUserDtoFromClient;
 import static ru.practicum.shareit.tools.matchers.UserDtoFromClientMatcher.equalToDto;
@@ -58,7 +63,12 @@ public class UserControllerTest {
 
     final UserDtoFromClient validDto = createUserDtoFromClient("userName", "user@email.com");
 
-    final ResponseEntity<Object> result = ResponseEntity.ok("OK");
+    final CompletableFuture<ResponseEntity<Object>> result = CompletableFuture.completedFuture(ResponseEntity.ok("OK"));
+
+    private ResultActions performCompleted(RequestBuilder requestBuilder) throws Exception {
+        return mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncNotStarted());
+    }
 
     private static Stream<Arguments> httpMediaTypeNotSupportedRequests() {
         return Stream.of(
@@ -164,7 +174,7 @@ public class UserControllerTest {
             throws Exception {
         doReturn(result).when(client).create(argThat(equalToDto(validDto)));
 
-        mockMvc.perform(post("/users")
+        performCompleted(post("/users")
                         .content(objectMapper.writeValueAsString(validDto))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string("OK"))
@@ -178,7 +188,7 @@ public class UserControllerTest {
     void request_withReadAllEndPoint_shouldReturnClientReadAllMethodResult() throws Exception {
         doReturn(result).when(client).readAll();
 
-        mockMvc.perform(get("/users"))
+        performCompleted(get("/users"))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
@@ -188,7 +198,23 @@ public class UserControllerTest {
             throws Exception {
         doReturn(result).when(client).readById(validId);
 
-        mockMvc.perform(get("/users/" + validId))
+        performCompleted(get("/users/" + validId))
+                .andExpect(content().string("OK"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_withPendingClientResult_shouldCompleteResponseAsynchronously()
+            throws Exception {
+        CompletableFuture<ResponseEntity<Object>> pending = new CompletableFuture<>();
+        doReturn(pending).when(client).readById(validId);
+
+        MvcResult mvcResult = mockMvc.perform(get("/users/" + validId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        pending.complete(ResponseEntity.ok("OK"));
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
@@ -198,7 +224,7 @@ public class UserControllerTest {
             throws Exception {
         doReturn(result).when(client).update(eq(validId), argThat(equalToDto(validDto)));
 
-        mockMvc.perform(patch("/users/" + validId)
+        performCompleted(patch("/users/" + validId)
                         .content(objectMapper.writeValueAsString(validDto))
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string("OK"))
@@ -213,7 +239,7 @@ public class UserControllerTest {
             throws Exception {
         doReturn(result).when(client).deleteById(validId);
 
-        mockMvc.perform(delete("/users/" + validId))
+        performCompleted(delete("/users/" + validId))
                 .andExpect(content().string("OK"))
                 .andExpect(status().isOk());
     }
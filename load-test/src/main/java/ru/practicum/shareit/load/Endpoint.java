@@ -0,0 +1,27 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import java.util.Arrays;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum Endpoint {
+    CREATE_BOOKING("createBooking", "POST /bookings"),
+    APPROVE_BOOKING("approve", "PATCH /bookings/{id}?approved=true"),
+    OWNER_BOOKINGS("ownerBookings", "GET /bookings/owner?state={state}"),
+    SEARCH_ITEMS("search", "GET /items/search?text={text}"),
+    CREATE_COMMENT("comment", "POST /items/{id}/comment");
+
+    String key;
+
+    String description;
+
+    public static Optional<Endpoint> fromKey(String key) {
+        return Arrays.stream(values()).filter(endpoint -> endpoint.key.equalsIgnoreCase(key)).findFirst();
+    }
+}
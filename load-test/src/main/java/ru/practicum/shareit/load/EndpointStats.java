@@ -0,0 +1,68 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.HdrHistogram.Histogram;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EndpointStats {
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    Histogram latencies = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    LongAdder successes = new LongAdder();
+
+    LongAdder errors = new LongAdder();
+
+    LongAdder failures = new LongAdder();
+
+    LongAdder skipped = new LongAdder();
+
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public void record(long intendedStartNanos, long completedNanos, Integer status, Throwable failure) {
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, completedNanos - intendedStartNanos));
+
+        synchronized (latencies) {
+            latencies.recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+        }
+
+        if (failure != null || status == null) {
+            failures.increment();
+        } else if (ShareItApi.isSuccessful(status)) {
+            successes.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    public Histogram getLatencies() {
+        synchronized (latencies) {
+            return latencies.copy();
+        }
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getCompleted() {
+        return getSuccesses() + getErrors() + getFailures();
+    }
+}
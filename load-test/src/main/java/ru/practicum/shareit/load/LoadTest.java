@@ -0,0 +1,36 @@
+package ru.practicum.shareit.load;
+
+import ru.practicum.shareit.load.data.DataGenerator;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Random;
+
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "generate".equals(args[0])) {
+            DataGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        PrintStream out = System.out;
+
+        try (StackLauncher stack = options.getGatewayUrl() == null ? StackLauncher.start(options) : null) {
+            String gatewayUrl = stack == null ? options.getGatewayUrl() : stack.getGatewayUrl();
+            out.println("Driving " + gatewayUrl);
+
+            ShareItApi api = new ShareItApi(gatewayUrl, options.getRequestTimeout());
+            Workload workload = Workload.seed(api, options, out);
+            OpenModelDriver driver = new OpenModelDriver(workload, options.getMix(), options.getRate(),
+                    options.getRequestTimeout(), new Random(options.getRandomSeed()));
+
+            if (!options.getWarmup().isZero()) {
+                out.printf("Warming up for %s at %.1f req/s%n", options.getWarmup(), options.getRate());
+                driver.run(options.getWarmup());
+            }
+
+            out.printf("Measuring for %s at %.1f req/s%n", options.getDuration(), options.getRate());
+            driver.run(options.getDuration()).print(out);
+        }
+    }
+}
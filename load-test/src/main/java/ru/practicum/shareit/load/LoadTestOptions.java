@@ -0,0 +1,110 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class LoadTestOptions {
+    String gatewayUrl;
+
+    Path serverJar = Path.of("server", "target", "shareit-server-0.0.1-SNAPSHOT-exec.jar");
+
+    Path gatewayJar = Path.of("gateway", "target", "shareit-gateway-0.0.1-SNAPSHOT.jar");
+
+    Path logDir = Path.of("load-test", "target", "logs");
+
+    int users = 100;
+
+    int itemsPerOwner = 5;
+
+    int bookings = 500;
+
+    double rate = 100;
+
+    Duration warmup = Duration.ofSeconds(10);
+
+    Duration duration = Duration.ofSeconds(60);
+
+    Duration requestTimeout = Duration.ofSeconds(30);
+
+    long randomSeed = 42;
+
+    OperationMix mix = OperationMix.parse("createBooking=20,approve=10,ownerBookings=30,search=30,comment=10");
+
+    public static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            switch (name) {
+                case "gateway-url":
+                    options.gatewayUrl = value;
+                    break;
+                case "server-jar":
+                    options.serverJar = Path.of(value);
+                    break;
+                case "gateway-jar":
+                    options.gatewayJar = Path.of(value);
+                    break;
+                case "log-dir":
+                    options.logDir = Path.of(value);
+                    break;
+                case "users":
+                    options.users = Integer.parseInt(value);
+                    break;
+                case "items-per-owner":
+                    options.itemsPerOwner = Integer.parseInt(value);
+                    break;
+                case "bookings":
+                    options.bookings = Integer.parseInt(value);
+                    break;
+                case "rate":
+                    options.rate = Double.parseDouble(value);
+                    break;
+                case "warmup":
+                    options.warmup = parseDuration(value);
+                    break;
+                case "duration":
+                    options.duration = parseDuration(value);
+                    break;
+                case "request-timeout":
+                    options.requestTimeout = parseDuration(value);
+                    break;
+                case "random-seed":
+                    options.randomSeed = Long.parseLong(value);
+                    break;
+                case "mix":
+                    options.mix = OperationMix.parse(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        if (options.users < 2) {
+            throw new IllegalArgumentException("At least two users are needed to have owners and bookers");
+        }
+
+        if (options.itemsPerOwner < 1 || options.rate <= 0) {
+            throw new IllegalArgumentException("Items per owner and rate must be positive");
+        }
+
+        return options;
+    }
+
+    static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
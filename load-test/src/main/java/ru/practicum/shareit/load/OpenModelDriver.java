@@ -0,0 +1,78 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OpenModelDriver {
+    Workload workload;
+
+    OperationMix mix;
+
+    double rate;
+
+    Duration drainTimeout;
+
+    Random random;
+
+    public PhaseResult run(Duration duration) throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        mix.getEndpoints().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        AtomicLong inFlight = new AtomicLong();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+
+        for (long intended = start; intended < end; intended = start + (long) (++sent * intervalNanos)) {
+            long delay = intended - System.nanoTime();
+
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            Endpoint endpoint = mix.next(random);
+            EndpointStats endpointStats = stats.get(endpoint);
+            long intendedStart = intended;
+            CompletableFuture<HttpResponse<String>> response;
+
+            try {
+                response = workload.execute(endpoint, random);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+
+            if (response == null) {
+                endpointStats.recordSkipped();
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+            response.whenComplete((result, failure) -> {
+                endpointStats.record(intendedStart, System.nanoTime(), result == null ? null : result.statusCode(),
+                        failure);
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        return new PhaseResult(stats, Duration.ofNanos(System.nanoTime() - start), sent, inFlight.get());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OperationMix {
+    Map<Endpoint, Integer> weights;
+
+    List<Endpoint> endpoints;
+
+    int[] cumulativeWeights;
+
+    int totalWeight;
+
+    private OperationMix(Map<Endpoint, Integer> weights) {
+        this.weights = weights;
+        endpoints = new ArrayList<>(weights.keySet());
+        cumulativeWeights = new int[endpoints.size()];
+        int total = 0;
+
+        for (int i = 0; i < endpoints.size(); i++) {
+            total += weights.get(endpoints.get(i));
+            cumulativeWeights[i] = total;
+        }
+
+        totalWeight = total;
+    }
+
+    public static OperationMix parse(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split("=");
+
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight, got: " + entry);
+            }
+
+            Endpoint endpoint = Endpoint.fromKey(keyAndWeight[0].trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint: " + keyAndWeight[0]));
+            int weight = Integer.parseInt(keyAndWeight[1].trim());
+
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + entry);
+            }
+
+            if (weight > 0) {
+                weights.merge(endpoint, weight, Integer::sum);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix must contain at least one positive weight: " + mix);
+        }
+
+        return new OperationMix(weights);
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return List.copyOf(endpoints);
+    }
+
+    public double shareOf(Endpoint endpoint) {
+        return (double) weights.getOrDefault(endpoint, 0) / totalWeight;
+    }
+
+    public Endpoint next(Random random) {
+        int value = random.nextInt(totalWeight);
+
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+
+        return endpoints.get(endpoints.size() - 1);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.HdrHistogram.Histogram;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PhaseResult {
+    static final String HEADER_FORMAT = "%-16s %9s %9s %9s %9s %9s %9s %9s %9s %9s %9s %9s%n";
+
+    static final String ROW_FORMAT = "%-16s %9d %9d %9d %9d %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n";
+
+    Map<Endpoint, EndpointStats> stats;
+
+    Duration elapsed;
+
+    long scheduled;
+
+    long unfinished;
+
+    public void print(PrintStream out) {
+        out.printf(HEADER_FORMAT, "endpoint", "requests", "2xx", "non-2xx", "failed", "skipped", "req/s", "p50 ms",
+                "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(EndpointStats.HIGHEST_TRACKABLE_MICROS, 3);
+        long successes = 0;
+        long errors = 0;
+        long failures = 0;
+        long skipped = 0;
+
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram latencies = endpointStats.getLatencies();
+            printRow(out, entry.getKey().getKey(), latencies, endpointStats.getSuccesses(), endpointStats.getErrors(),
+                    endpointStats.getFailures(), endpointStats.getSkipped());
+            total.add(latencies);
+            successes += endpointStats.getSuccesses();
+            errors += endpointStats.getErrors();
+            failures += endpointStats.getFailures();
+            skipped += endpointStats.getSkipped();
+        }
+
+        printRow(out, "total", total, successes, errors, failures, skipped);
+        out.printf("Scheduled %d requests in %.1f s, %d still unfinished%n", scheduled, elapsed.toMillis() / 1000.0,
+                unfinished);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram latencies, long successes, long errors,
+                          long failures, long skipped) {
+        long requests = successes + errors + failures;
+
+        out.printf(ROW_FORMAT, name, requests, successes, errors, failures, skipped,
+                requests * 1000.0 / Math.max(1, elapsed.toMillis()), millis(latencies, 50), millis(latencies, 90),
+                millis(latencies, 99), millis(latencies, 99.9), latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
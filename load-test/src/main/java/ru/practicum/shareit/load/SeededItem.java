@@ -0,0 +1,17 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SeededItem {
+    Long id;
+
+    Long ownerId;
+
+    String word;
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ShareItApi {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    HttpClient httpClient;
+
+    String baseUrl;
+
+    Duration requestTimeout;
+
+    ObjectMapper objectMapper;
+
+    public ShareItApi(String baseUrl, Duration requestTimeout) {
+        this(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(requestTimeout).build(),
+                baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl, requestTimeout,
+                new ObjectMapper());
+    }
+
+    public CompletableFuture<HttpResponse<String>> send(String method, String path, Long userId, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout)
+                .header("Accept", "application/json");
+
+        if (userId != null) {
+            builder.header(USER_ID_HEADER, userId.toString());
+        }
+
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(write(body)));
+        }
+
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public JsonNode call(String method, String path, Long userId, Object body) {
+        HttpResponse<String> response = send(method, path, userId, body).join();
+
+        if (!isSuccessful(response.statusCode())) {
+            throw new IllegalStateException(method + " " + path + " answered " + response.statusCode() + ": "
+                    + response.body());
+        }
+
+        return read(response.body());
+    }
+
+    public JsonNode read(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static boolean isSuccessful(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
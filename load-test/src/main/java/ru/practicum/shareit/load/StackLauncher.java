@@ -0,0 +1,128 @@
+package ru.practicum.shareit.load;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class StackLauncher implements AutoCloseable {
+    static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    static final List<String> QUIET_LOGGING = List.of(
+            "--logging.level.root=WARN",
+            "--logging.level.ru.practicum=WARN",
+            "--logging.level.org.springframework.web.servlet.DispatcherServlet=WARN",
+            "--logging.level.org.springframework.orm.jpa=WARN",
+            "--logging.level.org.springframework.transaction=WARN",
+            "--logging.level.org.springframework.transaction.interceptor=WARN",
+            "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+            "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+
+    Process server;
+
+    Process gateway;
+
+    @Getter
+    String gatewayUrl;
+
+    public static StackLauncher start(LoadTestOptions options) throws IOException, InterruptedException {
+        Files.createDirectories(options.getLogDir());
+
+        int serverPort = freePort();
+        Process server = launch(options.getServerJar(), options.getLogDir().resolve("server.log"),
+                "--spring.profiles.active=test", "--server.port=" + serverPort);
+
+        try {
+            awaitHealthy(server, "http://localhost:" + serverPort);
+
+            int gatewayPort = freePort();
+            Process gateway = launch(options.getGatewayJar(), options.getLogDir().resolve("gateway.log"),
+                    "--server.port=" + gatewayPort, "--shareit-server.url=http://localhost:" + serverPort);
+            StackLauncher stack = new StackLauncher(server, gateway, "http://localhost:" + gatewayPort);
+
+            try {
+                awaitHealthy(gateway, stack.gatewayUrl);
+            } catch (IOException | InterruptedException | RuntimeException e) {
+                stack.close();
+                throw e;
+            }
+
+            return stack;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stop(server);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        stop(gateway);
+        stop(server);
+    }
+
+    private static Process launch(Path jar, Path log, String... args) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Jar not found: " + jar.toAbsolutePath() + ", run mvn package first");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(List.of(args));
+        command.addAll(QUIET_LOGGING);
+
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    private static void awaitHealthy(Process process, String url) throws IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5)).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(url + " exited with code " + process.exitValue());
+            }
+
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                TimeUnit.MILLISECONDS.sleep(500);
+            }
+        }
+
+        throw new IllegalStateException(url + " did not become healthy in " + STARTUP_TIMEOUT);
+    }
+
+    private static void stop(Process process) throws InterruptedException {
+        process.destroy();
+
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class Workload {
+    static final String[] WORDS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "projector", "camera",
+            "mixer"};
+
+    static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    static final Duration COMMENTABLE_AFTER = Duration.ofSeconds(3);
+
+    static final Duration SLOT_LENGTH = Duration.ofHours(1);
+
+    ShareItApi api;
+
+    List<Long> owners = new ArrayList<>();
+
+    List<Long> bookers = new ArrayList<>();
+
+    List<SeededItem> items = new ArrayList<>();
+
+    List<Map.Entry<SeededItem, Long>> commentableItems = new ArrayList<>();
+
+    Queue<long[]> waitingBookings = new ConcurrentLinkedQueue<>();
+
+    AtomicLong nextSlot = new AtomicLong();
+
+    LocalDateTime firstSlot = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.HOURS);
+
+    public static Workload seed(ShareItApi api, LoadTestOptions options, PrintStream log) throws InterruptedException {
+        Workload workload = new Workload(api);
+        Random random = new Random(options.getRandomSeed());
+        String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+        for (int i = 0; i < options.getUsers(); i++) {
+            Long id = api.call("POST", "/users", null, Map.of("name", "User " + i,
+                    "email", "load-" + run + "-" + i + "@shareit.ru")).get("id").asLong();
+            (i % 2 == 0 ? workload.owners : workload.bookers).add(id);
+        }
+
+        for (Long ownerId : workload.owners) {
+            for (int i = 0; i < options.getItemsPerOwner(); i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                Long id = api.call("POST", "/items", ownerId, Map.of("name", word + " " + i,
+                        "description", "Load test " + word + " of user " + ownerId, "available", true))
+                        .get("id").asLong();
+                workload.items.add(new SeededItem(id, ownerId, word));
+            }
+        }
+
+        log.printf("Seeded %d users and %d items%n", options.getUsers(), workload.items.size());
+
+        LocalDateTime commentableFrom = LocalDateTime.now();
+
+        for (int i = 0; i < workload.items.size(); i++) {
+            SeededItem item = workload.items.get(i);
+            Long bookerId = workload.bookers.get(i % workload.bookers.size());
+            commentableFrom = LocalDateTime.now().plus(COMMENTABLE_AFTER).truncatedTo(ChronoUnit.SECONDS);
+            JsonNode booking = api.call("POST", "/bookings", bookerId, Map.of("itemId", item.getId(),
+                    "start", commentableFrom.toString(), "end", commentableFrom.plusHours(1).toString()));
+            api.call("PATCH", "/bookings/" + booking.get("id").asLong() + "?approved=true", item.getOwnerId(), null);
+            workload.commentableItems.add(Map.entry(item, bookerId));
+        }
+
+        for (int i = 0; i < options.getBookings(); i++) {
+            SeededItem item = workload.items.get(random.nextInt(workload.items.size()));
+            Long bookerId = workload.bookers.get(random.nextInt(workload.bookers.size()));
+            JsonNode booking = api.call("POST", "/bookings", bookerId, workload.nextBooking(item));
+            workload.waitingBookings.add(new long[]{booking.get("id").asLong(), item.getOwnerId()});
+        }
+
+        log.printf("Seeded %d bookings%n", workload.items.size() + options.getBookings());
+
+        long untilCommentable = Duration.between(LocalDateTime.now(), commentableFrom).toMillis() + 1000;
+
+        if (untilCommentable > 0) {
+            Thread.sleep(untilCommentable);
+        }
+
+        return workload;
+    }
+
+    public CompletableFuture<HttpResponse<String>> execute(Endpoint endpoint, Random random) {
+        switch (endpoint) {
+            case CREATE_BOOKING:
+                return createBooking(random);
+            case APPROVE_BOOKING:
+                return approveBooking();
+            case OWNER_BOOKINGS:
+                return api.send("GET", "/bookings/owner?state=" + STATES[random.nextInt(STATES.length)],
+                        owners.get(random.nextInt(owners.size())), null);
+            case SEARCH_ITEMS:
+                return api.send("GET", "/items/search?text=" + ShareItApi.encode(WORDS[random.nextInt(WORDS.length)]),
+                        bookers.get(random.nextInt(bookers.size())), null);
+            case CREATE_COMMENT:
+                Map.Entry<SeededItem, Long> rented = commentableItems.get(random.nextInt(commentableItems.size()));
+                return api.send("POST", "/items/" + rented.getKey().getId() + "/comment", rented.getValue(),
+                        Map.of("text", "Good " + rented.getKey().getWord() + ", would rent again"));
+            default:
+                throw new IllegalArgumentException("Unsupported endpoint: " + endpoint);
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> createBooking(Random random) {
+        SeededItem item = items.get(random.nextInt(items.size()));
+
+        return api.send("POST", "/bookings", bookers.get(random.nextInt(bookers.size())), nextBooking(item))
+                .thenApply(response -> {
+                    if (ShareItApi.isSuccessful(response.statusCode())) {
+                        waitingBookings.add(new long[]{api.read(response.body()).get("id").asLong(),
+                                item.getOwnerId()});
+                    }
+
+                    return response;
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> approveBooking() {
+        long[] booking = waitingBookings.poll();
+
+        return booking == null ? null : api.send("PATCH", "/bookings/" + booking[0] + "?approved=true", booking[1],
+                null);
+    }
+
+    private Map<String, Object> nextBooking(SeededItem item) {
+        LocalDateTime start = firstSlot.plus(SLOT_LENGTH.multipliedBy(nextSlot.getAndIncrement()));
+
+        return Map.of("itemId", item.getId(), "start", start.toString(),
+                "end", start.plus(SLOT_LENGTH).minusMinutes(1).toString());
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.load.data;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchInserter implements AutoCloseable {
+    final Connection connection;
+
+    @Getter
+    final PreparedStatement statement;
+
+    final int batchSize;
+
+    final boolean returnsIds;
+
+    long[] ids = new long[0];
+
+    int pending;
+
+    @Getter
+    long inserted;
+
+    private BatchInserter(Connection connection, String sql, int batchSize, boolean returnsIds) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.returnsIds = returnsIds;
+        statement = returnsIds ? connection.prepareStatement(sql, new String[]{"id"})
+                : connection.prepareStatement(sql);
+    }
+
+    public static BatchInserter of(Connection connection, String sql, int batchSize) throws SQLException {
+        return new BatchInserter(connection, sql, batchSize, false);
+    }
+
+    public static BatchInserter returningIds(Connection connection, String sql, int batchSize) throws SQLException {
+        return new BatchInserter(connection, sql, batchSize, true);
+    }
+
+    public void add() throws SQLException {
+        statement.addBatch();
+
+        if (++pending == batchSize) {
+            flush();
+        }
+    }
+
+    public long[] getIds() {
+        return Arrays.copyOf(ids, (int) inserted);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            statement.close();
+        }
+    }
+
+    public void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+
+        statement.executeBatch();
+
+        if (returnsIds) {
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                int read = 0;
+
+                while (keys.next()) {
+                    if (inserted + read == ids.length) {
+                        ids = Arrays.copyOf(ids, Math.max(batchSize, ids.length * 2));
+                    }
+
+                    ids[(int) inserted + read++] = keys.getLong(1);
+                }
+
+                if (read != pending) {
+                    throw new SQLException("Expected " + pending + " generated ids, got " + read);
+                }
+            }
+        }
+
+        connection.commit();
+        inserted += pending;
+        pending = 0;
+    }
+}
@@ -0,0 +1,234 @@
+package ru.practicum.shareit.load.data;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DataGenerator {
+    static final String[] NOUNS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "projector", "camera",
+            "mixer", "sleeping bag", "screwdriver", "tripod", "snowboard", "stroller", "generator", "guitar", "grill"};
+
+    static final String[] ADJECTIVES = {"cordless", "compact", "professional", "old", "new", "heavy", "folding",
+            "electric", "kids", "travel", "waterproof", "vintage"};
+
+    static final String[] REVIEWS = {"Works perfectly", "Owner was very helpful", "A bit worn but does the job",
+            "Exactly as described", "Would rent again", "Battery did not last long", "Great value"};
+
+    static final Duration HISTORY = Duration.ofDays(2 * 365);
+
+    static final Duration HORIZON = Duration.ofDays(180);
+
+    DataGeneratorOptions options;
+
+    PrintStream log;
+
+    public static void main(String... args) throws IOException, SQLException {
+        DataGeneratorOptions options = DataGeneratorOptions.parse(args);
+
+        try (Connection connection = DriverManager.getConnection(options.getJdbcUrl(), options.getJdbcUser(),
+                options.getJdbcPassword())) {
+            new DataGenerator(options, System.out).generate(connection);
+        }
+    }
+
+    public void generate(Connection connection) throws IOException, SQLException {
+        for (Path schema : options.getSchemas()) {
+            SqlScript.execute(connection, schema);
+        }
+
+        connection.setAutoCommit(false);
+
+        Random random = new Random(options.getRandomSeed());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        long[] userIds = insertUsers(connection);
+        long[] ownerIds = Arrays.copyOfRange(userIds, 0, options.getOwners());
+        long[] bookerIds = Arrays.copyOfRange(userIds, options.getOwners(), userIds.length);
+        ZipfDistribution bookerActivity = new ZipfDistribution(bookerIds.length, options.getZipfExponent(), random);
+
+        long[] requestIds = insertRequests(connection, random, now, bookerIds, bookerActivity);
+        long[] itemIds = insertItems(connection, random, ownerIds, requestIds);
+        ZipfDistribution itemPopularity = new ZipfDistribution(itemIds.length, options.getZipfExponent(), random);
+
+        insertBookingsAndComments(connection, random, now, itemIds, bookerIds, itemPopularity, bookerActivity);
+    }
+
+    private long[] insertUsers(Connection connection) throws SQLException {
+        long started = System.nanoTime();
+        String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+        try (BatchInserter users = BatchInserter.returningIds(connection,
+                "INSERT INTO users (name, email) VALUES (?, ?)", options.getBatchSize())) {
+            PreparedStatement statement = users.getStatement();
+
+            for (int i = 0; i < options.getUsers(); i++) {
+                statement.setString(1, (i < options.getOwners() ? "Owner " : "User ") + i);
+                statement.setString(2, "gen-" + run + "-" + i + "@shareit.ru");
+                users.add();
+            }
+
+            users.flush();
+            report("users", users.getInserted(), started);
+
+            return users.getIds();
+        }
+    }
+
+    private long[] insertRequests(Connection connection, Random random, LocalDateTime now, long[] bookerIds,
+                                  ZipfDistribution bookerActivity) throws SQLException {
+        long started = System.nanoTime();
+
+        try (BatchInserter requests = BatchInserter.returningIds(connection,
+                "INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                options.getBatchSize())) {
+            PreparedStatement statement = requests.getStatement();
+
+            for (int i = 0; i < options.getRequests(); i++) {
+                statement.setString(1, "Looking for a " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS));
+                statement.setLong(2, bookerIds[bookerActivity.sample(random)]);
+                statement.setTimestamp(3, Timestamp.valueOf(now.minusSeconds(randomSeconds(random, HISTORY))));
+                requests.add();
+            }
+
+            requests.flush();
+            report("requests", requests.getInserted(), started);
+
+            return requests.getIds();
+        }
+    }
+
+    private long[] insertItems(Connection connection, Random random, long[] ownerIds, long[] requestIds)
+            throws SQLException {
+        long started = System.nanoTime();
+        ZipfDistribution ownerCatalogs = new ZipfDistribution(ownerIds.length, options.getZipfExponent(), random);
+
+        try (BatchInserter items = BatchInserter.returningIds(connection,
+                "INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)",
+                options.getBatchSize())) {
+            PreparedStatement statement = items.getStatement();
+
+            for (int i = 0; i < options.getItems(); i++) {
+                String noun = pick(random, NOUNS);
+                statement.setString(1, pick(random, ADJECTIVES) + " " + noun);
+                statement.setString(2, "For rent: " + pick(random, ADJECTIVES) + " " + noun + ", item " + i);
+                statement.setBoolean(3, random.nextInt(10) != 0);
+                statement.setLong(4, ownerIds[ownerCatalogs.sample(random)]);
+
+                if (requestIds.length > 0 && random.nextInt(20) == 0) {
+                    statement.setLong(5, requestIds[random.nextInt(requestIds.length)]);
+                } else {
+                    statement.setObject(5, null);
+                }
+
+                items.add();
+            }
+
+            items.flush();
+            report("items", items.getInserted(), started);
+
+            return items.getIds();
+        }
+    }
+
+    private void insertBookingsAndComments(Connection connection, Random random, LocalDateTime now, long[] itemIds,
+                                           long[] bookerIds, ZipfDistribution itemPopularity,
+                                           ZipfDistribution bookerActivity) throws SQLException {
+        long started = System.nanoTime();
+        int[] bookingItems = new int[options.getBookings()];
+        int[] bookingsPerItem = new int[itemIds.length];
+
+        for (int i = 0; i < bookingItems.length; i++) {
+            bookingItems[i] = itemPopularity.sample(random);
+            bookingsPerItem[bookingItems[i]]++;
+        }
+
+        long nowSeconds = now.toEpochSecond(ZoneOffset.UTC);
+        long windowStart = nowSeconds - HISTORY.toSeconds();
+        long windowSeconds = HISTORY.plus(HORIZON).toSeconds();
+        int[] placedPerItem = new int[itemIds.length];
+
+        try (BatchInserter bookings = BatchInserter.of(connection, "INSERT INTO bookings "
+                + "(start_date, end_date, item_id, booker_id, status) VALUES (?, ?, ?, ?, ?)", options.getBatchSize());
+             BatchInserter comments = BatchInserter.of(connection,
+                     "INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                     options.getBatchSize())) {
+            for (int item : bookingItems) {
+                long slot = Math.max(4, windowSeconds / bookingsPerItem[item]);
+                long slotStart = windowStart + slot * placedPerItem[item]++;
+                long start = slotStart + (long) (random.nextDouble() * (slot / 4));
+                long end = slotStart + slot / 4 + 1 + (long) (random.nextDouble() * (slot / 2));
+                long bookerId = bookerIds[bookerActivity.sample(random)];
+                String status = status(random, start, end, nowSeconds);
+
+                PreparedStatement booking = bookings.getStatement();
+                booking.setTimestamp(1, timestamp(start));
+                booking.setTimestamp(2, timestamp(end));
+                booking.setLong(3, itemIds[item]);
+                booking.setLong(4, bookerId);
+                booking.setString(5, status);
+                bookings.add();
+
+                if (end < nowSeconds && "APPROVED".equals(status) && random.nextDouble() < options.getCommentShare()) {
+                    PreparedStatement comment = comments.getStatement();
+                    comment.setString(1, pick(random, REVIEWS));
+                    comment.setLong(2, itemIds[item]);
+                    comment.setLong(3, bookerId);
+                    comment.setTimestamp(4, timestamp(Math.min(nowSeconds,
+                            end + (long) (random.nextDouble() * Duration.ofDays(7).toSeconds()))));
+                    comments.add();
+                }
+            }
+
+            bookings.flush();
+            comments.flush();
+            report("bookings", bookings.getInserted(), started);
+            report("comments", comments.getInserted(), started);
+        }
+    }
+
+    private static String status(Random random, long start, long end, long now) {
+        int roll = random.nextInt(100);
+
+        if (end <= now) {
+            return roll < 80 ? "APPROVED" : roll < 92 ? "REJECTED" : "CANCELED";
+        }
+
+        if (start <= now) {
+            return "APPROVED";
+        }
+
+        return roll < 35 ? "WAITING" : roll < 90 ? "APPROVED" : roll < 96 ? "REJECTED" : "CANCELED";
+    }
+
+    private static Timestamp timestamp(long epochSeconds) {
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC));
+    }
+
+    private static long randomSeconds(Random random, Duration bound) {
+        return (long) (random.nextDouble() * bound.toSeconds());
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private void report(String table, long rows, long startedNanos) {
+        log.printf("Inserted %,d %s in %.1f s%n", rows, table, (System.nanoTime() - startedNanos) / 1e9);
+    }
+}
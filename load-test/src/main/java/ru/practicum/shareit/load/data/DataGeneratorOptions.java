@@ -0,0 +1,109 @@
+package ru.practicum.shareit.load.data;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DataGeneratorOptions {
+    String jdbcUrl = "jdbc:h2:file:./load-test/target/data/shareit";
+
+    String jdbcUser = "test";
+
+    String jdbcPassword = "test";
+
+    List<Path> schemas = List.of(Path.of("server", "src", "main", "resources", "schema.sql"));
+
+    int users = 100_000;
+
+    int owners = 2_000;
+
+    int requests = 20_000;
+
+    int items = 200_000;
+
+    int bookings = 2_000_000;
+
+    double commentShare = 0.2;
+
+    double zipfExponent = 1.0;
+
+    int batchSize = 1_000;
+
+    long randomSeed = 42;
+
+    public static DataGeneratorOptions parse(String... args) {
+        DataGeneratorOptions options = new DataGeneratorOptions();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            switch (name) {
+                case "jdbc-url":
+                    options.jdbcUrl = value;
+                    break;
+                case "jdbc-user":
+                    options.jdbcUser = value;
+                    break;
+                case "jdbc-password":
+                    options.jdbcPassword = value;
+                    break;
+                case "schema":
+                    options.schemas = Arrays.stream(value.split(",")).filter(path -> !path.isBlank())
+                            .map(path -> Path.of(path.trim())).collect(Collectors.toList());
+                    break;
+                case "users":
+                    options.users = Integer.parseInt(value);
+                    break;
+                case "owners":
+                    options.owners = Integer.parseInt(value);
+                    break;
+                case "requests":
+                    options.requests = Integer.parseInt(value);
+                    break;
+                case "items":
+                    options.items = Integer.parseInt(value);
+                    break;
+                case "bookings":
+                    options.bookings = Integer.parseInt(value);
+                    break;
+                case "comment-share":
+                    options.commentShare = Double.parseDouble(value);
+                    break;
+                case "zipf-exponent":
+                    options.zipfExponent = Double.parseDouble(value);
+                    break;
+                case "batch-size":
+                    options.batchSize = Integer.parseInt(value);
+                    break;
+                case "random-seed":
+                    options.randomSeed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        if (options.owners < 1 || options.owners >= options.users) {
+            throw new IllegalArgumentException("Owners must be at least one and fewer than users");
+        }
+
+        if (options.items < 1 || options.requests < 0 || options.bookings < 0 || options.batchSize < 1) {
+            throw new IllegalArgumentException("Items and batch size must be positive, counts must not be negative");
+        }
+
+        return options;
+    }
+}
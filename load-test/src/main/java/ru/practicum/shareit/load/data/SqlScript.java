@@ -0,0 +1,52 @@
+package ru.practicum.shareit.load.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SqlScript {
+    private SqlScript() {
+    }
+
+    public static void execute(Connection connection, Path script) throws IOException, SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : split(Files.readString(script))) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (char c : script.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+
+            if (c == ';' && !quoted) {
+                addIfNotBlank(statements, current);
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        addIfNotBlank(statements, current);
+
+        return statements;
+    }
+
+    private static void addIfNotBlank(List<String> statements, StringBuilder statement) {
+        if (!statement.toString().isBlank()) {
+            statements.add(statement.toString().trim());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.load.data;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import java.util.Arrays;
+import java.util.Random;
+
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ZipfDistribution {
+    double[] cumulativeProbabilities;
+
+    int[] indexByRank;
+
+    public ZipfDistribution(int size, double exponent, Random random) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one element");
+        }
+
+        cumulativeProbabilities = new double[size];
+        double total = 0;
+
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = total;
+        }
+
+        for (int rank = 0; rank < size; rank++) {
+            cumulativeProbabilities[rank] /= total;
+        }
+
+        indexByRank = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            indexByRank[i] = indexByRank[j];
+            indexByRank[j] = i;
+        }
+    }
+
+    public int sample(Random random) {
+        int rank = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+
+        return indexByRank[Math.min(rank < 0 ? -rank - 1 : rank, indexByRank.length - 1)];
+    }
+
+    public int indexOfRank(int rank) {
+        return indexByRank[rank];
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+import java.nio.file.Path;
+import java.time.Duration;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadTestOptionsTest {
+    @Test
+    void parse_withoutArguments_shouldLaunchStackWithDefaults() {
+        LoadTestOptions options = LoadTestOptions.parse();
+
+        assertThat(options.getGatewayUrl(), nullValue());
+        assertThat(options.getServerJar(), equalTo(Path.of("server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar")));
+        assertThat(options.getDuration(), equalTo(Duration.ofSeconds(60)));
+        assertThat(options.getMix().getEndpoints(), hasSize(Endpoint.values().length));
+    }
+
+    @Test
+    void parse_withArguments_shouldOverrideDefaults() {
+        LoadTestOptions options = LoadTestOptions.parse("--gateway-url=http://localhost:8080", "--users=10",
+                "--rate=250.5", "--duration=2m", "--warmup=0s", "--mix=search=1");
+
+        assertThat(options.getGatewayUrl(), equalTo("http://localhost:8080"));
+        assertThat(options.getUsers(), equalTo(10));
+        assertThat(options.getRate(), equalTo(250.5));
+        assertThat(options.getDuration(), equalTo(Duration.ofMinutes(2)));
+        assertThat(options.getWarmup(), equalTo(Duration.ZERO));
+        assertThat(options.getMix().getEndpoints(), contains(Endpoint.SEARCH_ITEMS));
+    }
+
+    @Test
+    void parse_withInvalidArguments_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("users=10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--threads=10"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--users=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("--rate=0"));
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.load;
+
+import org.junit.jupiter.api.Test;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OperationMixTest {
+    @Test
+    void parse_withWeights_shouldKeepPositiveEndpointsWithShares() {
+        OperationMix mix = OperationMix.parse("createBooking=1, search=3, comment=0");
+
+        assertThat(mix.getEndpoints(), equalTo(List.of(Endpoint.CREATE_BOOKING, Endpoint.SEARCH_ITEMS)));
+        assertThat(mix.shareOf(Endpoint.CREATE_BOOKING), equalTo(0.25));
+        assertThat(mix.shareOf(Endpoint.SEARCH_ITEMS), equalTo(0.75));
+        assertThat(mix.shareOf(Endpoint.CREATE_COMMENT), equalTo(0.0));
+    }
+
+    @Test
+    void parse_withUnknownEndpointOrNoPositiveWeight_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("delete=1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("search"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("search=-1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("search=0"));
+    }
+
+    @Test
+    void next_shouldFollowWeights() {
+        OperationMix mix = OperationMix.parse("approve=1,ownerBookings=4");
+        Random random = new Random(1);
+        Map<Endpoint, Integer> counts = new EnumMap<>(Endpoint.class);
+
+        for (int i = 0; i < 10000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertThat(counts.keySet(), containsInAnyOrder(Endpoint.APPROVE_BOOKING, Endpoint.OWNER_BOOKINGS));
+        assertThat(counts.get(Endpoint.OWNER_BOOKINGS), allOf(greaterThan(7700), lessThan(8300)));
+    }
+}
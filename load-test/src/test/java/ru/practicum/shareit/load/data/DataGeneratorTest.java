@@ -0,0 +1,49 @@
+package ru.practicum.shareit.load.data;
+
+import org.junit.jupiter.api.Test;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class DataGeneratorTest {
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    @Test
+    void generate_withH2_shouldLoadSkewedConsistentDataIntoSchemaTables() throws Exception {
+        DataGeneratorOptions options = DataGeneratorOptions.parse("--schema=../server/src/main/resources/schema.sql",
+                "--users=200", "--owners=20", "--requests=50", "--items=500", "--bookings=5000", "--batch-size=64");
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:generator", "test", "test")) {
+            new DataGenerator(options, new PrintStream(OutputStream.nullOutputStream())).generate(connection);
+
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM users"), equalTo(200L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM requests"), equalTo(50L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM items"), equalTo(500L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM bookings"), equalTo(5000L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM comments"), greaterThan(0L));
+            assertThat(queryLong(connection, "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM bookings GROUP BY item_id)"),
+                    greaterThan(500L));
+            assertThat(queryLong(connection, "SELECT MAX(c) FROM (SELECT COUNT(*) c FROM items GROUP BY owner_id)"),
+                    greaterThan(100L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM items i JOIN bookings b ON b.item_id = i.id "
+                    + "WHERE b.booker_id = i.owner_id"), equalTo(0L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM bookings a JOIN bookings b ON a.item_id = b.item_id "
+                    + "AND a.id < b.id AND a.start_date < b.end_date AND b.start_date < a.end_date "
+                    + "WHERE a.status = 'APPROVED' AND b.status = 'APPROVED'"), equalTo(0L));
+            assertThat(queryLong(connection, "SELECT COUNT(*) FROM comments c WHERE NOT EXISTS (SELECT 1 FROM "
+                    + "bookings b WHERE b.item_id = c.item_id AND b.booker_id = c.author_id AND b.status = 'APPROVED' "
+                    + "AND b.end_date <= c.created)"), equalTo(0L));
+        }
+    }
+}
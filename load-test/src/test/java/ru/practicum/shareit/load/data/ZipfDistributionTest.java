@@ -0,0 +1,32 @@
+package ru.practicum.shareit.load.data;
+
+import org.junit.jupiter.api.Test;
+import java.util.Random;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZipfDistributionTest {
+    @Test
+    void sample_shouldFollowZipfFrequenciesOverShuffledIndexes() {
+        Random random = new Random(7);
+        ZipfDistribution distribution = new ZipfDistribution(100, 1.0, random);
+        int[] counts = new int[100];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        int top = counts[distribution.indexOfRank(0)];
+        int second = counts[distribution.indexOfRank(1)];
+
+        assertThat(top, allOf(greaterThan(18_000), lessThan(20_500)));
+        assertThat((double) second / top, closeTo(0.5, 0.05));
+        assertThat(counts[distribution.indexOfRank(99)], lessThan(top / 50));
+    }
+
+    @Test
+    void create_withoutElements_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0, new Random()));
+    }
+}
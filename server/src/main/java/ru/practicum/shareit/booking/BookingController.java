@@ -6,11 +6,14 @@ import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingDtoToClient;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
+import ru.practicum.shareit.support.PageSizeLimit;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +27,8 @@ public class BookingController {
 
     BookingService service;
 
+    PageSizeLimit pageSizeLimit;
+
     @PostMapping
     public ResponseEntity<BookingDtoToClient> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @RequestBody BookingDtoFromClient inDto) {
@@ -40,7 +45,7 @@ public class BookingController {
                                                                  @RequestParam(value = "size", required = false)
                                                                  Integer size,
                                                                  @RequestParam(value = "state") BookingState state) {
-        List<BookingDtoToClient> dtoList = service.readByBooker(userId, state, from, size);
+        List<BookingDtoToClient> dtoList = service.readByBooker(userId, state, from, pageSizeLimit.apply(size));
         log.info("{} ({}, {}): {}", messageSource.get("booking.BookingController.readByBooker"), userId, state,
                 dtoList.stream().map(BookingDtoToClient::getId).collect(Collectors.toList()));
         return ResponseEntity.ok(dtoList);
@@ -54,16 +59,49 @@ public class BookingController {
                                                                 @RequestParam(value = "size", required = false)
                                                                 Integer size,
                                                                 @RequestParam(value = "state") BookingState state) {
-        List<BookingDtoToClient> dtoList = service.readByOwner(userId, state, from, size);
+        List<BookingDtoToClient> dtoList = service.readByOwner(userId, state, from, pageSizeLimit.apply(size));
         log.info("{} ({}, {}): {}", messageSource.get("booking.BookingController.readByOwner"), userId, state,
                 dtoList.stream().map(BookingDtoToClient::getId).collect(Collectors.toList()));
         return ResponseEntity.ok(dtoList);
     }
 
+    @GetMapping(params = "after")
+    public ResponseEntity<BookingSliceDto> readByBookerAfter(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(value = "after") String after,
+                                                             @RequestParam(value = "size", required = false)
+                                                             Integer size,
+                                                             @RequestParam(value = "state") BookingState state) {
+        BookingSliceDto slice = service.readByBookerAfter(userId, state, after, pageSizeLimit.apply(size));
+        log.info("{} ({}, {}): {}, {}", messageSource.get("booking.BookingController.readByBooker"), userId, state,
+                slice.getContent().stream().map(BookingDtoToClient::getId).collect(Collectors.toList()),
+                slice.getNext());
+        return ResponseEntity.ok(slice);
+    }
+
+    @GetMapping(value = "/owner", params = "after")
+    public ResponseEntity<BookingSliceDto> readByOwnerAfter(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(value = "after") String after,
+                                                            @RequestParam(value = "size", required = false)
+                                                            Integer size,
+                                                            @RequestParam(value = "state") BookingState state) {
+        BookingSliceDto slice = service.readByOwnerAfter(userId, state, after, pageSizeLimit.apply(size));
+        log.info("{} ({}, {}): {}, {}", messageSource.get("booking.BookingController.readByOwner"), userId, state,
+                slice.getContent().stream().map(BookingDtoToClient::getId).collect(Collectors.toList()),
+                slice.getNext());
+        return ResponseEntity.ok(slice);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<BookingDtoToClient> readById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @PathVariable Long id) {
-        BookingDtoToClient dto = service.readById(id, userId);
+                                                       @PathVariable Long id,
+                                                       WebRequest request) {
+        BookingDtoToClient dto = service.readById(id, userId, request::checkNotModified);
+
+        if (dto == null) {
+            log.info("{}: {}", messageSource.get("controller.notModified"), id);
+            return null;
+        }
+
         log.info("{}: {}", messageSource.get("booking.BookingController.readById"), dto);
         return ResponseEntity.ok(dto);
     }
@@ -2,52 +2,121 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository  extends JpaRepository<Booking, Long> {
+    String LIST_ENTRY_SELECT = "SELECT new ru.practicum.shareit.booking.model.BookingListEntry(b.id, b.start, " +
+            "b.end, b.status, i.id, i.name, b.booker.id) FROM Booking b JOIN b.item i ";
+
+    @EntityGraph("Booking.item")
+    Optional<Booking> findWithItemById(Long id);
+
     @Query("SELECT COUNT(b.id) FROM Booking b WHERE b.item.id = ?1 AND b.status = ?2 AND (b.start < ?3 " +
             "AND b.end > ?3 OR b.start >= ?3 AND b.start < ?4)")
     Long getApprovedBookingsCountInPeriodForItem(Long itemId, BookingStatus status, LocalDateTime start,
                                                  LocalDateTime end);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND b.start < CURRENT_TIMESTAMP " +
+    List<BookingPeriod> findByItem_IdAndStatus(Long itemId, BookingStatus status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id = ?1 AND b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING " +
+            "AND NOT EXISTS (SELECT o.id FROM Booking o WHERE o.item.id = b.item.id " +
+            "AND o.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "AND o.start < b.end AND o.end > b.start)")
+    int approveIfWaitingAndNotReserved(Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ru.practicum.shareit.booking.model.BookingStatus.REJECTED, " +
+            "b.version = b.version + 1 " +
+            "WHERE b.id = ?1 AND b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int rejectIfWaiting(Long id);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.start < CURRENT_TIMESTAMP " +
             "AND b.end > CURRENT_TIMESTAMP")
-    Page<Booking> findCurrentForBooker(Long bookerId, Pageable pageable);
+    Page<BookingListEntry> findCurrentForBooker(Long bookerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND b.end < CURRENT_TIMESTAMP")
-    Page<Booking> findPastForBooker(Long bookerId, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.end < CURRENT_TIMESTAMP")
+    Page<BookingListEntry> findPastForBooker(Long bookerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND b.start > CURRENT_TIMESTAMP")
-    Page<Booking> findFutureForBooker(Long bookerId, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.start > CURRENT_TIMESTAMP")
+    Page<BookingListEntry> findFutureForBooker(Long bookerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1 AND b.status = ?2")
-    Page<Booking> findByStatusForBooker(Long bookerId, BookingStatus status, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.status = ?2")
+    Page<BookingListEntry> findByStatusForBooker(Long bookerId, BookingStatus status, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = ?1")
-    Page<Booking> findAllForBooker(Long bookerId, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1")
+    Page<BookingListEntry> findAllForBooker(Long bookerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND b.start < CURRENT_TIMESTAMP " +
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.start < CURRENT_TIMESTAMP " +
             "AND b.end > CURRENT_TIMESTAMP")
-    Page<Booking> findCurrentForOwner(Long ownerId, Pageable pageable);
+    Page<BookingListEntry> findCurrentForOwner(Long ownerId, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.end < CURRENT_TIMESTAMP")
+    Page<BookingListEntry> findPastForOwner(Long ownerId, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.start > CURRENT_TIMESTAMP")
+    Page<BookingListEntry> findFutureForOwner(Long ownerId, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.status = ?2")
+    Page<BookingListEntry> findByStatusForOwner(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1")
+    Page<BookingListEntry> findAllForOwner(Long ownerId, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND b.end < CURRENT_TIMESTAMP")
-    Page<Booking> findPastForOwner(Long ownerId, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.start < CURRENT_TIMESTAMP " +
+            "AND b.end > CURRENT_TIMESTAMP AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findCurrentForBookerAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND b.start > CURRENT_TIMESTAMP")
-    Page<Booking> findFutureForOwner(Long ownerId, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.end < CURRENT_TIMESTAMP " +
+            "AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findPastForBookerAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1 AND b.status = ?2")
-    Page<Booking> findByStatusForOwner(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.start > CURRENT_TIMESTAMP " +
+            "AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findFutureForBookerAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
 
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = ?1")
-    Page<Booking> findAllForOwner(Long ownerId, Pageable pageable);
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND b.status = ?2 " +
+            "AND (b.start < ?3 OR b.start = ?3 AND b.id < ?4)")
+    List<BookingListEntry> findByStatusForBookerAfter(Long bookerId, BookingStatus status, LocalDateTime start,
+                                                      Long id, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE b.booker.id = ?1 AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findAllForBookerAfter(Long bookerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.start < CURRENT_TIMESTAMP " +
+            "AND b.end > CURRENT_TIMESTAMP AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findCurrentForOwnerAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.end < CURRENT_TIMESTAMP " +
+            "AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findPastForOwnerAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.start > CURRENT_TIMESTAMP " +
+            "AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findFutureForOwnerAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND b.status = ?2 " +
+            "AND (b.start < ?3 OR b.start = ?3 AND b.id < ?4)")
+    List<BookingListEntry> findByStatusForOwnerAfter(Long ownerId, BookingStatus status, LocalDateTime start,
+                                                     Long id, Pageable pageable);
+
+    @Query(LIST_ENTRY_SELECT + "WHERE i.owner.id = ?1 AND (b.start < ?2 OR b.start = ?2 AND b.id < ?3)")
+    List<BookingListEntry> findAllForOwnerAfter(Long ownerId, LocalDateTime start, Long id, Pageable pageable);
 
     // Пример использования запросных методов
     // Получение последнего бронирования вещи
@@ -57,6 +126,14 @@ public interface BookingRepository  extends JpaRepository<Booking, Long> {
     // Получение ближайшего следующего бронирования вещи
     Optional<Booking> findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(Long itemId, LocalDateTime start);
 
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN ?1 AND b.end = (SELECT MAX(l.end) " +
+            "FROM Booking l WHERE l.item.id = b.item.id AND l.end < ?2)")
+    List<Booking> findLastForItems(Collection<Long> itemIds, LocalDateTime end);
+
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN ?1 AND b.start = (SELECT MIN(n.start) " +
+            "FROM Booking n WHERE n.item.id = b.item.id AND n.start > ?2)")
+    List<Booking> findNextForItems(Collection<Long> itemIds, LocalDateTime start);
+
     @Query("SELECT COUNT(b.id) FROM Booking b WHERE b.item.id = ?1 AND b.booker.id = ?2 " +
             "AND b.start < CURRENT_TIMESTAMP AND b.status = ?3")
     Long getItemBookingsCountForBooker(Long itemId, Long bookerId, BookingStatus status);
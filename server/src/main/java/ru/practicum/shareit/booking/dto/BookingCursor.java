@@ -0,0 +1,61 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.booking.model.BookingListEntry;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingCursor {
+    private static final String SEPARATOR = "_";
+
+    private static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            Long.MAX_VALUE);
+
+    LocalDateTime start;
+
+    Long id;
+
+    public static BookingCursor first() {
+        return FIRST;
+    }
+
+    public static BookingCursor of(BookingListEntry booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8)
+                    .split(SEPARATOR, -1);
+
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + value);
+            }
+
+            return new BookingCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + value, e);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
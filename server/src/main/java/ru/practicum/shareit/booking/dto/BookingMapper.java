@@ -3,15 +3,22 @@ package ru.practicum.shareit.booking.dto;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
 import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface BookingMapper {
-    List<BookingDtoToClient> toDtoList(List<Booking> entity);
+    List<BookingDtoToClient> toDtoList(List<BookingListEntry> entries);
 
     BookingDtoToClient toDto(Booking entity);
 
+    @Mapping(target = "item.id", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    @Mapping(target = "booker.id", source = "bookerId")
+    BookingDtoToClient entryToDto(BookingListEntry entry);
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "item", ignore = true)
     @Mapping(target = "booker", ignore = true)
     @Mapping(target = "status", ignore = true)
@@ -10,6 +10,7 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.item", attributeNodes = @NamedAttributeNode("item"))
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -18,17 +19,21 @@ public class Booking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     Long id;
 
+    @Version
+    @Column(nullable = false)
+    long version;
+
     @Column(nullable = false, name = "start_date")
     LocalDateTime start;
 
     @Column(nullable = false, name = "end_date")
     LocalDateTime end;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(nullable = false, updatable = false)
     Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(nullable = false, updatable = false)
     User booker;
 
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BookingListEntry {
+    Long id;
+
+    LocalDateTime start;
+
+    LocalDateTime end;
+
+    BookingStatus status;
+
+    Long itemId;
+
+    String itemName;
+
+    Long bookerId;
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+public interface BookingPeriod {
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.support.IntervalTree;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ApprovedBookingsIndex {
+    BookingRepository repository;
+
+    boolean enabled;
+
+    int maxItems;
+
+    ConcurrentMap<Long, IntervalTree<LocalDateTime>> items = new ConcurrentHashMap<>();
+
+    public ApprovedBookingsIndex(BookingRepository repository,
+                                 @Value("${shareit-server.booking-index.enabled}") boolean enabled,
+                                 @Value("${shareit-server.booking-index.max-items}") int maxItems) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.maxItems = maxItems;
+    }
+
+    public boolean isReserved(Long itemId, LocalDateTime start, LocalDateTime end) {
+        IntervalTree<LocalDateTime> tree = enabled ? items.get(itemId) : null;
+
+        if (tree == null && enabled && items.size() < maxItems) {
+            // Загрузка внутри computeIfAbsent намеренна: addApproved для этой вещи ждёт её окончания и не теряет
+            // бронирование, одобренное во время загрузки. Блокируются лишь ключи той же корзины и только на один
+            // индексированный запрос при первом обращении к вещи.
+            tree = items.computeIfAbsent(itemId, this::load);
+        }
+
+        if (tree == null) {
+            return repository.getApprovedBookingsCountInPeriodForItem(itemId, BookingStatus.APPROVED, start, end) > 0;
+        }
+
+        synchronized (tree) {
+            return tree.overlaps(start, end);
+        }
+    }
+
+    public void addApproved(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+
+        items.computeIfPresent(booking.getItem().getId(), (itemId, tree) -> {
+            synchronized (tree) {
+                tree.add(booking.getId(), booking.getStart(), booking.getEnd());
+            }
+            return tree;
+        });
+    }
+
+    public void clear() {
+        items.clear();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private IntervalTree<LocalDateTime> load(Long itemId) {
+        IntervalTree<LocalDateTime> tree = new IntervalTree<>();
+
+        for (BookingPeriod period : repository.findByItem_IdAndStatus(itemId, BookingStatus.APPROVED)) {
+            tree.add(period.getId(), period.getStart(), period.getEnd());
+        }
+
+        return tree;
+    }
+}
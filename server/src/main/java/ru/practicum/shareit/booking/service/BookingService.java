@@ -2,9 +2,11 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingDtoToClient;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface BookingService {
     BookingDtoToClient create(Long bookerId, BookingDtoFromClient bookingDtoFromClient);
@@ -13,7 +15,13 @@ public interface BookingService {
 
     List<BookingDtoToClient> readByOwner(Long ownerId, BookingState state, Integer from, Integer size);
 
+    BookingSliceDto readByBookerAfter(Long bookerId, BookingState state, String after, Integer size);
+
+    BookingSliceDto readByOwnerAfter(Long ownerId, BookingState state, String after, Integer size);
+
     BookingDtoToClient readById(Long id, Long userId);
 
+    BookingDtoToClient readById(Long id, Long userId, Predicate<String> notModified);
+
     BookingDtoToClient approve(Long id, Long bookerId, boolean approved);
 }
\ No newline at end of file
@@ -4,16 +4,24 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingDtoToClient;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.support.AfterCommit;
+import ru.practicum.shareit.support.ConstraintChecker;
+import ru.practicum.shareit.support.ETag;
 import ru.practicum.shareit.support.OffsetPageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.exception.BadRequestException;
@@ -24,8 +32,10 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Predicate;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class BookingServiceImpl implements BookingService {
@@ -39,9 +49,11 @@ public class BookingServiceImpl implements BookingService {
 
     BookingMapper mapper;
 
+    ApprovedBookingsIndex approvedBookingsIndex;
+
     private void checkCreatingBooking(BookingDtoFromClient bookingDtoFromClient) {
-        if (repository.getApprovedBookingsCountInPeriodForItem(bookingDtoFromClient.getItemId(),
-                BookingStatus.APPROVED, bookingDtoFromClient.getStart(), bookingDtoFromClient.getEnd()) > 0) {
+        if (approvedBookingsIndex.isReserved(bookingDtoFromClient.getItemId(), bookingDtoFromClient.getStart(),
+                bookingDtoFromClient.getEnd())) {
             throw new BadRequestException("item", messageSource.get("booking.BookingService.itemIsReserved") + ": "
                     + bookingDtoFromClient.getItemId() + " " + bookingDtoFromClient.getStart() + " "
                     + bookingDtoFromClient.getEnd());
@@ -55,6 +67,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional
     public BookingDtoToClient create(Long bookerId, BookingDtoFromClient bookingDtoFromClient) {
         checkCreatingBooking(bookingDtoFromClient);
 
@@ -88,7 +101,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDtoToClient> readByBooker(Long bookerId, BookingState state, Integer from, Integer size) {
-        Page<Booking> entities;
+        Page<BookingListEntry> entities;
         Pageable pageable = OffsetPageRequest.ofOffset(from, size, Sort.by("start").descending());
 
         switch (state) {
@@ -120,7 +133,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingDtoToClient> readByOwner(Long ownerId, BookingState state, Integer from, Integer size) {
-        Page<Booking> entities;
+        Page<BookingListEntry> entities;
         Pageable pageable = OffsetPageRequest.ofOffset(from, size, Sort.by("start").descending());
 
         switch (state) {
@@ -150,9 +163,101 @@ public class BookingServiceImpl implements BookingService {
         return mapper.toDtoList(entities.getContent());
     }
 
+    private BookingCursor decodeCursor(String after) {
+        try {
+            return BookingCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("after", messageSource.get("booking.BookingService.invalidCursor") + ": "
+                    + after);
+        }
+    }
+
+    private Pageable keysetPageable(Integer size) {
+        return PageRequest.of(0, size == null ? Integer.MAX_VALUE : size + 1,
+                Sort.by(Sort.Direction.DESC, "start", "id"));
+    }
+
+    private BookingSliceDto toSlice(List<BookingListEntry> entities, Integer size) {
+        if (size == null || entities.size() <= size) {
+            return new BookingSliceDto(mapper.toDtoList(entities), null);
+        }
+
+        List<BookingListEntry> content = entities.subList(0, size);
+
+        return new BookingSliceDto(mapper.toDtoList(content), BookingCursor.of(content.get(size - 1)).encode());
+    }
+
+    @Override
+    public BookingSliceDto readByBookerAfter(Long bookerId, BookingState state, String after, Integer size) {
+        List<BookingListEntry> entities;
+        BookingCursor cursor = decodeCursor(after);
+        Pageable pageable = keysetPageable(size);
+
+        switch (state) {
+            case CURRENT:
+                entities = repository.findCurrentForBookerAfter(bookerId, cursor.getStart(), cursor.getId(),
+                        pageable);
+                break;
+            case PAST:
+                entities = repository.findPastForBookerAfter(bookerId, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                entities = repository.findFutureForBookerAfter(bookerId, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case WAITING:
+                entities = repository.findByStatusForBookerAfter(bookerId, BookingStatus.WAITING, cursor.getStart(),
+                        cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                entities = repository.findByStatusForBookerAfter(bookerId, BookingStatus.REJECTED, cursor.getStart(),
+                        cursor.getId(), pageable);
+                break;
+            default:
+                entities = repository.findAllForBookerAfter(bookerId, cursor.getStart(), cursor.getId(), pageable);
+        }
+
+        return toSlice(entities, size);
+    }
+
+    @Override
+    public BookingSliceDto readByOwnerAfter(Long ownerId, BookingState state, String after, Integer size) {
+        List<BookingListEntry> entities;
+        BookingCursor cursor = decodeCursor(after);
+        Pageable pageable = keysetPageable(size);
+
+        switch (state) {
+            case CURRENT:
+                entities = repository.findCurrentForOwnerAfter(ownerId, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case PAST:
+                entities = repository.findPastForOwnerAfter(ownerId, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case FUTURE:
+                entities = repository.findFutureForOwnerAfter(ownerId, cursor.getStart(), cursor.getId(), pageable);
+                break;
+            case WAITING:
+                entities = repository.findByStatusForOwnerAfter(ownerId, BookingStatus.WAITING, cursor.getStart(),
+                        cursor.getId(), pageable);
+                break;
+            case REJECTED:
+                entities = repository.findByStatusForOwnerAfter(ownerId, BookingStatus.REJECTED, cursor.getStart(),
+                        cursor.getId(), pageable);
+                break;
+            default:
+                entities = repository.findAllForOwnerAfter(ownerId, cursor.getStart(), cursor.getId(), pageable);
+        }
+
+        return toSlice(entities, size);
+    }
+
     @Override
     public BookingDtoToClient readById(Long id, Long userId) {
-        Booking entity = repository.findById(id).orElse(null);
+        return readById(id, userId, eTag -> false);
+    }
+
+    @Override
+    public BookingDtoToClient readById(Long id, Long userId, Predicate<String> notModified) {
+        Booking entity = repository.findWithItemById(id).orElse(null);
 
         if (entity == null) {
             throw new NotFoundException("id", messageSource.get("booking.BookingService.notFoundById") + ": " + id);
@@ -163,6 +268,10 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("itemId", entity.getItem().getId() + " for user with id " + userId);
         }
 
+        if (notModified.test(ETag.of(entity.getId(), entity.getVersion(), entity.getItem().getVersion()))) {
+            return null;
+        }
+
         return mapper.toDto(entity);
     }
 
@@ -181,16 +290,29 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("id", messageSource.get("booking.BookingService.endInFuture"));
         }
 
-        if (approved && (repository.getApprovedBookingsCountInPeriodForItem(booking.getItem().getId(),
-                BookingStatus.APPROVED, booking.getStart(), booking.getEnd()) > 0)) {
+        if (approved && approvedBookingsIndex.isReserved(booking.getItem().getId(), booking.getStart(),
+                booking.getEnd())) {
             throw new BadRequestException("item", messageSource.get("booking.BookingService.itemIsReserved") + ": "
                     + booking.getItem().getId() + " " + booking.getStart() + " " + booking.getEnd());
         }
     }
 
+    private boolean approveIfWaitingAndNotReserved(Long id) {
+        try {
+            return repository.approveIfWaitingAndNotReserved(id) > 0;
+        } catch (RuntimeException exception) {
+            if (ConstraintChecker.check(exception, "ex_booking_approved_overlap")) {
+                return false;
+            } else {
+                throw exception;
+            }
+        }
+    }
+
     @Override
+    @Transactional
     public BookingDtoToClient approve(Long id, Long ownerId, boolean approved) {
-        Booking entity = repository.findById(id).orElse(null);
+        Booking entity = repository.findWithItemById(id).orElse(null);
 
         if (entity == null) {
             throw new NotFoundException("id", messageSource.get("booking.BookingService.notFoundById") + ": " + id);
@@ -202,8 +324,22 @@ public class BookingServiceImpl implements BookingService {
 
         checkApprovingBooking(entity, approved);
 
-        entity.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        if (approved && !approveIfWaitingAndNotReserved(id)) {
+            throw new BadRequestException("item", messageSource.get("booking.BookingService.itemIsReserved") + ": "
+                    + entity.getItem().getId() + " " + entity.getStart() + " " + entity.getEnd());
+        }
 
-        return mapper.toDto(repository.saveAndFlush(entity));
+        if (!approved && repository.rejectIfWaiting(id) == 0) {
+            throw new BadRequestException("status", messageSource.get("booking.BookingService.statusIsWaiting"));
+        }
+
+        BookingDtoToClient dto = mapper.toDto(entity);
+        dto.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+
+        if (approved) {
+            AfterCommit.run(() -> approvedBookingsIndex.addApproved(entity));
+        }
+
+        return dto;
     }
 }
\ No newline at end of file
@@ -1,17 +1,25 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.dto.CommentDtoFromClient;
 import ru.practicum.shareit.item.dto.CommentDtoToClient;
 import ru.practicum.shareit.item.dto.ItemDtoFromClient;
 import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.search.ItemSearchOrder;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
+import ru.practicum.shareit.support.Ndjson;
+import ru.practicum.shareit.support.PageSizeLimit;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,6 +33,10 @@ public class ItemController {
 
     ItemService service;
 
+    PageSizeLimit pageSizeLimit;
+
+    ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<ItemDtoToClient> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                   @RequestBody ItemDtoFromClient inDto) {
@@ -49,12 +61,20 @@ public class ItemController {
                                                              Integer from,
                                                              @RequestParam(value = "size", required = false)
                                                              Integer size) {
-        List<ItemDtoToClient> dtoList = service.readByOwner(userId, from, size);
+        List<ItemDtoToClient> dtoList = service.readByOwner(userId, from, pageSizeLimit.apply(size));
         log.info("{} ({}): {}", messageSource.get("item.ItemController.readByOwner"), userId,
                 dtoList.stream().map(ItemDtoToClient::getId).collect(Collectors.toList()));
         return ResponseEntity.ok(dtoList);
     }
 
+    @GetMapping(produces = Ndjson.MEDIA_TYPE_VALUE)
+    public void streamByOwner(@RequestHeader("X-Sharer-User-Id") Long userId,
+                              HttpServletResponse response) throws IOException {
+        log.info("{} ({})", messageSource.get("item.ItemController.streamByOwner"), userId);
+        response.setContentType(Ndjson.MEDIA_TYPE_VALUE);
+        Ndjson.write(objectMapper, response.getOutputStream(), consumer -> service.readByOwner(userId, consumer));
+    }
+
     @GetMapping("/search")
     public ResponseEntity<List<ItemDtoToClient>> readByQuery(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                              @RequestParam(value = "from", required = false,
@@ -63,19 +83,29 @@ public class ItemController {
                                                              @RequestParam(value = "size", required = false)
                                                              Integer size,
                                                              @RequestParam(value = "text", required = false)
-                                                             String text) {
-        List<ItemDtoToClient> dtoList = service.readByQuery(userId, text, from, size);
+                                                             String text,
+                                                             @RequestParam(value = "order", required = false,
+                                                                     defaultValue = "ID")
+                                                             ItemSearchOrder order) {
+        List<ItemDtoToClient> dtoList = service.readByQuery(userId, text, order, from, pageSizeLimit.apply(size));
         log.info("{} ({}): {}", messageSource.get("item.ItemController.readByQuery"), text,
                 dtoList.stream().map(ItemDtoToClient::getId).collect(Collectors.toList()));
         return ResponseEntity.ok(dtoList);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ItemDtoToClient> readById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                    @PathVariable Long id) {
-        ItemDtoToClient dto = service.readById(userId, id);
-        log.info("{}: {}", messageSource.get("item.ItemController.readById"), dto);
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<byte[]> readById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                           @PathVariable Long id,
+                                           WebRequest request) {
+        byte[] json = service.readSerializedById(userId, id, request::checkNotModified);
+
+        if (json == null) {
+            log.info("{}: {}", messageSource.get("controller.notModified"), id);
+            return null;
+        }
+
+        log.info("{}: {}", messageSource.get("item.ItemController.readById"), id);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
     }
 
     @PatchMapping("/{id}")
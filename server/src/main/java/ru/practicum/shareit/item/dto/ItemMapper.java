@@ -7,7 +7,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface ItemMapper {
@@ -18,9 +19,64 @@ public interface ItemMapper {
     ItemDtoToClient toDto(Item entity, @Context Long userId, @Context BookingRepository bookingRepository,
                           @Context CommentRepository commentRepository);
 
-    List<ItemDtoToClient> toDtoList(List<Item> entities, @Context Long userId,
-                                    @Context BookingRepository bookingRepository,
-                                    @Context CommentRepository commentRepository);
+    default List<ItemDtoToClient> toDtoList(List<Item> entities, @Context Long userId,
+                                            @Context BookingRepository bookingRepository,
+                                            @Context CommentRepository commentRepository) {
+        if (entities == null) {
+            return null;
+        }
+
+        List<ItemDtoToClient> targets = new ArrayList<>(entities.size());
+        Set<Long> itemIds = new HashSet<>();
+        Set<Long> ownerItemIds = new HashSet<>();
+
+        for (Item entity : entities) {
+            targets.add(toDto(entity, userId, null, null));
+
+            if (entity != null && entity.getId() != null) {
+                itemIds.add(entity.getId());
+
+                if (userId != null && entity.getOwner() != null && userId.equals(entity.getOwner().getId())) {
+                    ownerItemIds.add(entity.getId());
+                }
+            }
+        }
+
+        Map<Long, Booking> lastBookings = Map.of();
+        Map<Long, Booking> nextBookings = Map.of();
+
+        if (bookingRepository != null && !ownerItemIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+
+            lastBookings = bookingRepository.findLastForItems(ownerItemIds, now).stream()
+                    .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking,
+                            (first, second) -> first));
+            nextBookings = bookingRepository.findNextForItems(ownerItemIds, now).stream()
+                    .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking,
+                            (first, second) -> first));
+        }
+
+        Map<Long, List<Comment>> comments = commentRepository == null || itemIds.isEmpty() ? Map.of()
+                : commentRepository.findByItem_IdInOrderByCreatedDesc(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        for (ItemDtoToClient target : targets) {
+            if (target == null || target.getId() == null) {
+                continue;
+            }
+
+            if (ownerItemIds.contains(target.getId())) {
+                target.setLastBooking(toBookingDto(lastBookings.get(target.getId())));
+                target.setNextBooking(toBookingDto(nextBookings.get(target.getId())));
+            }
+
+            if (commentRepository != null) {
+                target.setComments(toCommentDtoList(comments.getOrDefault(target.getId(), List.of())));
+            }
+        }
+
+        return targets;
+    }
 
     @AfterMapping
     default void toDto(@MappingTarget ItemDtoToClient target, Item entity, @Context Long userId,
@@ -48,6 +104,7 @@ public interface ItemMapper {
     }
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "request", ignore = true)
     Item toEntity(ItemDtoFromClient dto);
@@ -63,6 +120,7 @@ public interface ItemMapper {
     @Mapping(target = "request", ignore = true)
     @Mapping(target = "owner", ignore = true)
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDto(ItemDtoFromClient dto, @MappingTarget Item entity);
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "comments")
+@NamedEntityGraph(name = "Comment.author", attributeNodes = @NamedAttributeNode("author"))
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -20,11 +21,11 @@ public class Comment {
     @Column(nullable = false, length = 2000)
     String text;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(nullable = false, updatable = false)
     Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(nullable = false, updatable = false)
     User author;
 
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.model;
+
+public interface ItemSearchEntry {
+    Long getId();
+
+    Long getVersion();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+}
@@ -1,11 +1,19 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.author")
     List<Comment> findByItem_IdOrderByCreatedDesc(Long itemId);
+
+    @EntityGraph("Comment.author")
+    @Query("SELECT c FROM Comment c WHERE c.item.id IN ?1 ORDER BY c.created DESC")
+    List<Comment> findByItem_IdInOrderByCreatedDesc(Collection<Long> itemIds);
 }
\ No newline at end of file
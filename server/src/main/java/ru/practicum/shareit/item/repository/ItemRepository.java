@@ -3,18 +3,69 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchEntry;
+import ru.practicum.shareit.support.Chunks;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findForUpdateById(Long id);
+
     Page<Item> findByOwner_Id(Long ownerId, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = Chunks.FETCH_SIZE))
+    Stream<Item> streamByOwner_IdOrderByIdAsc(Long ownerId);
+
+    @Query("SELECT i FROM Item i WHERE i.request.id = ?1 ORDER BY i.id")
     List<Item> findByRequest_IdOrderByIdAsc(Long requestId);
 
+    @Query("SELECT i FROM Item i WHERE i.request.id IN ?1 ORDER BY i.id")
+    List<Item> findByRequest_IdInOrderByIdAsc(Collection<Long> requestIds);
+
     @Query("SELECT i FROM Item i WHERE i.available = TRUE AND (lower(i.name) like lower(concat('%', ?1,'%'))" +
             "OR lower(i.description) like lower(concat('%', ?1,'%')))")
     Page<Item> findByQuery(String query, Pageable pageable);
+
+    @Query("SELECT i FROM Item i WHERE i.available = TRUE AND (lower(i.name) like lower(concat('%', ?1,'%'))" +
+            "OR lower(i.description) like lower(concat('%', ?1,'%'))) ORDER BY " +
+            "CASE WHEN lower(i.name) = lower(?1) THEN 0 " +
+            "WHEN lower(i.name) like lower(concat(?1,'%')) THEN 1 " +
+            "WHEN lower(i.name) like lower(concat('%', ?1,'%')) THEN 2 " +
+            "ELSE 3 END, i.id")
+    List<Item> findByQueryOrderByRelevance(String query, Pageable pageable);
+
+    @Query(value = "SELECT * FROM items i WHERE i.is_available = TRUE " +
+            "AND (lower(i.name) LIKE '%' || lower(?1) || '%' OR lower(i.description) LIKE '%' || lower(?1) || '%') " +
+            "ORDER BY greatest(word_similarity(lower(?1), lower(i.name)), " +
+            "word_similarity(lower(?1), lower(i.description))) DESC, i.id", nativeQuery = true)
+    List<Item> findByQueryOrderBySimilarity(String query, Pageable pageable);
+
+    @Query("SELECT i.id AS id, i.version AS version, i.name AS name, i.description AS description, " +
+            "i.available AS available, i.owner.id AS ownerId, i.request.id AS requestId FROM Item i")
+    List<ItemSearchEntry> findAllSearchEntries();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN (SELECT c.item.id FROM Comment c WHERE c.author.id = ?1)")
+    List<Item> findForUpdateByCommentAuthor(Long authorId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.owner.id <> ?1 AND (" +
+            "i.id IN (SELECT c.item.id FROM Comment c WHERE c.author.id = ?1) OR " +
+            "i.request.id IN (SELECT r.id FROM ItemRequest r WHERE r.requestor.id = ?1))")
+    List<Item> findForUpdateByOtherOwnerAndCommentAuthorOrRequestor(Long userId);
+
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<Item> search(String query, ItemSearchOrder order, Integer from, Integer size);
+
+    default boolean usesDatabase() {
+        return true;
+    }
+
+    default void index(Item item) {
+    }
+
+    default void removeByOwner(Long ownerId) {
+    }
+
+    default void rebuild() {
+    }
+}
@@ -0,0 +1,405 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchEntry;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+import javax.annotation.PostConstruct;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.item-search.engine", havingValue = "memory")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class MemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM_LENGTH = 3;
+
+    ItemRepository repository;
+
+    int shardCount;
+
+    @NonFinal
+    volatile Shard[] shards;
+
+    public MemoryItemSearchEngine(ItemRepository repository,
+                                  @Value("${shareit-server.item-search.shards}") int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+
+        this.repository = repository;
+        this.shardCount = shardCount;
+        this.shards = createShards();
+    }
+
+    @Override
+    public List<Item> search(String query, ItemSearchOrder order, Integer from, Integer size) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        int offset = from == null ? 0 : from;
+        int limit = size == null ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, (long) offset + size);
+        Comparator<Entry> comparator = order == ItemSearchOrder.RELEVANCE
+                ? Comparator.comparingInt((Entry entry) -> entry.rank(lowerQuery)).thenComparingLong(entry -> entry.id)
+                : Comparator.comparingLong(entry -> entry.id);
+        Shard[] current = shards;
+
+        return ForkJoinPool.commonPool()
+                .invoke(new SearchTask(current, 0, current.length, lowerQuery, comparator, limit)).stream()
+                .skip(offset)
+                .map(Entry::toItem)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean usesDatabase() {
+        return false;
+    }
+
+    @Override
+    public synchronized void index(Item item) {
+        shards[shardOf(item.getId())].put(Entry.of(item));
+    }
+
+    @Override
+    public synchronized void removeByOwner(Long ownerId) {
+        for (Shard shard : shards) {
+            shard.removeByOwner(ownerId);
+        }
+    }
+
+    @PostConstruct
+    @Override
+    public synchronized void rebuild() {
+        Shard[] rebuilt = createShards();
+
+        for (ItemSearchEntry entry : repository.findAllSearchEntries()) {
+            rebuilt[shardOf(entry.getId())].put(Entry.of(entry));
+        }
+
+        shards = rebuilt;
+    }
+
+    public int size() {
+        int size = 0;
+
+        for (Shard shard : shards) {
+            size += shard.size();
+        }
+
+        return size;
+    }
+
+    private Shard[] createShards() {
+        Shard[] created = new Shard[shardCount];
+
+        for (int i = 0; i < shardCount; i++) {
+            created[i] = new Shard();
+        }
+
+        return created;
+    }
+
+    private int shardOf(Long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+
+        return grams;
+    }
+
+    private static List<Entry> merge(List<Entry> first, List<Entry> second, Comparator<Entry> comparator,
+                                     int limit) {
+        List<Entry> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            if (j == second.size() || i < first.size() && comparator.compare(first.get(i), second.get(j)) <= 0) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+
+        return merged;
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Entry {
+        long id;
+
+        long version;
+
+        String name;
+
+        String description;
+
+        String lowerName;
+
+        String lowerDescription;
+
+        boolean available;
+
+        Long ownerId;
+
+        Long requestId;
+
+        Entry(long id, long version, String name, String description, Boolean available, Long ownerId,
+              Long requestId) {
+            this.id = id;
+            this.version = version;
+            this.name = name;
+            this.description = description;
+            this.lowerName = name.toLowerCase(Locale.ROOT);
+            this.lowerDescription = description.toLowerCase(Locale.ROOT);
+            this.available = Boolean.TRUE.equals(available);
+            this.ownerId = ownerId;
+            this.requestId = requestId;
+        }
+
+        static Entry of(Item item) {
+            return new Entry(item.getId(), item.getVersion(), item.getName(), item.getDescription(),
+                    item.getAvailable(), item.getOwner() == null ? null : item.getOwner().getId(),
+                    item.getRequest() == null ? null : item.getRequest().getId());
+        }
+
+        static Entry of(ItemSearchEntry entry) {
+            return new Entry(entry.getId(), entry.getVersion(), entry.getName(), entry.getDescription(),
+                    entry.getAvailable(), entry.getOwnerId(), entry.getRequestId());
+        }
+
+        Set<String> grams() {
+            Set<String> grams = MemoryItemSearchEngine.grams(lowerName);
+            grams.addAll(MemoryItemSearchEngine.grams(lowerDescription));
+            return grams;
+        }
+
+        boolean matches(String query) {
+            return available && (lowerName.contains(query) || lowerDescription.contains(query));
+        }
+
+        int rank(String query) {
+            if (lowerName.equals(query)) {
+                return 0;
+            }
+
+            if (lowerName.startsWith(query)) {
+                return 1;
+            }
+
+            return lowerName.contains(query) ? 2 : 3;
+        }
+
+        Item toItem() {
+            Item item = new Item();
+            item.setId(id);
+            item.setVersion(version);
+            item.setName(name);
+            item.setDescription(description);
+            item.setAvailable(available);
+
+            if (ownerId != null) {
+                User owner = new User();
+                owner.setId(ownerId);
+                item.setOwner(owner);
+            }
+
+            if (requestId != null) {
+                ItemRequest request = new ItemRequest();
+                request.setId(requestId);
+                item.setRequest(request);
+            }
+
+            return item;
+        }
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class Shard {
+        Map<Long, Entry> entries = new HashMap<>();
+
+        Map<String, Set<Long>> postings = new HashMap<>();
+
+        ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void put(Entry entry) {
+            lock.writeLock().lock();
+
+            try {
+                Entry previous = entries.get(entry.id);
+
+                if (previous != null) {
+                    if (previous.version > entry.version) {
+                        return;
+                    }
+
+                    unindex(previous);
+                }
+
+                entries.put(entry.id, entry);
+
+                if (entry.available) {
+                    for (String gram : entry.grams()) {
+                        postings.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.id);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void removeByOwner(Long ownerId) {
+            lock.writeLock().lock();
+
+            try {
+                Iterator<Entry> iterator = entries.values().iterator();
+
+                while (iterator.hasNext()) {
+                    Entry entry = iterator.next();
+
+                    if (Objects.equals(entry.ownerId, ownerId)) {
+                        iterator.remove();
+                        unindex(entry);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void unindex(Entry entry) {
+            if (!entry.available) {
+                return;
+            }
+
+            for (String gram : entry.grams()) {
+                Set<Long> ids = postings.get(gram);
+                ids.remove(entry.id);
+
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+
+            try {
+                return entries.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Entry> search(String query, Comparator<Entry> comparator, int limit) {
+            lock.readLock().lock();
+
+            try {
+                List<Entry> found = new ArrayList<>();
+
+                for (Entry entry : candidates(query)) {
+                    if (entry.matches(query)) {
+                        found.add(entry);
+                    }
+                }
+
+                found.sort(comparator);
+
+                return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Collection<Entry> candidates(String query) {
+            if (query.length() < GRAM_LENGTH) {
+                return entries.values();
+            }
+
+            List<Set<Long>> lists = new ArrayList<>();
+
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(gram);
+
+                if (ids == null) {
+                    return List.of();
+                }
+
+                lists.add(ids);
+            }
+
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            List<Entry> candidates = new ArrayList<>();
+
+            for (Long id : lists.get(0)) {
+                boolean inAll = true;
+
+                for (int i = 1; i < lists.size() && inAll; i++) {
+                    inAll = lists.get(i).contains(id);
+                }
+
+                if (inAll) {
+                    candidates.add(entries.get(id));
+                }
+            }
+
+            return candidates;
+        }
+    }
+
+    @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+    private static class SearchTask extends RecursiveTask<List<Entry>> {
+        Shard[] shards;
+
+        int from;
+
+        int to;
+
+        String query;
+
+        Comparator<Entry> comparator;
+
+        int limit;
+
+        SearchTask(Shard[] shards, int from, int to, String query, Comparator<Entry> comparator, int limit) {
+            this.shards = shards;
+            this.from = from;
+            this.to = to;
+            this.query = query;
+            this.comparator = comparator;
+            this.limit = limit;
+        }
+
+        @Override
+        protected List<Entry> compute() {
+            if (to - from == 1) {
+                return shards[from].search(query, comparator, limit);
+            }
+
+            int middle = (from + to) >>> 1;
+            SearchTask left = new SearchTask(shards, from, middle, query, comparator, limit);
+            left.fork();
+            List<Entry> right = new SearchTask(shards, middle, to, query, comparator, limit).compute();
+
+            return merge(left.join(), right, comparator, limit);
+        }
+    }
+}
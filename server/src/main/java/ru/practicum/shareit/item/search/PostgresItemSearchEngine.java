@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.support.OffsetPageRequest;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit-server.item-search.engine", havingValue = "postgres")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+    ItemRepository repository;
+
+    @Override
+    public List<Item> search(String query, ItemSearchOrder order, Integer from, Integer size) {
+        if (order == ItemSearchOrder.RELEVANCE) {
+            return repository.findByQueryOrderBySimilarity(query, OffsetPageRequest.ofOffset(from, size, null));
+        }
+
+        return repository.findByQuery(query, OffsetPageRequest.ofOffset(from, size, Sort.by("id").ascending()))
+                .getContent();
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ItemResponseCache {
+    ObjectMapper objectMapper;
+
+    boolean enabled;
+
+    Cache<Long, Entry> items;
+
+    public ItemResponseCache(ObjectMapper objectMapper,
+                             @Value("${shareit-server.item-response-cache.enabled}") boolean enabled,
+                             @Value("${shareit-server.item-response-cache.max-items}") int maxItems) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public byte[] get(Long itemId, long version, Supplier<?> view) {
+        Entry entry = enabled ? items.getIfPresent(itemId) : null;
+
+        if (entry != null && entry.version == version) {
+            return entry.json;
+        }
+
+        byte[] json = serialize(view.get());
+
+        if (enabled) {
+            items.asMap().merge(itemId, new Entry(version, json),
+                    (cached, loaded) -> cached.version > loaded.version ? cached : loaded);
+        }
+
+        return json;
+    }
+
+    public byte[] serialize(Object view) {
+        try {
+            return objectMapper.writeValueAsBytes(view);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void evict(Long itemId) {
+        items.invalidate(itemId);
+    }
+
+    public void evictAll(Collection<Long> itemIds) {
+        items.invalidateAll(itemIds);
+    }
+
+    public void clear() {
+        items.invalidateAll();
+    }
+
+    public int size() {
+        items.cleanUp();
+        return (int) items.estimatedSize();
+    }
+
+    private static class Entry {
+        final long version;
+
+        final byte[] json;
+
+        Entry(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+    }
+}
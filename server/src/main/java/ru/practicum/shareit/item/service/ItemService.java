@@ -4,7 +4,10 @@ import ru.practicum.shareit.item.dto.CommentDtoFromClient;
 import ru.practicum.shareit.item.dto.CommentDtoToClient;
 import ru.practicum.shareit.item.dto.ItemDtoFromClient;
 import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.search.ItemSearchOrder;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface ItemService {
     ItemDtoToClient create(Long ownerId, ItemDtoFromClient dto);
@@ -13,10 +16,16 @@ public interface ItemService {
 
     List<ItemDtoToClient> readByOwner(Long ownerId, Integer from, Integer size);
 
-    List<ItemDtoToClient> readByQuery(Long userId, String query, Integer from, Integer size);
+    void readByOwner(Long ownerId, Consumer<? super ItemDtoToClient> consumer);
+
+    List<ItemDtoToClient> readByQuery(Long userId, String query, ItemSearchOrder order, Integer from, Integer size);
 
     ItemDtoToClient readById(Long userId, Long id);
 
+    ItemDtoToClient readById(Long userId, Long id, Predicate<String> notModified);
+
+    byte[] readSerializedById(Long userId, Long id, Predicate<String> notModified);
+
     ItemDtoToClient update(Long ownerId, Long id, ItemDtoFromClient dto);
 
 }
@@ -5,8 +5,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.support.AfterCommit;
+import ru.practicum.shareit.support.Chunks;
+import ru.practicum.shareit.support.ETag;
 import ru.practicum.shareit.support.OffsetPageRequest;
 import ru.practicum.shareit.exception.AccessDeniedException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -17,15 +25,23 @@ import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.dto.CommentMapper;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchOrder;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ItemServiceImpl implements ItemService {
@@ -45,7 +61,16 @@ public class ItemServiceImpl implements ItemService {
 
     CommentMapper commentMapper;
 
+    ItemSearchEngine searchEngine;
+
+    EntityManager entityManager;
+
+    ItemResponseCache responseCache;
+
+    PlatformTransactionManager transactionManager;
+
     @Override
+    @Transactional
     public ItemDtoToClient create(Long ownerId, ItemDtoFromClient dto) {
         User owner = userRepository.findById(ownerId).orElse(null);
 
@@ -58,7 +83,7 @@ public class ItemServiceImpl implements ItemService {
         entity.setOwner(owner);
 
         if (dto.getRequestId() != null) {
-            ItemRequest itemRequest = itemRequestRepository.findById(dto.getRequestId()).orElse(null);
+            ItemRequest itemRequest = itemRequestRepository.findForUpdateById(dto.getRequestId()).orElse(null);
 
             if (itemRequest == null) {
                 throw new NotFoundException("requestId", messageSource.get("item.ItemService.notFoundRequestById") + ": "
@@ -68,9 +93,15 @@ public class ItemServiceImpl implements ItemService {
             entity.setRequest(itemRequest);
         }
 
-        entity = repository.saveAndFlush(entity);
+        Item createdEntity = repository.saveAndFlush(entity);
+
+        if (createdEntity.getRequest() != null) {
+            entityManager.lock(createdEntity.getRequest(), LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+
+        AfterCommit.run(() -> searchEngine.index(createdEntity));
 
-        return mapper.toDto(entity, ownerId, null, null);
+        return mapper.toDto(createdEntity, ownerId, null, null);
     }
 
     private void checkItemWasBooked(Long authorId, Long itemId) {
@@ -81,6 +112,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional
     public CommentDtoToClient createComment(Long authorId, Long itemId, CommentDtoFromClient commentDtoFromClient) {
         checkItemWasBooked(authorId, itemId);
 
@@ -91,15 +123,22 @@ public class ItemServiceImpl implements ItemService {
                     + authorId);
         }
 
-        Item item = new Item();
-        item.setId(itemId);
+        Item item = repository.findForUpdateById(itemId).orElse(null);
+
+        if (item == null) {
+            throw new NotFoundException("itemId", messageSource.get("item.ItemService.notFoundById") + ": " + itemId);
+        }
 
         Comment entity = commentMapper.toEntity(commentDtoFromClient);
         entity.setAuthor(author);
         entity.setItem(item);
         entity.setCreated(LocalDateTime.now());
 
-        return commentMapper.toDto(commentRepository.saveAndFlush(entity));
+        CommentDtoToClient dto = commentMapper.toDto(commentRepository.saveAndFlush(entity));
+        entityManager.lock(item, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        AfterCommit.run(() -> responseCache.evict(itemId));
+
+        return dto;
     }
 
     @Override
@@ -110,26 +149,101 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDtoToClient> readByQuery(Long userId, String query, Integer from, Integer size) {
-        return query == null || query.isEmpty() ? List.of() : mapper.toDtoList(repository.findByQuery(query,
-                        OffsetPageRequest.ofOffset(from, size, Sort.by("id").ascending())).getContent(),
-                userId, bookingRepository, null);
+    public void readByOwner(Long ownerId, Consumer<? super ItemDtoToClient> consumer) {
+        try (Stream<Item> entities = repository.streamByOwner_IdOrderByIdAsc(ownerId)) {
+            Chunks.forEach(entities, chunk -> {
+                mapper.toDtoList(chunk, ownerId, bookingRepository, commentRepository).forEach(consumer);
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ItemDtoToClient> readByQuery(Long userId, String query, ItemSearchOrder order, Integer from,
+                                             Integer size) {
+        if (query == null || query.isEmpty()) {
+            return List.of();
+        }
+
+        if (!searchEngine.usesDatabase()) {
+            return search(userId, query, order, from, size);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> search(userId, query, order, from, size));
+    }
+
+    private List<ItemDtoToClient> search(Long userId, String query, ItemSearchOrder order, Integer from,
+                                         Integer size) {
+        return mapper.toDtoList(searchEngine.search(query, order, from, size), userId, bookingRepository, null);
     }
 
     @Override
     public ItemDtoToClient readById(Long userId, Long id) {
+        return readById(userId, id, eTag -> false);
+    }
+
+    @Override
+    public ItemDtoToClient readById(Long userId, Long id, Predicate<String> notModified) {
+        Item entity = findById(id);
+
+        if (!Objects.equals(entity.getOwner().getId(), userId)) {
+            return notModified.test(ETag.of(entity.getId(), entity.getVersion())) ? null
+                    : mapper.toDto(entity, userId, null, commentRepository);
+        }
+
+        return readByIdForOwner(entity, userId, notModified);
+    }
+
+    @Override
+    public byte[] readSerializedById(Long userId, Long id, Predicate<String> notModified) {
+        Item entity = findById(id);
+
+        if (!Objects.equals(entity.getOwner().getId(), userId)) {
+            return notModified.test(ETag.of(entity.getId(), entity.getVersion())) ? null
+                    : responseCache.get(id, entity.getVersion(),
+                            () -> mapper.toDto(entity, userId, null, commentRepository));
+        }
+
+        ItemDtoToClient dto = readByIdForOwner(entity, userId, notModified);
+
+        return dto == null ? null : responseCache.serialize(dto);
+    }
+
+    private Item findById(Long id) {
         Item entity = repository.findById(id).orElse(null);
 
         if (entity == null) {
             throw new NotFoundException("id", messageSource.get("item.ItemService.notFoundById") + ": " + id);
         }
 
-        return mapper.toDto(entity, userId, bookingRepository, commentRepository);
+        return entity;
+    }
+
+    private ItemDtoToClient readByIdForOwner(Item entity, Long userId, Predicate<String> notModified) {
+        Long id = entity.getId();
+        LocalDateTime now = LocalDateTime.now();
+        Booking last = bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(id, now).orElse(null);
+        Booking next = bookingRepository.findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(id, now).orElse(null);
+
+        if (notModified.test(ETag.of(id, entity.getVersion(), last == null ? null : last.getId(),
+                next == null ? null : next.getId()))) {
+            return null;
+        }
+
+        ItemDtoToClient dto = mapper.toDto(entity, userId, null, commentRepository);
+        dto.setLastBooking(mapper.toBookingDto(last));
+        dto.setNextBooking(mapper.toBookingDto(next));
+
+        return dto;
     }
 
     @Override
+    @Transactional
     public ItemDtoToClient update(Long ownerId, Long id, ItemDtoFromClient dto) {
-        Item entity = repository.findById(id).orElse(null);
+        Item entity = repository.findForUpdateById(id).orElse(null);
 
         if (entity == null) {
             throw new NotFoundException("id", messageSource.get("item.ItemService.notFoundById") + ": " + id);
@@ -140,7 +254,18 @@ public class ItemServiceImpl implements ItemService {
         }
 
         mapper.updateEntityFromDto(dto, entity);
+        Item updatedEntity = repository.saveAndFlush(entity);
+
+        if (updatedEntity.getRequest() != null) {
+            itemRequestRepository.findForUpdateById(updatedEntity.getRequest().getId())
+                    .ifPresent(request -> entityManager.lock(request, LockModeType.PESSIMISTIC_FORCE_INCREMENT));
+        }
+
+        AfterCommit.run(() -> {
+            searchEngine.index(updatedEntity);
+            responseCache.evict(id);
+        });
 
-        return mapper.toDto(repository.saveAndFlush(entity), ownerId, bookingRepository, null);
+        return mapper.toDto(updatedEntity, ownerId, bookingRepository, null);
     }
 }
\ No newline at end of file
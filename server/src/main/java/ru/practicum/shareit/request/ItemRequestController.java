@@ -1,15 +1,21 @@
 package ru.practicum.shareit.request;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoFromClient;
 import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
+import ru.practicum.shareit.support.Ndjson;
+import ru.practicum.shareit.support.PageSizeLimit;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,6 +29,10 @@ public class ItemRequestController {
 
     ItemRequestService service;
 
+    PageSizeLimit pageSizeLimit;
+
+    ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<ItemRequestDtoToClient> create(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                          @RequestBody ItemRequestDtoFromClient inDto) {
@@ -32,10 +42,15 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ItemRequestDtoToClient>> readByUser(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        List<ItemRequestDtoToClient> dtoList = service.readByUser(userId);
-        log.info("{} ({}): {}", messageSource.get("itemRequest.ItemRequestController.readByUser"), userId,
-                dtoList.stream().map(ItemRequestDtoToClient::getId).collect(Collectors.toList()));
+    public ResponseEntity<List<ItemRequestDtoToClient>> readByUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @RequestParam(value = "from", required = false,
+                                                                          defaultValue = "0")
+                                                                  Integer from,
+                                                                  @RequestParam(value = "size", required = false)
+                                                                  Integer size) {
+        List<ItemRequestDtoToClient> dtoList = service.readByUser(userId, from, pageSizeLimit.apply(size));
+        log.info("{} ({}, {}, {}): {}", messageSource.get("itemRequest.ItemRequestController.readByUser"), userId,
+                from, size, dtoList.stream().map(ItemRequestDtoToClient::getId).collect(Collectors.toList()));
         return ResponseEntity.ok(dtoList);
     }
 
@@ -46,16 +61,31 @@ public class ItemRequestController {
                                                                Integer from,
                                                                @RequestParam(value = "size", required = false)
                                                                Integer size) {
-        List<ItemRequestDtoToClient> dtoList = service.readAll(userId, from, size);
+        List<ItemRequestDtoToClient> dtoList = service.readAll(userId, from, pageSizeLimit.apply(size));
         log.info("{} ({}, {}, {}): {}", messageSource.get("itemRequest.ItemRequestController.readAll"), userId, from,
                 size, dtoList.stream().map(ItemRequestDtoToClient::getId).collect(Collectors.toList()));
         return ResponseEntity.ok(dtoList);
     }
 
+    @GetMapping(path = "/all", produces = Ndjson.MEDIA_TYPE_VALUE)
+    public void streamAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                          HttpServletResponse response) throws IOException {
+        log.info("{} ({})", messageSource.get("itemRequest.ItemRequestController.streamAll"), userId);
+        response.setContentType(Ndjson.MEDIA_TYPE_VALUE);
+        Ndjson.write(objectMapper, response.getOutputStream(), consumer -> service.readAll(userId, consumer));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ItemRequestDtoToClient> readById(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                           @PathVariable Long id) {
-        ItemRequestDtoToClient dto = service.readById(userId, id);
+                                                           @PathVariable Long id,
+                                                           WebRequest request) {
+        ItemRequestDtoToClient dto = service.readById(userId, id, request::checkNotModified);
+
+        if (dto == null) {
+            log.info("{}: {}", messageSource.get("controller.notModified"), id);
+            return null;
+        }
+
         log.info("{}: {}", messageSource.get("itemRequest.ItemRequestController.readById"), dto);
         return ResponseEntity.ok(dto);
     }
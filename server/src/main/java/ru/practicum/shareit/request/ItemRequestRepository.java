@@ -3,12 +3,35 @@ package ru.practicum.shareit.request;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.support.Chunks;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findByRequestor_IdOrderByCreatedDesc(Long userId);
+    List<ItemRequest> findByRequestor_Id(Long userId, Pageable pageable);
 
     Page<ItemRequest> findByRequestor_IdNot(Long userId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = Chunks.FETCH_SIZE))
+    Stream<ItemRequest> streamByRequestor_IdNotOrderByCreatedDesc(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ItemRequest> findForUpdateById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ItemRequest r WHERE r.requestor.id <> ?1 AND r.id IN " +
+            "(SELECT i.request.id FROM Item i WHERE i.owner.id = ?1)")
+    List<ItemRequest> findForUpdateByOtherRequestorAndItemOwner(Long ownerId);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.requestor.id = ?1")
+    List<Long> findIdsByRequestorId(Long requestorId);
 }
\ No newline at end of file
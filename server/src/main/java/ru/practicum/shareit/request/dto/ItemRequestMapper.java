@@ -4,14 +4,46 @@ import org.mapstruct.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
-import java.util.List;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring")
 public interface ItemRequestMapper {
     @Mapping(target = "items", ignore = true)
     ItemRequestDtoToClient toDto(ItemRequest entity, @Context ItemRepository repository);
 
-    List<ItemRequestDtoToClient> toDtoList(List<ItemRequest> entities, @Context ItemRepository repository);
+    default List<ItemRequestDtoToClient> toDtoList(List<ItemRequest> entities, @Context ItemRepository repository) {
+        if (entities == null) {
+            return null;
+        }
+
+        List<ItemRequestDtoToClient> targets = new ArrayList<>(entities.size());
+        Set<Long> requestIds = new HashSet<>();
+
+        for (ItemRequest entity : entities) {
+            targets.add(toDto(entity, null));
+
+            if (entity != null && entity.getId() != null) {
+                requestIds.add(entity.getId());
+            }
+        }
+
+        if (repository == null) {
+            return targets;
+        }
+
+        Map<Long, List<Item>> items = requestIds.isEmpty() ? Map.of()
+                : repository.findByRequest_IdInOrderByIdAsc(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
+        for (ItemRequestDtoToClient target : targets) {
+            if (target != null && target.getId() != null) {
+                target.setItems(toItemDtoList(items.getOrDefault(target.getId(), List.of())));
+            }
+        }
+
+        return targets;
+    }
 
     @AfterMapping
     default void toDto(@MappingTarget ItemRequestDtoToClient target, ItemRequest itemRequest,
@@ -26,6 +58,7 @@ public interface ItemRequestMapper {
     ItemDtoToClient toItemDto(Item entities);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "created", ignore = true)
     @Mapping(target = "requestor", ignore = true)
     ItemRequest toEntity(ItemRequestDtoFromClient dto);
@@ -3,13 +3,19 @@ package ru.practicum.shareit.request.service;
 import ru.practicum.shareit.request.dto.ItemRequestDtoFromClient;
 import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public interface ItemRequestService {
     ItemRequestDtoToClient create(Long userId, ItemRequestDtoFromClient dto);
 
-    List<ItemRequestDtoToClient> readByUser(Long userId);
+    List<ItemRequestDtoToClient> readByUser(Long userId, Integer from, Integer size);
 
     List<ItemRequestDtoToClient> readAll(Long userId, Integer from, Integer size);
 
+    void readAll(Long userId, Consumer<? super ItemRequestDtoToClient> consumer);
+
     ItemRequestDtoToClient readById(Long userId, Long id);
+
+    ItemRequestDtoToClient readById(Long userId, Long id, Predicate<String> notModified);
 }
@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.support.Chunks;
 import ru.practicum.shareit.support.OffsetPageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -14,12 +16,18 @@ import ru.practicum.shareit.request.dto.ItemRequestDtoFromClient;
 import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
+import ru.practicum.shareit.support.ETag;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
@@ -33,7 +41,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     ItemRequestMapper mapper;
 
+    EntityManager entityManager;
+
     @Override
+    @Transactional
     public ItemRequestDtoToClient create(Long userId, ItemRequestDtoFromClient dto) {
         User requestor = userRepository.findById(userId).orElse(null);
 
@@ -50,13 +61,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDtoToClient> readByUser(Long userId) {
+    public List<ItemRequestDtoToClient> readByUser(Long userId, Integer from, Integer size) {
         if (userRepository.findById(userId).isEmpty()) {
             throw new NotFoundException("userId",
                     messageSource.get("itemRequest.ItemRequestService.notFoundUserById") + ": " + userId);
         }
 
-        return mapper.toDtoList(repository.findByRequestor_IdOrderByCreatedDesc(userId), itemRepository);
+        return mapper.toDtoList(repository.findByRequestor_Id(userId,
+                OffsetPageRequest.ofOffset(from, size, Sort.by("created").descending())), itemRepository);
     }
 
     @Override
@@ -64,10 +76,25 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return mapper.toDtoList(repository.findByRequestor_IdNot(userId,
                 OffsetPageRequest.ofOffset(from, size, Sort.by("created").descending())).getContent(),
                 itemRepository);
-   }
+    }
+
+    @Override
+    public void readAll(Long userId, Consumer<? super ItemRequestDtoToClient> consumer) {
+        try (Stream<ItemRequest> entities = repository.streamByRequestor_IdNotOrderByCreatedDesc(userId)) {
+            Chunks.forEach(entities, chunk -> {
+                mapper.toDtoList(chunk, itemRepository).forEach(consumer);
+                entityManager.clear();
+            });
+        }
+    }
 
     @Override
     public ItemRequestDtoToClient readById(Long userId, Long id) {
+        return readById(userId, id, eTag -> false);
+    }
+
+    @Override
+    public ItemRequestDtoToClient readById(Long userId, Long id, Predicate<String> notModified) {
         if (userRepository.findById(userId).isEmpty()) {
             throw new NotFoundException("userId",
                     messageSource.get("itemRequest.ItemRequestService.notFoundUserById") + ": " + userId);
@@ -79,6 +106,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                     id);
         }
 
+        if (notModified.test(ETag.of(entity.getId(), entity.getVersion()))) {
+            return null;
+        }
+
         return mapper.toDto(entity, itemRepository);
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.support;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class Chunks {
+    public static final int SIZE = 100;
+
+    public static final String FETCH_SIZE = "" + SIZE;
+
+    public static <T> void forEach(Stream<T> stream, Consumer<List<T>> action) {
+        Iterator<T> iterator = stream.iterator();
+        List<T> chunk = new ArrayList<>(SIZE);
+
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+
+            if (chunk.size() == SIZE || !iterator.hasNext()) {
+                action.accept(chunk);
+                chunk = new ArrayList<>(SIZE);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.support;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class ETag {
+    public static String of(Object... parts) {
+        return Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("-", "\"", "\""));
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.support;
+
+public class IntervalTree<T extends Comparable<? super T>> {
+    private static class Node<T> {
+        final long id;
+
+        final T start;
+
+        T end;
+
+        T maxEnd;
+
+        int height;
+
+        Node<T> left;
+
+        Node<T> right;
+
+        Node(long id, T start, T end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+
+    private Node<T> root;
+
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    public void add(long id, T start, T end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Interval bounds must not be null");
+        }
+
+        root = insert(root, id, start, end);
+    }
+
+    public boolean overlaps(T start, T end) {
+        Node<T> node = root;
+
+        while (node != null) {
+            if (node.start.compareTo(end) < 0 && node.end.compareTo(start) > 0) {
+                return true;
+            }
+
+            if (node.left != null && node.left.maxEnd.compareTo(start) > 0) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+
+        return false;
+    }
+
+    private Node<T> insert(Node<T> node, long id, T start, T end) {
+        if (node == null) {
+            size++;
+            return new Node<>(id, start, end);
+        }
+
+        int cmp = start.compareTo(node.start);
+
+        if (cmp == 0) {
+            cmp = Long.compare(id, node.id);
+        }
+
+        if (cmp == 0) {
+            node.end = end;
+        } else if (cmp < 0) {
+            node.left = insert(node.left, id, start, end);
+        } else {
+            node.right = insert(node.right, id, start, end);
+        }
+
+        return balance(node);
+    }
+
+    private int height(Node<T> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private T max(T first, Node<T> node) {
+        return node == null || node.maxEnd.compareTo(first) <= 0 ? first : node.maxEnd;
+    }
+
+    private void update(Node<T> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = max(max(node.end, node.left), node.right);
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private Node<T> balance(Node<T> node) {
+        update(node);
+
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+}
\ No newline at end of file
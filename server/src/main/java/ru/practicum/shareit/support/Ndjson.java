@@ -0,0 +1,34 @@
+package ru.practicum.shareit.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+public class Ndjson {
+    public static final String MEDIA_TYPE_VALUE = "application/x-ndjson";
+
+    public static void write(ObjectMapper objectMapper, OutputStream outputStream,
+                             Consumer<Consumer<Object>> producer) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+
+            try {
+                producer.accept(value -> writeLine(generator, value));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static void writeLine(JsonGenerator generator, Object value) {
+        try {
+            generator.writeObject(value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
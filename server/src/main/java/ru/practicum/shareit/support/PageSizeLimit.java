@@ -0,0 +1,38 @@
+package ru.practicum.shareit.support;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.BadRequestException;
+
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PageSizeLimit {
+    DefaultLocaleMessageSource messageSource;
+
+    int maxPageSize;
+
+    public PageSizeLimit(DefaultLocaleMessageSource messageSource,
+                         @Value("${shareit-server.pagination.max-page-size}") int maxPageSize) {
+        if (maxPageSize < 1) {
+            throw new IllegalArgumentException("Max page size must not be less than one");
+        }
+
+        this.messageSource = messageSource;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public int apply(@Nullable Integer size) {
+        if (size == null) {
+            return maxPageSize;
+        }
+
+        if (size > maxPageSize) {
+            throw new BadRequestException("size", messageSource.get("controller.maxSize") + ": " + maxPageSize);
+        }
+
+        return size;
+    }
+}
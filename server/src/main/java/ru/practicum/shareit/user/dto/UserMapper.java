@@ -12,9 +12,11 @@ public interface UserMapper {
     UserDtoToClient toDto(User entity);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     User toEntity(UserDtoFromClient dto);
 
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     void updateEntityFromDto(UserDtoFromClient dto, @MappingTarget User entity);
 }
\ No newline at end of file
@@ -5,8 +5,17 @@ import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.ApprovedBookingsIndex;
 import ru.practicum.shareit.exception.AlreadyExistException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemResponseCache;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.support.AfterCommit;
 import ru.practicum.shareit.support.ConstraintChecker;
 import ru.practicum.shareit.support.DefaultLocaleMessageSource;
 import ru.practicum.shareit.user.User;
@@ -14,9 +23,13 @@ import ru.practicum.shareit.user.dto.UserDtoFromClient;
 import ru.practicum.shareit.user.dto.UserDtoToClient;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.UserRepository;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import java.util.*;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserServiceImpl implements UserService {
@@ -26,7 +39,20 @@ public class UserServiceImpl implements UserService {
 
     UserMapper mapper;
 
+    ApprovedBookingsIndex approvedBookingsIndex;
+
+    ItemSearchEngine itemSearchEngine;
+
+    ItemRepository itemRepository;
+
+    ItemRequestRepository itemRequestRepository;
+
+    EntityManager entityManager;
+
+    ItemResponseCache itemResponseCache;
+
     @Override
+    @Transactional
     public UserDtoToClient create(UserDtoFromClient dto) {
         try {
             return mapper.toDto(repository.saveAndFlush(mapper.toEntity(dto)));
@@ -57,17 +83,25 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDtoToClient update(Long id, UserDtoFromClient dto) {
-        User entity = repository.findById(id).orElse(null);
+        User entity = repository.findForUpdateById(id).orElse(null);
 
         if (entity == null) {
             throw new NotFoundException("id", messageSource.get("user.UserService.notFoundById") + ": " + id);
         }
 
+        boolean renamed = dto.getName() != null && !dto.getName().equals(entity.getName());
         mapper.updateEntityFromDto(dto, entity);
 
         try {
-            return mapper.toDto(repository.saveAndFlush(entity));
+            UserDtoToClient updatedDto = mapper.toDto(repository.saveAndFlush(entity));
+
+            if (renamed) {
+                itemRepository.findForUpdateByCommentAuthor(id).forEach(this::incrementVersion);
+            }
+
+            return updatedDto;
         } catch (Exception exception) {
             if (ConstraintChecker.check(exception, "uq_user_email")) {
                 throw new AlreadyExistException("email", messageSource.get("user.UserService.notUniqueEmail") + ": " +
@@ -79,11 +113,28 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         try {
+            List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
+            List<Long> requestIds = itemRequestRepository.findIdsByRequestorId(id);
+            itemRepository.findForUpdateByOtherOwnerAndCommentAuthorOrRequestor(id).forEach(this::incrementVersion);
+            itemRequestRepository.findForUpdateByOtherRequestorAndItemOwner(id).forEach(this::incrementVersion);
             repository.deleteById(id);
+            Cache cache = entityManager.getEntityManagerFactory().getCache();
+            AfterCommit.run(() -> {
+                itemIds.forEach(itemId -> cache.evict(Item.class, itemId));
+                requestIds.forEach(requestId -> cache.evict(ItemRequest.class, requestId));
+                itemResponseCache.evictAll(itemIds);
+                approvedBookingsIndex.clear();
+                itemSearchEngine.removeByOwner(id);
+            });
         } catch (EmptyResultDataAccessException ignored) {
             throw new NotFoundException("id", messageSource.get("user.UserService.notFoundById") + ": " + id);
         }
     }
+
+    private void incrementVersion(Object entity) {
+        entityManager.lock(entity, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
 }
\ No newline at end of file
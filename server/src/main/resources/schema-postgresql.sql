@@ -0,0 +1,17 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_item_name_trgm ON items USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_item_description_trgm ON items USING gin (lower(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO 'BEGIN
+    ALTER TABLE bookings ADD CONSTRAINT ex_booking_approved_overlap EXCLUDE USING gist
+        (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = ''APPROVED'');
+EXCEPTION
+    WHEN duplicate_table OR duplicate_object THEN NULL;
+    WHEN exclusion_violation THEN
+        RAISE WARNING ''ex_booking_approved_overlap is not created, approved bookings already overlap: %'',
+            SQLERRM;
+END';
@@ -1,5 +1,6 @@
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     name VARCHAR(255) NOT NULL,
     email VARCHAR(255) NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
@@ -8,6 +9,7 @@ CREATE TABLE IF NOT EXISTS users (
 
 CREATE TABLE IF NOT EXISTS requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     description VARCHAR(255) NOT NULL,
     requestor_id BIGINT NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -18,6 +20,7 @@ CREATE TABLE IF NOT EXISTS requests (
 
 CREATE TABLE IF NOT EXISTS items (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(2000) NOT NULL,
     is_available BOOLEAN NOT NULL,
@@ -31,6 +34,7 @@ CREATE TABLE IF NOT EXISTS items (
 
 CREATE TABLE IF NOT EXISTS bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT NOT NULL,
@@ -51,4 +55,30 @@ CREATE TABLE IF NOT EXISTS comments (
     CONSTRAINT pk_comment PRIMARY KEY (id),
     CONSTRAINT fk_comment_item FOREIGN KEY (item_id) REFERENCES items(id) ON DELETE CASCADE ON UPDATE CASCADE,
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE ON UPDATE CASCADE
-);
\ No newline at end of file
+);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_request_requestor_created ON requests (requestor_id, created);
+
+CREATE INDEX IF NOT EXISTS ix_request_created ON requests (created);
+
+CREATE INDEX IF NOT EXISTS ix_item_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS ix_item_request ON items (request_id, id);
+
+CREATE INDEX IF NOT EXISTS ix_booking_booker_start ON bookings (booker_id, start_date, id);
+
+CREATE INDEX IF NOT EXISTS ix_booking_item_status_start_end ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_booking_item_start ON bookings (item_id, start_date, id);
+
+CREATE INDEX IF NOT EXISTS ix_booking_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS ix_comment_item_created ON comments (item_id, created);
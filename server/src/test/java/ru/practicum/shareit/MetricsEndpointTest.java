@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class MetricsEndpointTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void prometheus_afterRequest_shouldExposeEndpointLatencyPoolHibernateCacheAndJvmMetrics() throws Exception {
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds{application=\"shareit-server\","),
+                        containsString("uri=\"/users\",quantile=\"0.99\""),
+                        containsString("uri=\"/users\",le=\"0.05\""),
+                        containsString("hikaricp_connections_active"),
+                        containsString("hibernate_query_executions_total"),
+                        containsString("hibernate_entities_loads_total"),
+                        containsString("hibernate_cache_query_requests_total"),
+                        containsString("hibernate_second_level_cache_requests_total{application=\"shareit-server\","),
+                        containsString("jvm_memory_used_bytes"),
+                        containsString("jvm_gc_memory_allocated_bytes_total")
+                )));
+    }
+}
@@ -0,0 +1,261 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.support.OffsetPageRequest;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.tools.inspectors.StatementRecorder")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class RepositoryQueryPlanTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    static final String FULL_SCAN = "(?s).*/\\* PUBLIC\\.\\w+(\\.tableScan)? \\*/.*";
+
+    final Long id = 1L;
+
+    final LocalDateTime now = LocalDateTime.now();
+
+    final Pageable offsetPage = OffsetPageRequest.ofOffset(10, 10, Sort.by("start").descending());
+
+    final Pageable keysetPage = PageRequest.of(0, 11, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+    @BeforeEach
+    void setUp() {
+        StatementRecorder.clear();
+    }
+
+    private List<String> explain(String sql) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+            int count = statement.getParameterMetaData().getParameterCount();
+
+            for (int i = 1; i <= count; i++) {
+                statement.setObject(i, null);
+            }
+
+            return statement;
+        }, (rs, rowNum) -> rs.getString(1));
+    }
+
+    private void assertNoFullScan(Runnable query) {
+        query.run();
+
+        List<String> statements = StatementRecorder.getStatements();
+        assertThat(statements, not(empty()));
+
+        for (String sql : statements) {
+            for (String plan : explain(sql)) {
+                assertThat(plan, not(matchesPattern(FULL_SCAN)));
+            }
+        }
+    }
+
+    @Test
+    void explain_withUnfilteredQuery_shouldDetectFullScan() {
+        assertThat(explain("SELECT * FROM users"), contains(matchesPattern(FULL_SCAN)));
+        assertThat(explain("SELECT * FROM users WHERE id = ?"), contains(not(matchesPattern(FULL_SCAN))));
+    }
+
+    @Test
+    void getApprovedBookingsCountInPeriodForItem_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.getApprovedBookingsCountInPeriodForItem(id, BookingStatus.APPROVED,
+                now, now.plusDays(1)));
+    }
+
+    @Test
+    void findByItem_IdAndStatus_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByItem_IdAndStatus(id, BookingStatus.APPROVED));
+    }
+
+    @Test
+    void findCurrentForBooker_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findCurrentForBooker(id, offsetPage));
+    }
+
+    @Test
+    void findPastForBooker_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findPastForBooker(id, offsetPage));
+    }
+
+    @Test
+    void findFutureForBooker_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findFutureForBooker(id, offsetPage));
+    }
+
+    @Test
+    void findByStatusForBooker_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByStatusForBooker(id, BookingStatus.WAITING, offsetPage));
+    }
+
+    @Test
+    void findAllForBooker_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findAllForBooker(id, offsetPage));
+    }
+
+    @Test
+    void findCurrentForOwner_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findCurrentForOwner(id, offsetPage));
+    }
+
+    @Test
+    void findPastForOwner_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findPastForOwner(id, offsetPage));
+    }
+
+    @Test
+    void findFutureForOwner_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findFutureForOwner(id, offsetPage));
+    }
+
+    @Test
+    void findByStatusForOwner_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByStatusForOwner(id, BookingStatus.WAITING, offsetPage));
+    }
+
+    @Test
+    void findAllForOwner_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findAllForOwner(id, offsetPage));
+    }
+
+    @Test
+    void findCurrentForBookerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findCurrentForBookerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findPastForBookerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findPastForBookerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findFutureForBookerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findFutureForBookerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findByStatusForBookerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByStatusForBookerAfter(id, BookingStatus.WAITING, now, id,
+                keysetPage));
+    }
+
+    @Test
+    void findAllForBookerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findAllForBookerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findCurrentForOwnerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findCurrentForOwnerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findPastForOwnerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findPastForOwnerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findFutureForOwnerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findFutureForOwnerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findByStatusForOwnerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByStatusForOwnerAfter(id, BookingStatus.WAITING, now, id,
+                keysetPage));
+    }
+
+    @Test
+    void findAllForOwnerAfter_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findAllForOwnerAfter(id, now, id, keysetPage));
+    }
+
+    @Test
+    void findFirst1ByItem_IdAndEndLessThanOrderByEndDesc_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(id, now));
+    }
+
+    @Test
+    void findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(id, now));
+    }
+
+    @Test
+    void findLastForItems_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findLastForItems(List.of(id, id + 1), now));
+    }
+
+    @Test
+    void findNextForItems_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findNextForItems(List.of(id, id + 1), now));
+    }
+
+    @Test
+    void getItemBookingsCountForBooker_shouldUseIndex() {
+        assertNoFullScan(() -> bookingRepository.getItemBookingsCountForBooker(id, id + 1, BookingStatus.APPROVED));
+    }
+
+    @Test
+    void findByOwner_Id_shouldUseIndex() {
+        assertNoFullScan(() -> itemRepository.findByOwner_Id(id, OffsetPageRequest.ofOffset(10, 10,
+                Sort.by("id").ascending())));
+    }
+
+    @Test
+    void findByRequest_IdOrderByIdAsc_shouldUseIndex() {
+        assertNoFullScan(() -> itemRepository.findByRequest_IdOrderByIdAsc(id));
+    }
+
+    @Test
+    void findByRequest_IdInOrderByIdAsc_shouldUseIndex() {
+        assertNoFullScan(() -> itemRepository.findByRequest_IdInOrderByIdAsc(List.of(id, id + 1)));
+    }
+
+    @Test
+    void findByItem_IdOrderByCreatedDesc_shouldUseIndex() {
+        assertNoFullScan(() -> commentRepository.findByItem_IdOrderByCreatedDesc(id));
+    }
+
+    @Test
+    void findByItem_IdInOrderByCreatedDesc_shouldUseIndex() {
+        assertNoFullScan(() -> commentRepository.findByItem_IdInOrderByCreatedDesc(List.of(id, id + 1)));
+    }
+
+    @Test
+    void findByRequestor_Id_shouldUseIndex() {
+        assertNoFullScan(() -> itemRequestRepository.findByRequestor_Id(id, OffsetPageRequest.ofOffset(10, 10,
+                Sort.by("created").descending())));
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import javax.persistence.EntityManagerFactory;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
+
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
+@AutoConfigureTestDatabase
+@ActiveProfiles({"test", "no-l2-cache"})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class SecondLevelCacheDisabledTest {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findById_withNoL2CacheProfile_shouldQueryDatabase() {
+        User user = userRepository.save(createUser(null, "user", "uncachedUser@email.com"));
+
+        try {
+            StatementRecorder.clear();
+
+            userRepository.findById(user.getId()).orElseThrow();
+
+            assertThat(StatementRecorder.getStatements(), hasSize(1));
+            assertThat(entityManagerFactory.getCache().contains(User.class, user.getId()), is(false));
+        } finally {
+            userRepository.deleteById(user.getId());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
+import static ru.practicum.shareit.tools.factories.ItemFactory.*;
+import static ru.practicum.shareit.tools.factories.ItemRequestFactory.createItemRequest;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUserDtoFromClient;
+
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
+@AutoConfigureTestDatabase
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class SecondLevelCacheTest {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    User owner;
+
+    User booker;
+
+    ItemRequest request;
+
+    Item item;
+
+    Item otherItem;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUser(null, "owner", "cachedOwner@email.com"));
+        booker = userRepository.save(createUser(null, "booker", "cachedBooker@email.com"));
+        request = itemRequestRepository.save(createItemRequest(null, "description", LocalDateTime.now(), owner));
+        item = itemRepository.save(createItem(null, "name", "description", true, owner, request));
+        otherItem = itemRepository.save(createItem(null, "otherName", "description", true, owner, null));
+        bookingRepository.save(createBooking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), BookingStatus.APPROVED, item, booker));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(booker.getId());
+        itemRepository.deleteById(item.getId());
+        itemRepository.deleteById(otherItem.getId());
+        itemRequestRepository.deleteById(request.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    private CacheRegionStatistics statistics(String region) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics(region);
+    }
+
+    @Test
+    void findById_afterFirstLoad_shouldReturnUserItemAndRequestFromCacheWithoutStatements() {
+        userRepository.findById(owner.getId());
+        itemRepository.findById(item.getId());
+        itemRequestRepository.findById(request.getId());
+        long userHits = statistics("users").getHitCount();
+        long itemHits = statistics("items").getHitCount();
+        long requestHits = statistics("requests").getHitCount();
+        StatementRecorder.clear();
+
+        assertThat(userRepository.findById(owner.getId()).orElseThrow().getName(), equalTo("owner"));
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getName(), equalTo("name"));
+        assertThat(itemRequestRepository.findById(request.getId()).orElseThrow().getDescription(),
+                equalTo("description"));
+
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+        assertThat(statistics("users").getHitCount(), equalTo(userHits + 1));
+        assertThat(statistics("items").getHitCount(), equalTo(itemHits + 1));
+        assertThat(statistics("requests").getHitCount(), equalTo(requestHits + 1));
+    }
+
+    @Test
+    void findById_afterUpdate_shouldReturnUpdatedEntityFromCache() {
+        User updated = userRepository.findById(owner.getId()).orElseThrow();
+        updated.setName("updated");
+        userRepository.save(updated);
+        StatementRecorder.clear();
+
+        assertThat(userRepository.findById(owner.getId()).orElseThrow().getName(), equalTo("updated"));
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+    }
+
+    @Test
+    void createComment_shouldReloadCommentedItemWithNewVersionAndKeepOtherItemCached() {
+        long version = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+        itemRepository.findById(otherItem.getId());
+
+        itemService.createComment(booker.getId(), item.getId(), createCommentDtoFromClient("comment"));
+        StatementRecorder.clear();
+
+        assertThat(itemRepository.findById(otherItem.getId()).orElseThrow().getName(), equalTo("otherName"));
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getVersion(), equalTo(version + 1));
+        assertThat(StatementRecorder.getStatements(), hasSize(1));
+    }
+
+    @Test
+    void update_withRenamedCommentAuthor_shouldReloadCommentedItemWithNewVersionAndKeepOtherItemCached() {
+        itemService.createComment(booker.getId(), item.getId(), createCommentDtoFromClient("comment"));
+        long version = itemRepository.findById(item.getId()).orElseThrow().getVersion();
+        itemRepository.findById(otherItem.getId());
+
+        userService.update(booker.getId(), createUserDtoFromClient("renamedBooker", null));
+        StatementRecorder.clear();
+
+        assertThat(itemRepository.findById(otherItem.getId()).orElseThrow().getName(), equalTo("otherName"));
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getVersion(), equalTo(version + 1));
+        assertThat(StatementRecorder.getStatements(), hasSize(1));
+    }
+
+    @Test
+    void createItem_withRequest_shouldReloadRequestWithNewVersionAndKeepOtherRequestCached() {
+        ItemRequest otherRequest = itemRequestRepository.save(createItemRequest(null, "otherDescription",
+                LocalDateTime.now(), owner));
+        long version = itemRequestRepository.findById(request.getId()).orElseThrow().getVersion();
+        itemRequestRepository.findById(otherRequest.getId());
+
+        Long createdId = itemService.create(booker.getId(), createItemDtoFromClient("answer", "description", true,
+                request.getId())).getId();
+        StatementRecorder.clear();
+
+        assertThat(itemRequestRepository.findById(otherRequest.getId()).orElseThrow().getDescription(),
+                equalTo("otherDescription"));
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+        assertThat(itemRequestRepository.findById(request.getId()).orElseThrow().getVersion(),
+                equalTo(version + 1));
+        assertThat(StatementRecorder.getStatements(), hasSize(1));
+
+        itemRepository.deleteById(createdId);
+        itemRequestRepository.deleteById(otherRequest.getId());
+    }
+
+    @Test
+    void delete_shouldEvictDeletedOwnerItemsAndRequestsAndKeepOtherItemsCached() {
+        User deletedOwner = userRepository.save(createUser(null, "deletedOwner", "deletedOwner@email.com"));
+        Item deletedItem = itemRepository.save(createItem(null, "deletedName", "description", true, deletedOwner,
+                null));
+        ItemRequest deletedRequest = itemRequestRepository.save(createItemRequest(null, "deletedDescription",
+                LocalDateTime.now(), deletedOwner));
+        itemRepository.findById(deletedItem.getId());
+        itemRequestRepository.findById(deletedRequest.getId());
+        itemRepository.findById(otherItem.getId());
+
+        userService.delete(deletedOwner.getId());
+        StatementRecorder.clear();
+
+        assertThat(itemRepository.findById(otherItem.getId()).orElseThrow().getName(), equalTo("otherName"));
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+        assertThat(itemRepository.findById(deletedItem.getId()), is(Optional.empty()));
+        assertThat(itemRequestRepository.findById(deletedRequest.getId()), is(Optional.empty()));
+    }
+}
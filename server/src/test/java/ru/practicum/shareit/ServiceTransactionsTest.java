@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ServiceTransactionsTest {
+    private final TransactionAttributeSource source = new AnnotationTransactionAttributeSource();
+
+    private static List<Method> publicMethods(Class<?> type) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> Modifier.isPublic(method.getModifiers()) && !method.isSynthetic())
+                .collect(Collectors.toList());
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {BookingServiceImpl.class, ItemServiceImpl.class, ItemRequestServiceImpl.class,
+            UserServiceImpl.class})
+    void serviceMethods_shouldBeReadOnlyForReadsAndReadWriteForWrites(Class<?> type) {
+        List<Method> methods = publicMethods(type);
+
+        assertThat(methods, is(not(empty())));
+
+        for (Method method : methods) {
+            TransactionAttribute attribute = source.getTransactionAttribute(method, type);
+
+            assertThat(method.getName(), attribute, is(notNullValue()));
+            assertThat(method.getName(), attribute.isReadOnly(), equalTo(method.getName().startsWith("read")));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.ApprovedBookingsIndex;
+import ru.practicum.shareit.controller.ControllerErrorHandler;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestController;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
+import ru.practicum.shareit.user.User;
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import static org.hamcrest.Matchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createComment;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
+import static ru.practicum.shareit.tools.factories.ItemRequestFactory.createItemRequest;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementBudget;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementCount;
+
+@Transactional
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
+@AutoConfigureTestDatabase
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class SqlStatementCountTest {
+    MockMvc mockMvc;
+
+    @Autowired
+    BookingController bookingController;
+
+    @Autowired
+    ItemController itemController;
+
+    @Autowired
+    ItemRequestController itemRequestController;
+
+    @Autowired
+    ControllerErrorHandler controllerErrorHandler;
+
+    @Autowired
+    ApprovedBookingsIndex approvedBookingsIndex;
+
+    @Autowired
+    EntityManager em;
+
+    User owner;
+
+    User booker;
+
+    User requestor;
+
+    ItemRequest request;
+
+    Item item;
+
+    Booking pastBooking;
+
+    Booking futureBooking;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(bookingController, itemController, itemRequestController)
+                .setControllerAdvice(controllerErrorHandler)
+                .apply(sqlStatementBudget())
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        owner = createUser(null, "owner", "owner@email.com");
+        booker = createUser(null, "booker", "booker@email.com");
+        requestor = createUser(null, "requestor", "requestor@email.com");
+        em.persist(owner);
+        em.persist(booker);
+        em.persist(requestor);
+        request = createItemRequest(null, "requestDescription", now, requestor);
+        em.persist(request);
+        item = createItem(null, "itemName", "itemDescription", true, owner, request);
+        em.persist(item);
+        pastBooking = createBooking(null, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED, item, booker);
+        futureBooking = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING, item, booker);
+        em.persist(pastBooking);
+        em.persist(futureBooking);
+        em.persist(createComment(null, "commentText", now, booker, item));
+        em.flush();
+        em.clear();
+        approvedBookingsIndex.clear();
+    }
+
+    private void assertStatementCount(RequestBuilder request, int count) throws Exception {
+        mockMvc.perform(request).andExpectAll(status().isOk(), sqlStatementCount(equalTo(count)));
+    }
+
+    @Test
+    void readBookingById_shouldLoadBookingWithItemInOneStatement() throws Exception {
+        assertStatementCount(get("/bookings/{id}", futureBooking.getId())
+                .header("X-Sharer-User-Id", booker.getId()), 1);
+    }
+
+    @Test
+    void approveBooking_shouldLoadBookingWithItemAndApprovedPeriodsAndUpdateIt() throws Exception {
+        assertStatementCount(patch("/bookings/{id}", futureBooking.getId())
+                .header("X-Sharer-User-Id", owner.getId())
+                .param("approved", "true"), 3);
+    }
+
+    @Test
+    void readBookingsByBooker_shouldSelectPageAndCount() throws Exception {
+        assertStatementCount(get("/bookings")
+                .header("X-Sharer-User-Id", booker.getId())
+                .param("state", "ALL")
+                .param("from", "0")
+                .param("size", "1"), 2);
+    }
+
+    @Test
+    void readBookingsByOwnerAfter_shouldSelectSliceOnly() throws Exception {
+        assertStatementCount(get("/bookings/owner")
+                .header("X-Sharer-User-Id", owner.getId())
+                .param("state", "ALL")
+                .param("after", "")
+                .param("size", "1"), 1);
+    }
+
+    @Test
+    void readItemById_byOwner_shouldLoadItemBookingsAndCommentsWithAuthors() throws Exception {
+        assertStatementCount(get("/items/{id}", item.getId())
+                .header("X-Sharer-User-Id", owner.getId()), 4);
+    }
+
+    @Test
+    void readItemById_byOtherUser_shouldLoadItemAndCommentsWithAuthors() throws Exception {
+        assertStatementCount(get("/items/{id}", item.getId())
+                .header("X-Sharer-User-Id", booker.getId()), 2);
+    }
+
+    @Test
+    void readItemsByOwner_shouldLoadBookingsAndCommentsForWholePage() throws Exception {
+        assertStatementCount(get("/items")
+                .header("X-Sharer-User-Id", owner.getId()), 4);
+    }
+
+    @Test
+    void readItemRequestById_shouldLoadUserRequestAndItems() throws Exception {
+        assertStatementCount(get("/requests/{id}", request.getId())
+                .header("X-Sharer-User-Id", requestor.getId()), 3);
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -18,26 +19,30 @@ import ru.practicum.shareit.booking.dto.BookingDtoToClient;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.stream.Stream;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
 import static ru.practicum.shareit.tools.factories.BookingFactory.createBookingDtoFromClient;
 import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
 import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementBudget;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
 @AutoConfigureTestDatabase
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class BookingControllerIntegrationTests {
@@ -76,6 +81,7 @@ public class BookingControllerIntegrationTests {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(controller)
                 .setControllerAdvice(controllerErrorHandler)
+                .apply(sqlStatementBudget())
                 .build();
         owner = createUser(null, "ownerName", "owner@email.com");
         booker = createUser(null, "bookerName", "booker@email.com");
@@ -229,6 +235,50 @@ public class BookingControllerIntegrationTests {
                 );
     }
 
+    @Test
+    void readByBookerAfter_shouldReturnStatusOkAndSlicesOfBookerBookingsWithNextCursor() throws Exception {
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        Booking bookingStart1 = createBooking(null, start.plusDays(4), start.plusDays(5), BookingStatus.WAITING,
+                item, booker);
+        Booking bookingStart2 = createBooking(null, start.plusDays(3), start.plusDays(4), BookingStatus.WAITING,
+                otherItem, booker);
+        Booking bookingStart3OtherBooker = createBooking(null, start.plusDays(2), start.plusDays(3),
+                BookingStatus.WAITING, item, otherUser);
+        Booking bookingStart4 = createBooking(null, start.minusDays(1), start.plusDays(1), BookingStatus.REJECTED,
+                item, booker);
+        em.persist(bookingStart1);
+        em.persist(bookingStart2);
+        em.persist(bookingStart3OtherBooker);
+        em.persist(bookingStart4);
+        em.flush();
+        Long userId = booker.getId();
+
+        String firstSlice = mockMvc.perform(get("/bookings?state=ALL&after=&size=2")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.content.length()", equalTo(2)),
+                        jsonPath("$.content[0].id", equalTo(bookingStart1.getId()), Long.class),
+                        jsonPath("$.content[1].id", equalTo(bookingStart2.getId()), Long.class),
+                        jsonPath("$.next", notNullValue()))
+                .andReturn().getResponse().getContentAsString();
+        String next = objectMapper.readTree(firstSlice).get("next").asText();
+
+        mockMvc.perform(get("/bookings?state=ALL&size=2&after=" + next)
+                        .header("X-Sharer-User-Id", userId))
+                .andExpectAll(status().isOk(),
+                        jsonPath("$.content.length()", equalTo(1)),
+                        jsonPath("$.content[0].id", equalTo(bookingStart4.getId()), Long.class),
+                        jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    void readByOwnerAfter_withIncorrectCursor_shouldReturnStatusBadRequest() throws Exception {
+        Long userId = item.getOwner().getId();
+
+        mockMvc.perform(get("/bookings/owner?state=ALL&after=incorrect").header("X-Sharer-User-Id", userId))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void readByOwner_withNoBookings_shouldReturnStatusNotFound() throws Exception {
         Long userId = item.getOwner().getId();
@@ -327,6 +377,48 @@ public class BookingControllerIntegrationTests {
                 );
     }
 
+    @Test
+    void readById_withMatchingIfNoneMatch_shouldReturnStatusNotModified() throws Exception {
+        Booking existingBooking = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING,
+                item, booker);
+        em.persist(existingBooking);
+        em.flush();
+
+        String eTag = mockMvc.perform(get("/bookings/" + existingBooking.getId())
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/bookings/" + existingBooking.getId())
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void readById_afterApprove_shouldReturnStatusOkWithNewETag() throws Exception {
+        Booking existingBooking = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING,
+                item, booker);
+        em.persist(existingBooking);
+        em.flush();
+
+        String eTag = mockMvc.perform(get("/bookings/" + existingBooking.getId())
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(patch("/bookings/" + existingBooking.getId() + "?approved=true")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk());
+        em.clear();
+
+        mockMvc.perform(get("/bookings/" + existingBooking.getId())
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.status", equalTo(BookingStatus.APPROVED.toString())));
+    }
+
     @Test
     void approve_withNotExistingBooking_shouldReturnStatusNotFound() throws Exception {
         Long userId = owner.getId();
@@ -440,6 +532,7 @@ public class BookingControllerIntegrationTests {
                 );
 
         assertThat(em.contains(existingBooking), is(true));
+        em.refresh(existingBooking);
         assertThat(existingBooking, allOf(
                 hasProperty("id", equalTo(existingBooking.getId())),
                 hasProperty("start", equalTo(existingBooking.getStart())),
@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
@@ -17,10 +18,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingDtoToClient;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
+import ru.practicum.shareit.support.PageSizeLimit;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,6 +40,7 @@ import static ru.practicum.shareit.tools.matchers.BookingDtoFromClientMatcher.eq
 
 @WebMvcTest(BookingController.class)
 @SpringJUnitConfig({AppTestConfiguration.class})
+@Import(PageSizeLimit.class)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 class BookingControllerTest {
     @Autowired
@@ -240,6 +244,17 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadByBookerEndPointWithoutSize_shouldCallServiceWithMaxPageSize()
+            throws Exception {
+        doReturn(resultListDto).when(service).readByBooker(validUserId, state, 0, 100);
+
+        mockMvc.perform(get("/bookings?state=" + state)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().json(objectMapper.writeValueAsString(resultListDto)))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void request_withReadByOwnerEndPoint_shouldReturnStatusOkAndServiceReadByOwnerMethodResult()
             throws Exception {
@@ -251,10 +266,48 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadByBookerAfterEndPoint_shouldReturnStatusOkAndServiceReadByBookerAfterMethodResult()
+            throws Exception {
+        BookingSliceDto slice = new BookingSliceDto(resultListDto, "next");
+        doReturn(slice).when(service).readByBookerAfter(validUserId, state, "cursor", validSize);
+
+        mockMvc.perform(get("/bookings?state=" + state + "&after=cursor&size=" + validSize)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().json(objectMapper.writeValueAsString(slice)))
+                .andExpect(status().isOk());
+
+        verify(service, never()).readByBooker(any(), any(), any(), any());
+    }
+
+    @Test
+    void request_withReadByOwnerAfterEndPoint_shouldReturnStatusOkAndServiceReadByOwnerAfterMethodResult()
+            throws Exception {
+        BookingSliceDto slice = new BookingSliceDto(resultListDto, null);
+        doReturn(slice).when(service).readByOwnerAfter(validUserId, state, "", validSize);
+
+        mockMvc.perform(get("/bookings/owner?state=" + state + "&after=&size=" + validSize)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().json(objectMapper.writeValueAsString(slice)))
+                .andExpect(status().isOk());
+
+        verify(service, never()).readByOwner(any(), any(), any(), any());
+    }
+
+    @Test
+    void request_withReadByOwnerAfterEndPointAndSizeOverMax_shouldReturnStatusBadRequest()
+            throws Exception {
+        mockMvc.perform(get("/bookings/owner?state=" + state + "&after=&size=1000")
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).readByOwnerAfter(any(), any(), any(), any());
+    }
+
     @Test
     void request_withReadByIdEndPoint_shouldReturnStatusOkAndServiceReadByIdMethodResult()
             throws Exception {
-        doReturn(resultDto).when(service).readById(validId, validUserId);
+        doReturn(resultDto).when(service).readById(eq(validId), eq(validUserId), any());
 
         mockMvc.perform(get("/bookings/" + validId).header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().json(objectMapper.writeValueAsString(resultDto)))
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -12,8 +14,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
+import ru.practicum.shareit.booking.model.BookingPeriod;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.support.OffsetPageRequest;
 import ru.practicum.shareit.item.model.Item;
@@ -21,7 +26,11 @@ import ru.practicum.shareit.support.ConstraintChecker;
 import ru.practicum.shareit.user.User;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -365,6 +374,88 @@ class BookingRepositoryTest {
         assertThat(result.isEmpty(), is(true));
     }
 
+    @Test
+    void findLastForItems_shouldReturnLastBookingOfEachSelectedItem() {
+        LocalDateTime end = now;
+        Item notSelectedItem = createItem(null, "itemName3", "itemDesc3", true, owner, null);
+        em.persist(notSelectedItem);
+        Booking bookingFuture = createBooking(null, end.plusDays(1), end.plusDays(2), BookingStatus.APPROVED, item,
+                booker);
+        Booking bookingCurrent = createBooking(null, end.minusDays(1), end.plusDays(1), BookingStatus.APPROVED, item,
+                booker);
+        Booking bookingItemEnd1 = createBooking(null, end.minusDays(3), end.minusDays(2), BookingStatus.WAITING, item,
+                booker);
+        Booking bookingItemEnd2 = createBooking(null, end.minusDays(4), end.minusDays(3), BookingStatus.APPROVED, item,
+                otherUser);
+        Booking bookingOtherItemEnd1 = createBooking(null, end.minusDays(5), end.minusDays(4), BookingStatus.APPROVED,
+                otherItem, booker);
+        Booking bookingNotSelectedItemEnd1 = createBooking(null, end.minusDays(2), end.minusDays(1),
+                BookingStatus.APPROVED, notSelectedItem, booker);
+        em.persist(bookingFuture);
+        em.persist(bookingCurrent);
+        em.persist(bookingItemEnd2);
+        em.persist(bookingItemEnd1);
+        em.persist(bookingOtherItemEnd1);
+        em.persist(bookingNotSelectedItemEnd1);
+        em.flush();
+
+        List<Booking> result = repository.findLastForItems(List.of(item.getId(), otherItem.getId()), end);
+
+        assertThat(result, containsInAnyOrder(bookingItemEnd1, bookingOtherItemEnd1));
+    }
+
+    @Test
+    void findNextForItems_shouldReturnNextBookingOfEachSelectedItem() {
+        LocalDateTime start = now;
+        Item notSelectedItem = createItem(null, "itemName3", "itemDesc3", true, owner, null);
+        em.persist(notSelectedItem);
+        Booking bookingPast = createBooking(null, start.minusDays(2), start.minusDays(1), BookingStatus.APPROVED,
+                item, booker);
+        Booking bookingCurrent = createBooking(null, start.minusDays(1), start.plusDays(1), BookingStatus.APPROVED,
+                item, booker);
+        Booking bookingItemStart1 = createBooking(null, start.plusDays(2), start.plusDays(3), BookingStatus.REJECTED,
+                item, booker);
+        Booking bookingItemStart2 = createBooking(null, start.plusDays(3), start.plusDays(4), BookingStatus.APPROVED,
+                item, otherUser);
+        Booking bookingOtherItemStart1 = createBooking(null, start.plusDays(4), start.plusDays(5),
+                BookingStatus.APPROVED, otherItem, booker);
+        Booking bookingNotSelectedItemStart1 = createBooking(null, start.plusDays(1), start.plusDays(2),
+                BookingStatus.APPROVED, notSelectedItem, booker);
+        em.persist(bookingPast);
+        em.persist(bookingCurrent);
+        em.persist(bookingItemStart2);
+        em.persist(bookingItemStart1);
+        em.persist(bookingOtherItemStart1);
+        em.persist(bookingNotSelectedItemStart1);
+        em.flush();
+
+        List<Booking> result = repository.findNextForItems(List.of(item.getId(), otherItem.getId()), start);
+
+        assertThat(result, containsInAnyOrder(bookingItemStart1, bookingOtherItemStart1));
+    }
+
+    @Test
+    void findByItem_IdAndStatus_shouldReturnPeriodsOfItemBookingsWithSelectedStatus() {
+        Booking approved1 = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED, item,
+                booker);
+        Booking approved2 = createBooking(null, now.minusDays(2), now.minusDays(1), BookingStatus.APPROVED, item,
+                otherUser);
+        Booking waiting = createBooking(null, now.plusDays(3), now.plusDays(4), BookingStatus.WAITING, item, booker);
+        Booking otherItemApproved = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED,
+                otherItem, booker);
+        em.persist(approved1);
+        em.persist(approved2);
+        em.persist(waiting);
+        em.persist(otherItemApproved);
+        em.flush();
+
+        List<BookingPeriod> result = repository.findByItem_IdAndStatus(item.getId(), BookingStatus.APPROVED);
+
+        assertThat(result.stream().map(BookingPeriod::getId).collect(Collectors.toList()),
+                containsInAnyOrder(approved1.getId(), approved2.getId()));
+        assertThat(result.stream().allMatch(period -> period.getStart().isBefore(period.getEnd())), is(true));
+    }
+
     @Test
     void findCurrentForBooker_shouldReturnPageOfBookerCurrentBookings() {
         LocalDateTime now = LocalDateTime.now();
@@ -399,13 +490,13 @@ class BookingRepositoryTest {
         em.flush();
         Long bookerId = booker.getId();
 
-        Page<Booking> result = repository.findCurrentForBooker(bookerId, pageRequest);
+        Page<BookingListEntry> result = repository.findCurrentForBooker(bookerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart4,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart4.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -443,13 +534,13 @@ class BookingRepositoryTest {
         em.flush();
         Long ownerId = item.getOwner().getId();
 
-        Page<Booking> result = repository.findCurrentForOwner(ownerId, pageRequest);
+        Page<BookingListEntry> result = repository.findCurrentForOwner(ownerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart4,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart4.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -487,13 +578,13 @@ class BookingRepositoryTest {
         em.flush();
         Long bookerId = booker.getId();
 
-        Page<Booking> result = repository.findPastForBooker(bookerId, pageRequest);
+        Page<BookingListEntry> result = repository.findPastForBooker(bookerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart4,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart4.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -531,13 +622,13 @@ class BookingRepositoryTest {
         em.flush();
         Long ownerId = item.getOwner().getId();
 
-        Page<Booking> result = repository.findPastForOwner(ownerId, pageRequest);
+        Page<BookingListEntry> result = repository.findPastForOwner(ownerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart4,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart4.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -575,13 +666,13 @@ class BookingRepositoryTest {
         em.flush();
         Long bookerId = booker.getId();
 
-        Page<Booking> result = repository.findFutureForBooker(bookerId, pageRequest);
+        Page<BookingListEntry> result = repository.findFutureForBooker(bookerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart4,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart4.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -619,13 +710,13 @@ class BookingRepositoryTest {
         em.flush();
         Long ownerId = item.getOwner().getId();
 
-        Page<Booking> result = repository.findFutureForOwner(ownerId, pageRequest);
+        Page<BookingListEntry> result = repository.findFutureForOwner(ownerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart4,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart4.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -660,13 +751,13 @@ class BookingRepositoryTest {
         em.flush();
         Long bookerId = booker.getId();
 
-        Page<Booking> result = repository.findByStatusForBooker(bookerId, status, pageRequest);
+        Page<BookingListEntry> result = repository.findByStatusForBooker(bookerId, status, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart5,
-                bookingStart7,
-                bookingStart8
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart5.getId(),
+                bookingStart7.getId(),
+                bookingStart8.getId()
         ));
     }
 
@@ -697,13 +788,13 @@ class BookingRepositoryTest {
         em.flush();
         Long ownerId = item.getOwner().getId();
 
-        Page<Booking> result = repository.findByStatusForOwner(ownerId, status, pageRequest);
+        Page<BookingListEntry> result = repository.findByStatusForOwner(ownerId, status, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart5,
-                bookingStart7,
-                bookingStart8
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart5.getId(),
+                bookingStart7.getId(),
+                bookingStart8.getId()
         ));
     }
 
@@ -733,13 +824,13 @@ class BookingRepositoryTest {
         em.flush();
         Long bookerId = booker.getId();
 
-        Page<Booking> result = repository.findAllForBooker(bookerId, pageRequest);
+        Page<BookingListEntry> result = repository.findAllForBooker(bookerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart3,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart3.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
 
@@ -769,13 +860,182 @@ class BookingRepositoryTest {
         em.flush();
         Long ownerId = item.getOwner().getId();
 
-        Page<Booking> result = repository.findAllForOwner(ownerId, pageRequest);
+        Page<BookingListEntry> result = repository.findAllForOwner(ownerId, pageRequest);
 
-        assertThat(result, contains(
-                bookingStart2,
-                bookingStart3,
-                bookingStart5,
-                bookingStart6
+        assertThat(ids(result), contains(
+                bookingStart2.getId(),
+                bookingStart3.getId(),
+                bookingStart5.getId(),
+                bookingStart6.getId()
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllForBookerAfter_shouldReturnBookerBookingsAfterCursorOrderedByStartAndId() {
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        Booking bookingStart1 = createBooking(null, start.plusDays(2), start.plusDays(3), BookingStatus.WAITING,
+                item, booker);
+        Booking bookingStart2First = createBooking(null, start.plusDays(1), start.plusDays(2), BookingStatus.WAITING,
+                item, booker);
+        Booking bookingStart2Second = createBooking(null, start.plusDays(1), start.plusDays(2),
+                BookingStatus.APPROVED, otherItem, booker);
+        Booking bookingStart3 = createBooking(null, start.minusDays(1), start, BookingStatus.REJECTED, item, booker);
+        Booking bookingStart4OtherBooker = createBooking(null, start.minusDays(2), start.minusDays(1),
+                BookingStatus.WAITING, item, otherUser);
+        em.persist(bookingStart1);
+        em.persist(bookingStart2First);
+        em.persist(bookingStart2Second);
+        em.persist(bookingStart3);
+        em.persist(bookingStart4OtherBooker);
+        em.flush();
+        Long bookerId = booker.getId();
+        PageRequest keysetPageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        List<BookingListEntry> firstSlice = repository.findAllForBookerAfter(bookerId, start.plusYears(1), Long.MAX_VALUE,
+                keysetPageRequest);
+        BookingListEntry last = firstSlice.get(firstSlice.size() - 1);
+        List<BookingListEntry> secondSlice = repository.findAllForBookerAfter(bookerId, last.getStart(), last.getId(),
+                keysetPageRequest);
+
+        assertThat(ids(firstSlice), contains(bookingStart1.getId(), bookingStart2Second.getId()));
+        assertThat(ids(secondSlice), contains(bookingStart2First.getId(), bookingStart3.getId()));
+    }
+
+    @Test
+    void findFutureForOwnerAfter_shouldReturnOwnerFutureBookingsAfterCursor() {
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        Booking bookingStart1 = createBooking(null, start.plusDays(3), start.plusDays(4), BookingStatus.WAITING,
+                item, booker);
+        Booking bookingStart2 = createBooking(null, start.plusDays(2), start.plusDays(3), BookingStatus.WAITING,
+                item, otherUser);
+        Booking bookingStart3OtherOwner = createBooking(null, start.plusDays(1), start.plusDays(2),
+                BookingStatus.WAITING, otherItem, booker);
+        Booking bookingStart4Current = createBooking(null, start.minusDays(1), start.plusDays(1),
+                BookingStatus.APPROVED, item, booker);
+        em.persist(bookingStart1);
+        em.persist(bookingStart2);
+        em.persist(bookingStart3OtherOwner);
+        em.persist(bookingStart4Current);
+        em.flush();
+        Long ownerId = item.getOwner().getId();
+        PageRequest keysetPageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        List<BookingListEntry> result = repository.findFutureForOwnerAfter(ownerId, bookingStart1.getStart(),
+                bookingStart1.getId(), keysetPageRequest);
+
+        assertThat(ids(result), contains(bookingStart2.getId()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"WAITING", "REJECTED"})
+    void findByStatusForBookerAfter_shouldReturnBookerBookingsWithSelectedStatusAfterCursor(BookingStatus status) {
+        LocalDateTime start = now.truncatedTo(ChronoUnit.SECONDS);
+        Booking bookingStart1 = createBooking(null, start.plusDays(3), start.plusDays(4), status, item, booker);
+        Booking bookingStart2 = createBooking(null, start.plusDays(2), start.plusDays(3), status, item, booker);
+        Booking bookingStart3Approved = createBooking(null, start.plusDays(1), start.plusDays(2),
+                BookingStatus.APPROVED, item, booker);
+        Booking bookingStart4 = createBooking(null, start.minusDays(1), start, status, otherItem, booker);
+        em.persist(bookingStart1);
+        em.persist(bookingStart2);
+        em.persist(bookingStart3Approved);
+        em.persist(bookingStart4);
+        em.flush();
+        Long bookerId = booker.getId();
+        PageRequest keysetPageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        List<BookingListEntry> result = repository.findByStatusForBookerAfter(bookerId, status, bookingStart1.getStart(),
+                bookingStart1.getId(), keysetPageRequest);
+
+        assertThat(ids(result), contains(bookingStart2.getId(), bookingStart4.getId()));
+    }
+
+    @Test
+    void findAllForOwner_shouldReturnEntriesWithItemAndBookerWithoutLoadingEntities() {
+        Booking booking = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING, item, booker);
+        em.persist(booking);
+        em.flush();
+        em.clear();
+
+        Page<BookingListEntry> result = repository.findAllForOwner(item.getOwner().getId(),
+                OffsetPageRequest.ofOffset(0, 10, Sort.by("start").descending()));
+
+        assertThat(result, contains(allOf(
+                hasProperty("id", equalTo(booking.getId())),
+                hasProperty("status", equalTo(BookingStatus.WAITING)),
+                hasProperty("itemId", equalTo(item.getId())),
+                hasProperty("itemName", equalTo(item.getName())),
+                hasProperty("bookerId", equalTo(booker.getId()))
+        )));
+        assertThat(em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount(), equalTo(0));
+    }
+
+    @Test
+    void findWithItemById_shouldReturnBookingWithInitializedItemAndLazyBooker() {
+        Booking booking = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING, item, booker);
+        em.persist(booking);
+        em.flush();
+        em.clear();
+
+        Booking result = repository.findWithItemById(booking.getId()).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(result.getItem()), is(true));
+        assertThat(Hibernate.isInitialized(result.getBooker()), is(false));
+        assertThat(result.getItem().getName(), equalTo(item.getName()));
+        assertThat(result.getBooker().getId(), equalTo(booker.getId()));
+    }
+
+    private List<Long> ids(Iterable<BookingListEntry> entries) {
+        List<Long> ids = new ArrayList<>();
+        entries.forEach(entry -> ids.add(entry.getId()));
+        return ids;
+    }
+
+    private BookingStatus statusOf(Booking booking) {
+        em.refresh(booking);
+        return booking.getStatus();
+    }
+
+    @Test
+    void approveIfWaitingAndNotReserved_withoutOverlappingApprovedBookings_shouldApproveBooking() {
+        Booking waiting = em.persist(createBooking(null, start, end, BookingStatus.WAITING, item, booker));
+        em.persist(createBooking(null, end, end.plusDays(1), BookingStatus.APPROVED, item, booker));
+        em.persist(createBooking(null, start, end, BookingStatus.APPROVED, otherItem, booker));
+        em.persist(createBooking(null, start, end, BookingStatus.REJECTED, item, booker));
+        em.flush();
+
+        assertThat(repository.approveIfWaitingAndNotReserved(waiting.getId()), equalTo(1));
+        assertThat(statusOf(waiting), equalTo(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void approveIfWaitingAndNotReserved_withOverlappingApprovedBooking_shouldNotUpdateBooking() {
+        Booking waiting = em.persist(createBooking(null, start, end, BookingStatus.WAITING, item, booker));
+        em.persist(createBooking(null, start.minusDays(1), start.plusDays(1), BookingStatus.APPROVED, item,
+                otherUser));
+        em.flush();
+
+        assertThat(repository.approveIfWaitingAndNotReserved(waiting.getId()), equalTo(0));
+        assertThat(statusOf(waiting), equalTo(BookingStatus.WAITING));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"APPROVED", "REJECTED", "CANCELED"})
+    void approveIfWaitingAndNotReserved_withNotWaitingBooking_shouldNotUpdateBooking(BookingStatus status) {
+        Booking booking = em.persist(createBooking(null, start, end, status, item, booker));
+        em.flush();
+
+        assertThat(repository.approveIfWaitingAndNotReserved(booking.getId()), equalTo(0));
+        assertThat(repository.rejectIfWaiting(booking.getId()), equalTo(0));
+        assertThat(statusOf(booking), equalTo(status));
+    }
+
+    @Test
+    void rejectIfWaiting_withOverlappingApprovedBooking_shouldRejectBooking() {
+        Booking waiting = em.persist(createBooking(null, start, end, BookingStatus.WAITING, item, booker));
+        em.persist(createBooking(null, start, end, BookingStatus.APPROVED, item, otherUser));
+        em.flush();
+
+        assertThat(repository.rejectIfWaiting(waiting.getId()), equalTo(1));
+        assertThat(statusOf(waiting), equalTo(BookingStatus.REJECTED));
+    }
+}
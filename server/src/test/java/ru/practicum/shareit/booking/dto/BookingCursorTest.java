@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EmptySource;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.booking.model.BookingListEntry;
+import java.time.LocalDateTime;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
+import static ru.practicum.shareit.tools.factories.BookingFactory.createBookingListEntry;
+
+class BookingCursorTest {
+    @Test
+    void decode_withEncodedCursor_shouldReturnEqualCursor() {
+        BookingListEntry booking = createBookingListEntry(createBooking(5L, LocalDateTime.of(2023, 1, 2, 3, 4, 5,
+                123456000), null, null, null, null));
+        BookingCursor cursor = BookingCursor.of(booking);
+
+        BookingCursor decoded = BookingCursor.decode(cursor.encode());
+
+        assertThat(decoded, equalTo(cursor));
+        assertThat(decoded.getStart(), equalTo(booking.getStart()));
+        assertThat(decoded.getId(), equalTo(booking.getId()));
+    }
+
+    @Test
+    void encode_shouldReturnUrlSafeValue() {
+        BookingCursor cursor = BookingCursor.of(createBookingListEntry(createBooking(Long.MAX_VALUE,
+                LocalDateTime.now(), null, null, null, null)));
+
+        assertThat(cursor.encode(), matchesPattern("[A-Za-z0-9_-]+"));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @EmptySource
+    @ValueSource(strings = {" "})
+    void decode_withBlankValue_shouldReturnFirstCursor(String value) {
+        assertThat(BookingCursor.decode(value), sameInstance(BookingCursor.first()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"%%%", "bm90IGEgY3Vyc29y", "MjAyMC0wMS0wMVQwMDowMF9h", "YV8x", "MV8yXzM"})
+    void decode_withIncorrectValue_shouldThrowIllegalArgumentException(String value) {
+        assertThrows(IllegalArgumentException.class, () -> BookingCursor.decode(value));
+    }
+}
@@ -4,8 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import java.time.LocalDateTime;
+import java.util.List;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
@@ -60,6 +62,39 @@ class BookingMapperTest {
         ));
     }
 
+    @Test
+    void entryToDto_withNotNullFields_shouldReturnDtoWithItemAndBooker() {
+        BookingListEntry source = new BookingListEntry(10L, LocalDateTime.now(), LocalDateTime.now().plusDays(1),
+                BookingStatus.APPROVED, 20L, "itemName", 30L);
+
+        BookingDtoToClient target = bookingMapper.entryToDto(source);
+
+        assertThat(target, allOf(
+                hasProperty("id", equalTo(source.getId())),
+                hasProperty("start", equalTo(source.getStart())),
+                hasProperty("end", equalTo(source.getEnd())),
+                hasProperty("status", equalTo(source.getStatus())),
+                hasProperty("booker", hasProperty("id", equalTo(source.getBookerId()))),
+                hasProperty("item", allOf(
+                        hasProperty("id", equalTo(source.getItemId())),
+                        hasProperty("name", equalTo(source.getItemName()))
+                ))
+        ));
+    }
+
+    @Test
+    void toDtoList_withEntries_shouldReturnDtoListInSameOrder() {
+        List<BookingDtoToClient> target = bookingMapper.toDtoList(List.of(
+                new BookingListEntry(2L, null, null, BookingStatus.WAITING, 20L, "itemName", 30L),
+                new BookingListEntry(1L, null, null, BookingStatus.REJECTED, 20L, "itemName", 31L)
+        ));
+
+        assertThat(target, contains(
+                allOf(hasProperty("id", equalTo(2L)), hasProperty("booker", hasProperty("id", equalTo(30L)))),
+                allOf(hasProperty("id", equalTo(1L)), hasProperty("booker", hasProperty("id", equalTo(31L))))
+        ));
+    }
+
     @Test
     void toEntity_withNotNullFields_shouldReturnEntityWithNotNullFieldsAndNullItem() {
         BookingDtoFromClient source = createBookingDtoFromClient(10L, LocalDateTime.now(),
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
+
+@SpringBootTest(classes = ApprovedBookingsIndex.class)
+@TestPropertySource(properties = {
+        "shareit-server.booking-index.enabled=true",
+        "shareit-server.booking-index.max-items=2"
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class ApprovedBookingsIndexTest {
+    @Autowired
+    ApprovedBookingsIndex index;
+
+    @MockBean
+    BookingRepository repository;
+
+    final Long itemId = 1L;
+
+    LocalDateTime now;
+
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        index.clear();
+        now = LocalDateTime.now();
+        item = createItem(itemId, "itemName", null, true, null, null);
+    }
+
+    private BookingPeriod createPeriod(Long id, LocalDateTime start, LocalDateTime end) {
+        return new BookingPeriod() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+
+    @Test
+    void isReserved_withDisabledIndex_shouldReturnResultOfCountQuery() {
+        ApprovedBookingsIndex disabledIndex = new ApprovedBookingsIndex(repository, false, 2);
+        when(repository.getApprovedBookingsCountInPeriodForItem(itemId, BookingStatus.APPROVED, now,
+                now.plusDays(1))).thenReturn(1L);
+
+        assertThat(disabledIndex.isReserved(itemId, now, now.plusDays(1)), is(true));
+        assertThat(disabledIndex.size(), equalTo(0));
+        verify(repository, never()).findByItem_IdAndStatus(any(), any());
+    }
+
+    @Test
+    void isReserved_withColdItem_shouldLoadApprovedBookingsOnce() {
+        when(repository.findByItem_IdAndStatus(itemId, BookingStatus.APPROVED))
+                .thenReturn(List.of(createPeriod(1L, now.plusDays(1), now.plusDays(2))));
+
+        assertThat(index.isReserved(itemId, now, now.plusDays(1)), is(false));
+        assertThat(index.isReserved(itemId, now, now.plusDays(1).plusHours(1)), is(true));
+        assertThat(index.isReserved(itemId, now.plusDays(2), now.plusDays(3)), is(false));
+        assertThat(index.size(), equalTo(1));
+        verify(repository, times(1)).findByItem_IdAndStatus(itemId, BookingStatus.APPROVED);
+        verify(repository, never()).getApprovedBookingsCountInPeriodForItem(any(), any(), any(), any());
+    }
+
+    @Test
+    void addApproved_withBookingLoadedBeforeApproval_shouldReserveItsPeriod() {
+        when(repository.findByItem_IdAndStatus(itemId, BookingStatus.APPROVED)).thenReturn(List.of());
+        assertThat(index.isReserved(itemId, now.plusDays(1), now.plusDays(2)), is(false));
+
+        index.addApproved(createBooking(2L, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING, item, null));
+
+        assertThat(index.isReserved(itemId, now.plusDays(1), now.plusDays(2)), is(true));
+    }
+
+    @Test
+    void addApproved_withNotLoadedItem_shouldNotLoadItem() {
+        index.addApproved(createBooking(2L, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED, item, null));
+
+        assertThat(index.size(), equalTo(0));
+        verify(repository, never()).findByItem_IdAndStatus(any(), any());
+    }
+
+    @Test
+    void isReserved_withMaxItemsReached_shouldReturnResultOfCountQuery() {
+        when(repository.findByItem_IdAndStatus(any(), any())).thenReturn(List.of());
+        when(repository.getApprovedBookingsCountInPeriodForItem(3L, BookingStatus.APPROVED, now,
+                now.plusDays(1))).thenReturn(1L);
+        index.isReserved(1L, now, now.plusDays(1));
+        index.isReserved(2L, now, now.plusDays(1));
+
+        assertThat(index.isReserved(3L, now, now.plusDays(1)), is(true));
+        assertThat(index.size(), equalTo(2));
+        verify(repository, never()).findByItem_IdAndStatus(3L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void clear_shouldReloadItemsOnNextCheck() {
+        when(repository.findByItem_IdAndStatus(itemId, BookingStatus.APPROVED)).thenReturn(List.of());
+        index.isReserved(itemId, now, now.plusDays(1));
+
+        index.clear();
+        index.isReserved(itemId, now, now.plusDays(1));
+
+        assertThat(index.size(), equalTo(1));
+        verify(repository, times(2)).findByItem_IdAndStatus(itemId, BookingStatus.APPROVED);
+    }
+}
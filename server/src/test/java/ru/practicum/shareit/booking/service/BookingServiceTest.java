@@ -13,16 +13,23 @@ import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingDtoToClient;
 import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingSliceDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.support.OffsetPageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -45,10 +52,10 @@ import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.tools.factories.BookingFactory.*;
 import static ru.practicum.shareit.tools.factories.UserFactory.*;
 import static ru.practicum.shareit.tools.factories.ItemFactory.*;
-import static ru.practicum.shareit.tools.matchers.BookingMatcher.equalToBooking;
 
-@SpringBootTest(classes = {BookingServiceImpl.class, BookingMapperImpl.class})
+@SpringBootTest(classes = {BookingServiceImpl.class, BookingMapperImpl.class, ApprovedBookingsIndex.class})
 @SpringJUnitConfig({AppTestConfiguration.class})
+@TestPropertySource(properties = "shareit-server.booking-index.enabled=false")
 @FieldDefaults(level = AccessLevel.PRIVATE)
 class BookingServiceTest {
     @Autowired
@@ -87,9 +94,9 @@ class BookingServiceTest {
 
     OffsetPageRequest offsetPageRequest;
 
-    Page<Booking> emptyList;
+    Page<BookingListEntry> emptyList;
 
-    Page<Booking> bookings;
+    Page<BookingListEntry> bookings;
 
     @BeforeEach
     void setUp() {
@@ -105,7 +112,7 @@ class BookingServiceTest {
                 item, user);
         offsetPageRequest = OffsetPageRequest.ofOffset(from, size, Sort.by("start").descending());
         emptyList = new PageImpl<>(List.of());
-        bookings = new PageImpl<>(List.of(copyOf(existingBooking)));
+        bookings = new PageImpl<>(List.of(createBookingListEntry(existingBooking)));
     }
 
     @Test
@@ -390,6 +397,102 @@ class BookingServiceTest {
                 .findAllForBooker(userId, offsetPageRequest);
     }
 
+    private void mockReadAfter(BookingState state, boolean byOwner, BookingCursor cursor, Pageable pageable,
+                               List<BookingListEntry> result) {
+        LocalDateTime start = cursor.getStart();
+        Long cursorId = cursor.getId();
+
+        switch (state) {
+            case CURRENT:
+                when(byOwner ? repository.findCurrentForOwnerAfter(userId, start, cursorId, pageable)
+                        : repository.findCurrentForBookerAfter(userId, start, cursorId, pageable)).thenReturn(result);
+                break;
+            case PAST:
+                when(byOwner ? repository.findPastForOwnerAfter(userId, start, cursorId, pageable)
+                        : repository.findPastForBookerAfter(userId, start, cursorId, pageable)).thenReturn(result);
+                break;
+            case FUTURE:
+                when(byOwner ? repository.findFutureForOwnerAfter(userId, start, cursorId, pageable)
+                        : repository.findFutureForBookerAfter(userId, start, cursorId, pageable)).thenReturn(result);
+                break;
+            case WAITING:
+                when(byOwner
+                        ? repository.findByStatusForOwnerAfter(userId, BookingStatus.WAITING, start, cursorId,
+                        pageable)
+                        : repository.findByStatusForBookerAfter(userId, BookingStatus.WAITING, start, cursorId,
+                        pageable)).thenReturn(result);
+                break;
+            case REJECTED:
+                when(byOwner
+                        ? repository.findByStatusForOwnerAfter(userId, BookingStatus.REJECTED, start, cursorId,
+                        pageable)
+                        : repository.findByStatusForBookerAfter(userId, BookingStatus.REJECTED, start, cursorId,
+                        pageable)).thenReturn(result);
+                break;
+            default:
+                when(byOwner ? repository.findAllForOwnerAfter(userId, start, cursorId, pageable)
+                        : repository.findAllForBookerAfter(userId, start, cursorId, pageable)).thenReturn(result);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void readByBookerAfter_withMoreBookingsThanSize_shouldReturnSliceWithNextCursor(BookingState state) {
+        Booking nextBooking = createBooking(id + 1, existingBooking.getStart().minusDays(1),
+                existingBooking.getEnd().minusDays(1), BookingStatus.WAITING, item, user);
+        BookingCursor cursor = BookingCursor.of(createBookingListEntry(createBooking(10L,
+                existingBooking.getStart().plusDays(1), null, null, null, null)));
+        mockReadAfter(state, false, cursor, keysetPageable(1), List.of(createBookingListEntry(existingBooking),
+                createBookingListEntry(nextBooking)));
+
+        BookingSliceDto slice = service.readByBookerAfter(userId, state, cursor.encode(), 1);
+
+        assertThat(slice.getContent(), contains(hasProperty("id", equalTo(existingBooking.getId()))));
+        assertThat(BookingCursor.decode(slice.getNext()), equalTo(BookingCursor.of(createBookingListEntry(existingBooking))));
+        verify(repository, never()).count();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingState.class)
+    void readByOwnerAfter_withLastPage_shouldReturnSliceWithoutNextCursor(BookingState state) {
+        mockReadAfter(state, true, BookingCursor.first(), keysetPageable(size),
+                List.of(createBookingListEntry(existingBooking)));
+
+        BookingSliceDto slice = service.readByOwnerAfter(userId, state, "", size);
+
+        assertThat(slice.getContent(), contains(allOf(
+                hasProperty("id", equalTo(existingBooking.getId())),
+                hasProperty("start", equalTo(existingBooking.getStart())),
+                hasProperty("end", equalTo(existingBooking.getEnd())),
+                hasProperty("status", equalTo(existingBooking.getStatus()))
+        )));
+        assertThat(slice.getNext(), nullValue());
+    }
+
+    @Test
+    void readByBookerAfter_withNoBookings_shouldReturnEmptySlice() {
+        when(repository.findAllForBookerAfter(userId, BookingCursor.first().getStart(), BookingCursor.first().getId(),
+                keysetPageable(null))).thenReturn(List.of());
+
+        BookingSliceDto slice = service.readByBookerAfter(userId, BookingState.ALL, null, null);
+
+        assertThat(slice.getContent(), empty());
+        assertThat(slice.getNext(), nullValue());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"%%%", "bm90IGEgY3Vyc29y", "MjAyMC0wMS0wMVQwMDowMF9h"})
+    void readByOwnerAfter_withIncorrectCursor_shouldThrowBadRequestException(String after) {
+        assertThrows(BadRequestException.class, () -> service.readByOwnerAfter(userId, BookingState.ALL, after, size));
+
+        verify(repository, never()).findAllForOwnerAfter(any(), any(), any(), any());
+    }
+
+    private Pageable keysetPageable(Integer size) {
+        return PageRequest.of(0, size == null ? Integer.MAX_VALUE : size + 1,
+                Sort.by(Sort.Direction.DESC, "start", "id"));
+    }
+
     static Stream<Arguments> userIds() {
         return Stream.of(
                 Arguments.of("bookerId", userId),
@@ -401,14 +504,14 @@ class BookingServiceTest {
     @ParameterizedTest(name = "{0}")
     @MethodSource("userIds")
     void readById_withNotExistingId_shouldThrowNotFoundException(String testName, Long userId) {
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findWithItemById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.readById(id, userId));
     }
 
     @Test
     void readById_withNotBookerOrItemOwner_shouldThrowNotFoundException() {
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         assertThrows(NotFoundException.class, () -> service.readById(id, otherUserId));
     }
@@ -423,7 +526,7 @@ class BookingServiceTest {
     @ParameterizedTest(name = "{0}")
     @MethodSource("allowedUserIds")
     void readById_shouldReturnDtoOfSelectedBooking(String testName, Long userId) {
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         BookingDtoToClient resultBookingDto = service.readById(id, userId);
 
@@ -446,10 +549,11 @@ class BookingServiceTest {
     void approve_withNotExistingId_shouldThrowNotFoundException(boolean approved) {
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findWithItemById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.approve(id, ownerId, approved));
-        verify(repository, never()).saveAndFlush(any());
+        verify(repository, never()).approveIfWaitingAndNotReserved(any());
+        verify(repository, never()).rejectIfWaiting(any());
     }
 
     static Stream<Arguments> approveNotItemOwner() {
@@ -465,10 +569,11 @@ class BookingServiceTest {
     void approve_withNotItemOwner_shouldThrowNotFoundException(String testName, boolean approved, Long userId) {
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         assertThrows(NotFoundException.class, () -> service.approve(id, userId, approved));
-        verify(repository, never()).saveAndFlush(any());
+        verify(repository, never()).approveIfWaitingAndNotReserved(any());
+        verify(repository, never()).rejectIfWaiting(any());
     }
 
     static Stream<Arguments> approveNotWaitingStatus() {
@@ -483,10 +588,11 @@ class BookingServiceTest {
         existingBooking.setStatus(status);
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         assertThrows(BadRequestException.class, () -> service.approve(id, ownerId, approved));
-        verify(repository, never()).saveAndFlush(any());
+        verify(repository, never()).approveIfWaitingAndNotReserved(any());
+        verify(repository, never()).rejectIfWaiting(any());
     }
 
     @ParameterizedTest
@@ -495,10 +601,11 @@ class BookingServiceTest {
         existingBooking.getItem().setAvailable(false);
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         assertThrows(BadRequestException.class, () -> service.approve(id, ownerId, approved));
-        verify(repository, never()).saveAndFlush(any());
+        verify(repository, never()).approveIfWaitingAndNotReserved(any());
+        verify(repository, never()).rejectIfWaiting(any());
     }
 
     @ParameterizedTest
@@ -508,30 +615,66 @@ class BookingServiceTest {
         existingBooking.setEnd(LocalDateTime.now());
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         assertThrows(BadRequestException.class, () -> service.approve(id, ownerId, approved));
-        verify(repository, never()).saveAndFlush(any());
+        verify(repository, never()).approveIfWaitingAndNotReserved(any());
+        verify(repository, never()).rejectIfWaiting(any());
     }
 
     @Test
     void approve_withApprovedInReservedTime_shouldBadRequestException() {
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(1L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
 
         assertThrows(BadRequestException.class, () -> service.approve(id, ownerId, true));
+        verify(repository, never()).approveIfWaitingAndNotReserved(any());
+        verify(repository, never()).rejectIfWaiting(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void approve_withConcurrentlyChangedBooking_shouldThrowBadRequestException(boolean approved) {
+        when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
+                BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.approveIfWaitingAndNotReserved(id)).thenReturn(0);
+        when(repository.rejectIfWaiting(id)).thenReturn(0);
+
+        assertThrows(BadRequestException.class, () -> service.approve(id, ownerId, approved));
         verify(repository, never()).saveAndFlush(any());
     }
 
+    @Test
+    void approve_withConcurrentlyApprovedOverlappingBooking_shouldThrowBadRequestException() {
+        when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
+                BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.approveIfWaitingAndNotReserved(id)).thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint \"ex_booking_approved_overlap\""));
+
+        assertThrows(BadRequestException.class, () -> service.approve(id, ownerId, true));
+    }
+
+    @Test
+    void approve_withOtherDataIntegrityViolation_shouldRethrowException() {
+        when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
+                BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.approveIfWaitingAndNotReserved(id)).thenThrow(new DataIntegrityViolationException("other"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.approve(id, ownerId, true));
+    }
+
     @Test
     void approve_withRejectedInReservedTime_shouldReturnDtoOfRejectedBooking() {
         Booking updatedBooking = copyOf(existingBooking);
         updatedBooking.setStatus(BookingStatus.REJECTED);
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(1L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
-        when(repository.saveAndFlush(argThat(equalToBooking(updatedBooking)))).thenReturn(copyOf(updatedBooking));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.rejectIfWaiting(id)).thenReturn(1);
 
         BookingDtoToClient resultBookingDto = service.approve(id, ownerId, false);
 
@@ -556,8 +699,9 @@ class BookingServiceTest {
         updatedBooking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
         when(repository.getApprovedBookingsCountInPeriodForItem(existingBooking.getItem().getId(),
                 BookingStatus.APPROVED, existingBooking.getStart(), existingBooking.getEnd())).thenReturn(0L);
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
-        when(repository.saveAndFlush(argThat(equalToBooking(updatedBooking)))).thenReturn(copyOf(updatedBooking));
+        when(repository.findWithItemById(id)).thenReturn(Optional.of(copyOf(existingBooking)));
+        when(repository.approveIfWaitingAndNotReserved(id)).thenReturn(1);
+        when(repository.rejectIfWaiting(id)).thenReturn(1);
 
         BookingDtoToClient resultBookingDto = service.approve(id, ownerId, approved);
 
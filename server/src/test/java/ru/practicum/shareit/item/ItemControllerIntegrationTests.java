@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
@@ -8,12 +9,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
 import ru.practicum.shareit.item.dto.CommentDtoFromClient;
 import ru.practicum.shareit.item.dto.CommentDtoToClient;
 import ru.practicum.shareit.item.dto.ItemDtoFromClient;
@@ -21,16 +24,21 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
+import ru.practicum.shareit.support.Ndjson;
 import ru.practicum.shareit.user.User;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
@@ -38,9 +46,11 @@ import static ru.practicum.shareit.tools.factories.ItemFactory.*;
 import static ru.practicum.shareit.tools.factories.ItemRequestFactory.createItemRequest;
 import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
 import static ru.practicum.shareit.tools.matchers.HamcrestDateMatcher.near;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementBudget;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementCount;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
 @AutoConfigureTestDatabase
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemControllerIntegrationTests {
@@ -89,6 +99,7 @@ public class ItemControllerIntegrationTests {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(controller)
                 .setControllerAdvice(controllerErrorHandler)
+                .apply(sqlStatementBudget())
                 .build();
         owner = createUser(null, "owner", "owner@email.com");
         otherUser = createUser(null, "otherUser", "otherUser@email.com");
@@ -268,6 +279,44 @@ public class ItemControllerIntegrationTests {
                         jsonPath("$[1].comments", is(empty())));
     }
 
+    @Test
+    void readByOwner_withNdjsonAccept_shouldStreamJsonLineOfEveryOwnerItemWithBatchedQueries() throws Exception {
+        List<Item> ownerItems = new ArrayList<>();
+
+        for (int i = 0; i < 150; i++) {
+            Item item = createItem(null, "n" + i, "d" + i, true, owner, null);
+            em.persist(item);
+            ownerItems.add(item);
+        }
+
+        Item otherUserItem = createItem(null, "other", "other", true, otherUser, null);
+        em.persist(otherUserItem);
+        Booking lastBooking = createBooking(null, start, end, BookingStatus.APPROVED, ownerItems.get(120), booker);
+        em.persist(lastBooking);
+        em.flush();
+
+        String body = mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .accept(Ndjson.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, Ndjson.MEDIA_TYPE_VALUE))
+                .andExpect(sqlStatementCount(equalTo(7)))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(body, endsWith("\n"));
+        assertThat(lines.length, equalTo(ownerItems.size()));
+
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode line = objectMapper.readTree(lines[i]);
+            assertThat(line.get("id").asLong(), equalTo(ownerItems.get(i).getId()));
+            assertThat(line.get("comments").isArray(), is(true));
+        }
+
+        assertThat(objectMapper.readTree(lines[120]).get("lastBooking").get("id").asLong(),
+                equalTo(lastBooking.getId()));
+    }
+
     @Test
     void readByQuery_shouldReturnDtoListOfAvailableItemsWithQueryInTextOrDescriptionCaseInsensitiveSortedByIdAscWithPaginationAndNextAndLastBookingForOwnerItemsAndWithoutComments()
             throws Exception {
@@ -376,6 +425,111 @@ public class ItemControllerIntegrationTests {
                                 equalTo(comment2.getAuthor().getName())));
     }
 
+    @Test
+    void readById_withMatchingIfNoneMatch_shouldReturnStatusNotModifiedWithoutBody() throws Exception {
+        Item existingItem = createItem(null, name, description, available, owner, null);
+        em.persist(existingItem);
+        em.flush();
+
+        String eTag = mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/" + existingItem.getId())
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void readById_afterCommentCreated_shouldReturnStatusOkWithNewETag() throws Exception {
+        Item existingItem = createItem(null, name, description, available, owner, null);
+        em.persist(existingItem);
+        em.persist(createBooking(null, start, end, BookingStatus.APPROVED, existingItem, booker));
+        em.flush();
+
+        String eTag = mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", booker.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(post("/items/" + existingItem.getId() + "/comment")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .content(objectMapper.writeValueAsString(requestCommentDto))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        em.clear();
+
+        mockMvc.perform(get("/items/" + existingItem.getId())
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.comments", hasSize(1)));
+    }
+
+    @Test
+    void readById_forOtherUserRepeated_shouldServeCachedJsonWithoutLoadingComments() throws Exception {
+        Item existingItem = createItem(null, name, description, available, owner, null);
+        em.persist(existingItem);
+        em.persist(createComment(null, "t1", now.minusHours(4), booker, existingItem));
+        em.flush();
+        em.clear();
+
+        String body = mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andReturn().getResponse().getContentAsString();
+        em.clear();
+
+        mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", otherUser.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(sqlStatementCount(lessThanOrEqualTo(1)))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    void readById_forOtherUserAfterItemUpdated_shouldReturnUpdatedItem() throws Exception {
+        Item existingItem = createItem(null, name, description, available, owner, null);
+        em.persist(existingItem);
+        em.flush();
+
+        mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(jsonPath("$.name", equalTo(name)));
+        mockMvc.perform(patch("/items/" + existingItem.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .content("{\"name\":\"updatedName\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        em.clear();
+
+        mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", equalTo("updatedName")));
+    }
+
+    @Test
+    void readById_forOwnerAfterBookingCreated_shouldReturnStatusOkWithNewETag() throws Exception {
+        Item existingItem = createItem(null, name, description, available, owner, null);
+        em.persist(existingItem);
+        em.flush();
+
+        String eTag = mockMvc.perform(get("/items/" + existingItem.getId()).header("X-Sharer-User-Id", owner.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Booking booking = createBooking(null, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING, existingItem,
+                booker);
+        em.persist(booking);
+        em.flush();
+
+        mockMvc.perform(get("/items/" + existingItem.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.nextBooking.id", equalTo(booking.getId()), Long.class));
+    }
+
     @Test
     void update_withNotExistingRequestId_shouldReturnStatusNotFound() throws Exception {
         Long userId = owner.getId();
@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
@@ -20,12 +21,16 @@ import ru.practicum.shareit.item.dto.CommentDtoFromClient;
 import ru.practicum.shareit.item.dto.CommentDtoToClient;
 import ru.practicum.shareit.item.dto.ItemDtoFromClient;
 import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.search.ItemSearchOrder;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.support.Ndjson;
+import ru.practicum.shareit.support.PageSizeLimit;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import ru.practicum.shareit.tools.matchers.CommentDtoFromClientMatcher;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -40,6 +45,7 @@ import static ru.practicum.shareit.tools.matchers.ItemDtoFromClientMatcher.equal
 
 @WebMvcTest(ItemController.class)
 @SpringJUnitConfig({AppTestConfiguration.class})
+@Import(PageSizeLimit.class)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 class ItemControllerTest {
     @Autowired
@@ -253,11 +259,56 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadByOwnerEndPointWithoutSize_shouldCallServiceWithMaxPageSize()
+            throws Exception {
+        doReturn(resultListDto).when(service).readByOwner(validUserId, 0, 100);
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().json(objectMapper.writeValueAsString(resultListDto)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_withReadByOwnerEndPointAndSizeOverMax_shouldReturnStatusBadRequest()
+            throws Exception {
+        mockMvc.perform(get("/items?from=" + validFrom + "&size=100000")
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).readByOwner(any(), any(), any());
+    }
+
+    @Test
+    void request_withReadByOwnerEndPointAndNdjsonAccept_shouldStreamServiceResultAsJsonLines()
+            throws Exception {
+        ItemDtoToClient otherDto = createItemDtoToClient(validId + 1, "other", "otherDesc", false,
+                null, null, null, null);
+        doAnswer(invocation -> {
+            Consumer<ItemDtoToClient> consumer = invocation.getArgument(1);
+            consumer.accept(resultDto);
+            consumer.accept(otherDto);
+            return null;
+        }).when(service).readByOwner(eq(validUserId), any());
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", validUserId)
+                        .accept(Ndjson.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(Ndjson.MEDIA_TYPE_VALUE))
+                .andExpect(content().string(objectMapper.writeValueAsString(resultDto) + "\n"
+                        + objectMapper.writeValueAsString(otherDto) + "\n"));
+
+        verify(service, never()).readByOwner(any(), any(), any());
+    }
+
     @Test
     void request_withReadByQueryEndPoint_shouldReturnStatusOkAndServiceReadByQueryMethodResult()
             throws Exception {
         String query = "query";
-        doReturn(resultListDto).when(service).readByQuery(validUserId, query, validFrom, validSize);
+        doReturn(resultListDto).when(service).readByQuery(validUserId, query, ItemSearchOrder.ID, validFrom,
+                validSize);
 
         mockMvc.perform(get("/items/search?text=" + query + "&from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
@@ -265,12 +316,28 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadByQueryEndPointAndRelevanceOrder_shouldReturnStatusOkAndServiceReadByQueryMethodResult()
+            throws Exception {
+        String query = "query";
+        doReturn(resultListDto).when(service).readByQuery(validUserId, query, ItemSearchOrder.RELEVANCE, validFrom,
+                validSize);
+
+        mockMvc.perform(get("/items/search?text=" + query + "&order=RELEVANCE&from=" + validFrom + "&size="
+                        + validSize)
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().json(objectMapper.writeValueAsString(resultListDto)))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void request_withReadByIdEndPoint_shouldReturnStatusOkAndServiceReadByIdMethodResult()
             throws Exception {
-        doReturn(resultDto).when(service).readById(validUserId, validId);
+        doReturn(objectMapper.writeValueAsBytes(resultDto)).when(service)
+                .readSerializedById(eq(validUserId), eq(validId), any());
 
         mockMvc.perform(get("/items/" + validId).header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().json(objectMapper.writeValueAsString(resultDto)))
                 .andExpect(status().isOk());
     }
@@ -14,6 +14,7 @@ import ru.practicum.shareit.item.repository.CommentRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -108,6 +109,90 @@ class ItemMapperTest {
         ));
     }
 
+    @Test
+    void toDtoList_withOwnerAndRepositories_shouldLoadBookingsAndCommentsForAllItemsInBatch() {
+        Item ownerItem = createItem(10L, "itemName", "itemDescription", true,
+                createUser(20L, null, null), null);
+        Item otherItem = createItem(11L, "otherName", "otherDescription", true,
+                createUser(21L, null, null), null);
+        Booking last = createBooking(40L, null, null, null, ownerItem,
+                createUser(50L, null, null));
+        Booking next = createBooking(60L, null, null, null, ownerItem,
+                createUser(70L, null, null));
+        LocalDateTime now = LocalDateTime.now();
+        Comment ownerItemComment = createComment(80L, "text", now.minusDays(1),
+                createUser(null, "author", null), ownerItem);
+        Comment otherItemComment = createComment(81L, "otherText", now.minusDays(2),
+                createUser(null, "otherAuthor", null), otherItem);
+        when(bookingRepository.findLastForItems(eq(Set.of(ownerItem.getId())), argThat(near(now))))
+                .thenReturn(List.of(last));
+        when(bookingRepository.findNextForItems(eq(Set.of(ownerItem.getId())), argThat(near(now))))
+                .thenReturn(List.of(next));
+        when(commentRepository.findByItem_IdInOrderByCreatedDesc(Set.of(ownerItem.getId(), otherItem.getId())))
+                .thenReturn(List.of(ownerItemComment, otherItemComment));
+
+        List<ItemDtoToClient> target = itemMapper.toDtoList(List.of(ownerItem, otherItem),
+                ownerItem.getOwner().getId(), bookingRepository, commentRepository);
+
+        assertThat(target, contains(
+                allOf(
+                        hasProperty("id", equalTo(ownerItem.getId())),
+                        hasProperty("lastBooking", hasProperty("id", equalTo(last.getId()))),
+                        hasProperty("nextBooking", hasProperty("id", equalTo(next.getId()))),
+                        hasProperty("comments", contains(hasProperty("id", equalTo(ownerItemComment.getId()))))
+                ),
+                allOf(
+                        hasProperty("id", equalTo(otherItem.getId())),
+                        hasProperty("lastBooking", is(nullValue())),
+                        hasProperty("nextBooking", is(nullValue())),
+                        hasProperty("comments", contains(hasProperty("id", equalTo(otherItemComment.getId()))))
+                )
+        ));
+        verify(bookingRepository, times(1)).findLastForItems(any(), any());
+        verify(bookingRepository, times(1)).findNextForItems(any(), any());
+        verify(commentRepository, times(1)).findByItem_IdInOrderByCreatedDesc(any());
+        verify(bookingRepository, never()).findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(any(), any());
+        verify(bookingRepository, never()).findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(any(), any());
+        verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(any());
+    }
+
+    @Test
+    void toDtoList_withOwnerItemsWithoutBookingsAndComments_shouldReturnDtoListWithNullBookingsAndEmptyComments() {
+        Item ownerItem = createItem(10L, "itemName", "itemDescription", true,
+                createUser(20L, null, null), null);
+
+        List<ItemDtoToClient> target = itemMapper.toDtoList(List.of(ownerItem), ownerItem.getOwner().getId(),
+                bookingRepository, commentRepository);
+
+        assertThat(target, contains(allOf(
+                hasProperty("id", equalTo(ownerItem.getId())),
+                hasProperty("lastBooking", is(nullValue())),
+                hasProperty("nextBooking", is(nullValue())),
+                hasProperty("comments", is(empty()))
+        )));
+    }
+
+    @Test
+    void toDtoList_withNullAndNullUserIdAndRepositories_shouldReturnNull() {
+        assertThat(itemMapper.toDtoList(null, null, null, null), is(nullValue()));
+    }
+
+    @Test
+    void toDtoList_withNotOwnerAndNullCommentRepository_shouldNotQueryRepositories() {
+        Item item = createItem(10L, "itemName", "itemDescription", true,
+                createUser(20L, null, null), null);
+
+        List<ItemDtoToClient> target = itemMapper.toDtoList(List.of(item), 30L, bookingRepository, null);
+
+        assertThat(target, contains(allOf(
+                hasProperty("id", equalTo(item.getId())),
+                hasProperty("lastBooking", is(nullValue())),
+                hasProperty("nextBooking", is(nullValue())),
+                hasProperty("comments", is(nullValue()))
+        )));
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void toBookingDto_withNotNullFields_shouldReturnDtoWithNotNullFields() {
         Booking source = createBooking(10L, null, null, null, null,
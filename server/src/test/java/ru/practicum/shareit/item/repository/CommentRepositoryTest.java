@@ -196,4 +196,29 @@ class CommentRepositoryTest {
                 commentCreated4
         ));
     }
+
+    @Test
+    void findByItem_IdInOrderByCreatedDesc_shouldReturnListOfSelectedItemsCommentsSortedByCreatedDesc() {
+        Item notSelectedItem = createItem(null, "itemName3", "itemDesc3", true, owner, null);
+        em.persist(notSelectedItem);
+        Comment commentCreated1 = createComment(null, "text1", created.minusSeconds(10), author, item);
+        Comment commentCreated2OtherItem = createComment(null, "text1", created.minusSeconds(20), author, otherItem);
+        Comment commentCreated3NotSelectedItem = createComment(null, "text1", created.minusSeconds(30), otherUser,
+                notSelectedItem);
+        Comment commentCreated4 = createComment(null, "text1", created.minusSeconds(40), otherUser, item);
+        em.persist(commentCreated1);
+        em.persist(commentCreated4);
+        em.persist(commentCreated2OtherItem);
+        em.persist(commentCreated3NotSelectedItem);
+        em.flush();
+
+        List<Comment> result = repository.findByItem_IdInOrderByCreatedDesc(List.of(item.getId(),
+                otherItem.getId()));
+
+        assertThat(result, contains(
+                commentCreated1,
+                commentCreated2OtherItem,
+                commentCreated4
+        ));
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.support.OffsetPageRequest;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchEntry;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.support.ConstraintChecker;
 import ru.practicum.shareit.user.User;
@@ -22,6 +23,7 @@ import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -242,6 +244,24 @@ class ItemRepositoryTest {
         ));
     }
 
+    @Test
+    void streamByOwner_IdOrderByIdAsc_shouldStreamAllUserItemsSortedByIdAsc() {
+        Item itemId1 = createItem(null, "n1", "d1", true, owner, null);
+        Item itemId2NotOwner = createItem(null, "n2", "d2", true, otherUser, null);
+        Item itemId3 = createItem(null, "n3", "d3", true, owner, null);
+        em.persist(itemId1);
+        em.persist(itemId2NotOwner);
+        em.persist(itemId3);
+        em.flush();
+
+        try (Stream<Item> result = repository.streamByOwner_IdOrderByIdAsc(owner.getId())) {
+            assertThat(result.collect(Collectors.toList()), contains(
+                    itemId1,
+                    itemId3
+            ));
+        }
+    }
+
     @Test
     void findByRequest_IdOrderByIdAsc_shouldReturnListOfItemsCreatedFromRequestSortedByIdAsc() {
         Item itemId1 = createItem(null, "n1", "d1", true, owner, request);
@@ -263,6 +283,27 @@ class ItemRepositoryTest {
         ));
     }
 
+    @Test
+    void findByRequest_IdInOrderByIdAsc_shouldReturnListOfItemsCreatedFromAnyOfRequestsSortedByIdAsc() {
+        Item itemId1 = createItem(null, "n1", "d1", true, owner, request);
+        Item itemId2NullRequest = createItem(null, "n2", "d2", true, owner, null);
+        Item itemId3OtherRequest = createItem(null, "n3", "d3", true, owner, otherRequest);
+        Item itemId4 = createItem(null, "n4", "d4", true, otherUser, request);
+        em.persist(itemId1);
+        em.persist(itemId2NullRequest);
+        em.persist(itemId3OtherRequest);
+        em.persist(itemId4);
+        em.flush();
+
+        List<Item> result = repository.findByRequest_IdInOrderByIdAsc(List.of(request.getId(), otherRequest.getId()));
+
+        assertThat(result, contains(
+                itemId1,
+                itemId3OtherRequest,
+                itemId4
+        ));
+    }
+
     @Test
     void findByQuery_shouldReturnReturnPageOfAvailableItemsWithQueryInTextOrDescriptionCaseInsensitive() {
         Item itemId1NotInPage = createItem(null, "Text", "Text", true, owner, request);
@@ -300,4 +341,64 @@ class ItemRepositoryTest {
                 itemId9
         ));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByQueryOrderByRelevance_shouldReturnAvailableItemsWithQueryOrderedByNameMatchAndId() {
+        Item itemDescriptionMatch = createItem(null, "n1", "some text", true, owner, null);
+        Item itemNameContains = createItem(null, "someText", "d2", true, owner, null);
+        Item itemNameStartsWith = createItem(null, "TextBook", "d3", true, otherUser, null);
+        Item itemNameEqualsNotInPage = createItem(null, "TEXT", "d4", true, otherUser, null);
+        Item itemNotAvailable = createItem(null, "text", "text", false, owner, null);
+        Item itemNoQuery = createItem(null, "n6", "d6", true, owner, null);
+        Item itemNameEquals = createItem(null, "text", "d7", true, owner, null);
+        em.persist(itemDescriptionMatch);
+        em.persist(itemNameContains);
+        em.persist(itemNameStartsWith);
+        em.persist(itemNameEqualsNotInPage);
+        em.persist(itemNotAvailable);
+        em.persist(itemNoQuery);
+        em.persist(itemNameEquals);
+        em.flush();
+
+        List<Item> result = repository.findByQueryOrderByRelevance("Text", OffsetPageRequest.ofOffset(1, 4, null));
+
+        assertThat(result, contains(
+                itemNameEquals,
+                itemNameStartsWith,
+                itemNameContains,
+                itemDescriptionMatch
+        ));
+    }
+
+    @Test
+    void findAllSearchEntries_shouldReturnEntriesOfAllItemsIncludingItemsWithoutRequest() {
+        Item itemWithRequest = createItem(null, "n1", "d1", true, owner, request);
+        Item itemWithoutRequest = createItem(null, "n2", "d2", false, otherUser, null);
+        em.persist(itemWithRequest);
+        em.persist(itemWithoutRequest);
+        em.flush();
+
+        List<ItemSearchEntry> result = repository.findAllSearchEntries();
+
+        assertThat(result, containsInAnyOrder(
+                allOf(
+                        hasProperty("id", equalTo(itemWithRequest.getId())),
+                        hasProperty("version", equalTo(itemWithRequest.getVersion())),
+                        hasProperty("name", equalTo("n1")),
+                        hasProperty("description", equalTo("d1")),
+                        hasProperty("available", equalTo(true)),
+                        hasProperty("ownerId", equalTo(owner.getId())),
+                        hasProperty("requestId", equalTo(request.getId()))
+                ),
+                allOf(
+                        hasProperty("id", equalTo(itemWithoutRequest.getId())),
+                        hasProperty("version", equalTo(itemWithoutRequest.getVersion())),
+                        hasProperty("name", equalTo("n2")),
+                        hasProperty("description", equalTo("d2")),
+                        hasProperty("available", equalTo(false)),
+                        hasProperty("ownerId", equalTo(otherUser.getId())),
+                        hasProperty("requestId", is(nullValue()))
+                )
+        ));
+    }
+}
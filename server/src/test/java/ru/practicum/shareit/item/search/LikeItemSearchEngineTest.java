@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.support.OffsetPageRequest;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
+
+@SpringBootTest(classes = LikeItemSearchEngine.class)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class LikeItemSearchEngineTest {
+    @Autowired
+    ItemSearchEngine engine;
+
+    @MockBean
+    ItemRepository repository;
+
+    final String query = "query";
+
+    final int from = 5;
+
+    final int size = 10;
+
+    final Item item = createItem(1L, "query", "description", true, null, null);
+
+    @Test
+    void search_withIdOrder_shouldReturnItemsFoundByQuerySortedById() {
+        when(repository.findByQuery(query, OffsetPageRequest.ofOffset(from, size, Sort.by("id").ascending())))
+                .thenReturn(new PageImpl<>(List.of(item)));
+
+        assertThat(engine.search(query, ItemSearchOrder.ID, from, size), contains(item));
+        verify(repository, never()).findByQueryOrderByRelevance(any(), any());
+    }
+
+    @Test
+    void search_withRelevanceOrder_shouldReturnItemsFoundByQueryOrderedByRelevance() {
+        when(repository.findByQueryOrderByRelevance(query, OffsetPageRequest.ofOffset(from, size, null)))
+                .thenReturn(List.of(item));
+
+        assertThat(engine.search(query, ItemSearchOrder.RELEVANCE, from, size), contains(item));
+        verify(repository, never()).findByQuery(any(), any());
+    }
+}
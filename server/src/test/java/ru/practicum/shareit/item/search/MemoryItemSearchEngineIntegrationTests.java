@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDtoFromClient;
+import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
+import ru.practicum.shareit.user.service.UserService;
+import java.util.List;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createItemDtoFromClient;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUserDtoFromClient;
+
+@SpringBootTest(properties = {
+        "shareit-server.item-search.engine=memory",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ru.practicum.shareit.tools.inspectors.StatementRecorder"
+})
+@AutoConfigureTestDatabase
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class MemoryItemSearchEngineIntegrationTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemSearchEngine engine;
+
+    @Test
+    void readByQuery_withMemoryEngine_shouldFindCreatedAndUpdatedItemsWithoutQueries() {
+        Long ownerId = userService.create(createUserDtoFromClient("owner", "owner@email.com")).getId();
+        Long userId = userService.create(createUserDtoFromClient("user", "user@email.com")).getId();
+        Long firstId = itemService.create(ownerId, createItemDtoFromClient("Ледоруб", "Стальной", true, null))
+                .getId();
+        Long secondId = itemService.create(ownerId, createItemDtoFromClient("Кошки", "Для ледника", false, null))
+                .getId();
+        ItemDtoFromClient update = new ItemDtoFromClient();
+        update.setAvailable(true);
+        itemService.update(ownerId, secondId, update);
+        StatementRecorder.clear();
+
+        List<ItemDtoToClient> result = itemService.readByQuery(userId, "ЛЕД", ItemSearchOrder.ID, 0, 10);
+
+        assertThat(engine, instanceOf(MemoryItemSearchEngine.class));
+        assertThat(result, contains(
+                hasProperty("id", equalTo(firstId)),
+                allOf(hasProperty("id", equalTo(secondId)), hasProperty("available", equalTo(true)))
+        ));
+        assertThat(StatementRecorder.getStatements(), is(empty()));
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSearchEntry;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
+import static ru.practicum.shareit.tools.factories.ItemRequestFactory.createItemRequest;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
+
+@SpringBootTest(classes = {LikeItemSearchEngine.class, MemoryItemSearchEngine.class},
+        properties = {"shareit-server.item-search.engine=memory", "shareit-server.item-search.shards=4"})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class MemoryItemSearchEngineTest {
+    @Autowired
+    ItemSearchEngine engine;
+
+    @MockBean
+    ItemRepository repository;
+
+    final Long ownerId = 1L;
+
+    final Long requestId = 2L;
+
+    private ItemSearchEntry createEntry(Long id, String name, String description, Boolean available,
+                                        Long requestId) {
+        return new ItemSearchEntry() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getVersion() {
+                return 0L;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public String getDescription() {
+                return description;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return available;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+
+            @Override
+            public Long getRequestId() {
+                return requestId;
+            }
+        };
+    }
+
+    private List<Long> search(String query, ItemSearchOrder order, Integer from, Integer size) {
+        return engine.search(query, order, from, size).stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findAllSearchEntries()).thenReturn(List.of(
+                createEntry(1L, "Дрель", "Простая дрель", true, null),
+                createEntry(2L, "Аккумуляторная дрель", "С зарядкой", true, requestId),
+                createEntry(3L, "Отвёртка", "Аккумуляторная отвёртка", true, null),
+                createEntry(4L, "Дрель ударная", "Сломана", false, null),
+                createEntry(5L, "Пила", "Цепная пила для дрели", true, null),
+                createEntry(6L, "ДРЕЛЬ", "Мощная", true, null)
+        ));
+        engine.rebuild();
+    }
+
+    @Test
+    void engine_withMemoryProperty_shouldBeMemoryEngine() {
+        assertThat(engine, instanceOf(MemoryItemSearchEngine.class));
+        assertThat(((MemoryItemSearchEngine) engine).size(), equalTo(6));
+    }
+
+    @Test
+    void constructor_withNotPositiveShardCount_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MemoryItemSearchEngine(repository, 0));
+    }
+
+    @Test
+    void search_withIdOrder_shouldReturnAvailableItemsContainingQueryIgnoringCaseSortedById() {
+        assertThat(search("дРеЛ", ItemSearchOrder.ID, null, null), contains(1L, 2L, 5L, 6L));
+        assertThat(search("аккумуляторная", ItemSearchOrder.ID, null, null), contains(2L, 3L));
+        assertThat(search("молоток", ItemSearchOrder.ID, null, null), is(empty()));
+    }
+
+    @Test
+    void search_withQueryShorterThanGram_shouldReturnItemsContainingQuery() {
+        assertThat(search("ла", ItemSearchOrder.ID, null, null), contains(5L));
+        assertThat(search("Д", ItemSearchOrder.ID, null, null), contains(1L, 2L, 5L, 6L));
+    }
+
+    @Test
+    void search_withGramsInDifferentPlaces_shouldNotReturnItemsWithoutWholeQuery() {
+        assertThat(search("дрель простая", ItemSearchOrder.ID, null, null), is(empty()));
+    }
+
+    @Test
+    void search_withRelevanceOrder_shouldReturnItemsOrderedByNameMatchAndId() {
+        assertThat(search("дрель", ItemSearchOrder.RELEVANCE, null, null), contains(1L, 6L, 2L));
+        assertThat(search("дрел", ItemSearchOrder.RELEVANCE, null, null), contains(1L, 6L, 2L, 5L));
+    }
+
+    @Test
+    void search_withFromAndSize_shouldReturnPageOfItemsMergedFromAllShards() {
+        assertThat(search("д", ItemSearchOrder.ID, 1, 3), contains(2L, 5L, 6L));
+        assertThat(search("д", ItemSearchOrder.RELEVANCE, 1, 2), contains(6L, 2L));
+        assertThat(search("д", ItemSearchOrder.ID, 10, 3), is(empty()));
+    }
+
+    @Test
+    void search_shouldReturnItemsWithOwnerAndRequestIdsOnly() {
+        List<Item> result = engine.search("зарядкой", ItemSearchOrder.ID, null, null);
+
+        assertThat(result, contains(allOf(
+                hasProperty("id", equalTo(2L)),
+                hasProperty("name", equalTo("Аккумуляторная дрель")),
+                hasProperty("description", equalTo("С зарядкой")),
+                hasProperty("available", equalTo(true)),
+                hasProperty("owner", hasProperty("id", equalTo(ownerId))),
+                hasProperty("request", hasProperty("id", equalTo(requestId)))
+        )));
+    }
+
+    @Test
+    void search_shouldNotQueryRepository() {
+        clearInvocations(repository);
+
+        search("дрель", ItemSearchOrder.ID, null, null);
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void index_withNewItem_shouldMakeItSearchable() {
+        engine.index(createItem(7L, "Дрель-шуруповёрт", "Новая", true, createUser(ownerId, null, null), null));
+
+        assertThat(search("шуруп", ItemSearchOrder.ID, null, null), contains(7L));
+        assertThat(((MemoryItemSearchEngine) engine).size(), equalTo(7));
+    }
+
+    @Test
+    void index_withAvailableFlips_shouldAddAndRemoveItemFromResults() {
+        engine.index(createItem(4L, "Дрель ударная", "Починена", true, createUser(ownerId, null, null), null));
+
+        assertThat(search("ударная", ItemSearchOrder.ID, null, null), contains(4L));
+
+        engine.index(createItem(4L, "Дрель ударная", "Починена", false, createUser(ownerId, null, null), null));
+
+        assertThat(search("ударная", ItemSearchOrder.ID, null, null), is(empty()));
+        assertThat(((MemoryItemSearchEngine) engine).size(), equalTo(6));
+    }
+
+    @Test
+    void index_withChangedText_shouldSearchByNewTextOnly() {
+        engine.index(createItem(1L, "Перфоратор", "Простой", true, createUser(ownerId, null, null),
+                createItemRequest(requestId, null, null, null)));
+
+        assertThat(search("перфоратор", ItemSearchOrder.ID, null, null), contains(1L));
+        assertThat(search("простая дрель", ItemSearchOrder.ID, null, null), is(empty()));
+        assertThat(search("дрель", ItemSearchOrder.ID, null, null), contains(2L, 6L));
+    }
+
+    @Test
+    void index_withOlderVersionAfterNewerOne_shouldKeepNewerItem() {
+        Item newer = createItem(1L, "Перфоратор", "Простой", true, createUser(ownerId, null, null), null);
+        newer.setVersion(2);
+        Item older = createItem(1L, "Шуруповёрт", "Простой", true, createUser(ownerId, null, null), null);
+        older.setVersion(1);
+
+        engine.index(newer);
+        engine.index(older);
+
+        assertThat(search("перфоратор", ItemSearchOrder.ID, null, null), contains(1L));
+        assertThat(search("шуруповёрт", ItemSearchOrder.ID, null, null), is(empty()));
+    }
+
+    @Test
+    void removeByOwner_shouldRemoveOnlyOwnerItemsWithoutQueryingRepository() {
+        engine.index(createItem(7L, "Дрель-шуруповёрт", "Новая", true, createUser(3L, null, null), null));
+        clearInvocations(repository);
+
+        engine.removeByOwner(ownerId);
+
+        assertThat(search("дрель", ItemSearchOrder.ID, null, null), contains(7L));
+        assertThat(search("д", ItemSearchOrder.ID, null, null), contains(7L));
+        assertThat(((MemoryItemSearchEngine) engine).size(), equalTo(1));
+        verify(repository, never()).findAllSearchEntries();
+    }
+
+    @Test
+    void rebuild_shouldReplaceIndexWithRepositoryState() {
+        when(repository.findAllSearchEntries()).thenReturn(List.of(createEntry(8L, "Молоток", "Тяжёлый", true, null)));
+
+        engine.rebuild();
+
+        assertThat(search("дрель", ItemSearchOrder.ID, null, null), is(empty()));
+        assertThat(search("молоток", ItemSearchOrder.ID, null, null), contains(8L));
+        assertThat(((MemoryItemSearchEngine) engine).size(), equalTo(1));
+    }
+
+    @Test
+    void search_withManyItems_shouldReturnSameResultAsSequentialScan() {
+        List<ItemSearchEntry> entries = new ArrayList<>();
+        List<Long> expected = new ArrayList<>();
+
+        for (long id = 1; id <= 1000; id++) {
+            boolean matches = id % 7 == 0;
+            entries.add(createEntry(id, "item" + id, matches ? "has needle inside" : "plain", id % 3 != 0, null));
+
+            if (matches && id % 3 != 0) {
+                expected.add(id);
+            }
+        }
+
+        when(repository.findAllSearchEntries()).thenReturn(entries);
+        engine.rebuild();
+
+        assertThat(search("NEEDLE", ItemSearchOrder.ID, null, null), equalTo(expected));
+        assertThat(search("needle", ItemSearchOrder.ID, 10, 20), equalTo(expected.subList(10, 30)));
+    }
+}
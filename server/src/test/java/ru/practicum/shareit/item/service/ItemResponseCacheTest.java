@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(classes = {ItemResponseCache.class, JacksonAutoConfiguration.class})
+@TestPropertySource(properties = {
+        "shareit-server.item-response-cache.enabled=true",
+        "shareit-server.item-response-cache.max-items=2"
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class ItemResponseCacheTest {
+    @Autowired
+    ItemResponseCache cache;
+
+    final AtomicInteger views = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache.clear();
+    }
+
+    private Supplier<Object> view(String name) {
+        return () -> {
+            views.incrementAndGet();
+            return Map.of("name", name);
+        };
+    }
+
+    private static String json(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void get_withSameVersion_shouldBuildViewOnceAndReturnCachedJson() {
+        byte[] first = cache.get(1L, 0, view("first"));
+        byte[] second = cache.get(1L, 0, view("second"));
+
+        assertThat(json(first), equalTo("{\"name\":\"first\"}"));
+        assertThat(second, sameInstance(first));
+        assertThat(views.get(), equalTo(1));
+    }
+
+    @Test
+    void get_withNewerVersion_shouldReplaceCachedJson() {
+        cache.get(1L, 0, view("first"));
+
+        byte[] second = cache.get(1L, 1, view("second"));
+        byte[] third = cache.get(1L, 1, view("third"));
+
+        assertThat(json(second), equalTo("{\"name\":\"second\"}"));
+        assertThat(third, sameInstance(second));
+        assertThat(views.get(), equalTo(2));
+    }
+
+    @Test
+    void get_withOlderVersion_shouldNotReplaceNewerCachedJson() {
+        byte[] newer = cache.get(1L, 2, view("newer"));
+
+        byte[] older = cache.get(1L, 1, view("older"));
+
+        assertThat(json(older), equalTo("{\"name\":\"older\"}"));
+        assertThat(cache.get(1L, 2, view("other")), sameInstance(newer));
+        assertThat(views.get(), equalTo(2));
+    }
+
+    @Test
+    void get_withMaxItemsReached_shouldEvictOldItemsToCacheFrequentlyRequestedNewItem() {
+        cache.get(1L, 0, view("first"));
+        cache.get(2L, 0, view("second"));
+
+        for (int i = 0; i < 10; i++) {
+            cache.get(3L, 0, view("third"));
+        }
+
+        byte[] third = cache.get(3L, 0, view("third"));
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get(3L, 0, view("other")), sameInstance(third));
+        assertThat(views.get(), lessThan(12));
+    }
+
+    @Test
+    void evict_shouldRemoveCachedJson() {
+        cache.get(1L, 0, view("first"));
+
+        cache.evict(1L);
+        byte[] second = cache.get(1L, 0, view("second"));
+
+        assertThat(json(second), equalTo("{\"name\":\"second\"}"));
+        assertThat(views.get(), equalTo(2));
+    }
+
+    @Test
+    void evictAll_shouldRemoveCachedJsonOfSelectedItemsOnly() {
+        cache.get(1L, 0, view("first"));
+        byte[] second = cache.get(2L, 0, view("second"));
+
+        cache.evictAll(List.of(1L));
+
+        assertThat(cache.size(), equalTo(1));
+        assertThat(cache.get(2L, 0, view("other")), sameInstance(second));
+        assertThat(views.get(), equalTo(2));
+    }
+}
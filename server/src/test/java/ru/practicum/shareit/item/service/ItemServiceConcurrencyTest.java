@@ -0,0 +1,119 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDtoToClient;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static ru.practicum.shareit.tools.factories.BookingFactory.createBooking;
+import static ru.practicum.shareit.tools.factories.ItemFactory.*;
+import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class ItemServiceConcurrencyTest {
+    @Autowired
+    ItemService service;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    User owner;
+
+    User booker;
+
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(createUser(null, "owner", "concurrentOwner@email.com"));
+        booker = userRepository.save(createUser(null, "booker", "concurrentBooker@email.com"));
+        item = itemRepository.save(createItem(null, "name", "description", true, owner, null));
+        bookingRepository.save(createBooking(null, LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), BookingStatus.APPROVED, item, booker));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(booker.getId());
+        userRepository.deleteById(owner.getId());
+    }
+
+    private static void awaitBlocked(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        Set<Thread.State> blocked = Set.of(Thread.State.BLOCKED, Thread.State.WAITING, Thread.State.TIMED_WAITING);
+
+        while (thread.get() == null || !blocked.contains(thread.get().getState())) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Update did not wait for the comment transaction");
+            }
+
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void update_withConcurrentComment_shouldWaitForCommentAndKeepBothChanges() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Thread> updater = new AtomicReference<>();
+
+        try {
+            Future<ItemDtoToClient> update = transactionTemplate.execute(status -> {
+                service.createComment(booker.getId(), item.getId(), createCommentDtoFromClient("comment"));
+                Future<ItemDtoToClient> future = executor.submit(() -> {
+                    updater.set(Thread.currentThread());
+                    return service.update(owner.getId(), item.getId(),
+                            createItemDtoFromClient("updatedName", null, null, null));
+                });
+
+                try {
+                    awaitBlocked(updater);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                return future;
+            });
+
+            assertThat(update.get(10, TimeUnit.SECONDS), hasProperty("name", equalTo("updatedName")));
+            assertThat(service.readById(booker.getId(), item.getId()), allOf(
+                    hasProperty("name", equalTo("updatedName")),
+                    hasProperty("comments", contains(hasProperty("text", equalTo("comment"))))
+            ));
+            assertThat(itemRepository.findById(item.getId()).orElseThrow().getVersion(),
+                    equalTo(item.getVersion() + 2));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
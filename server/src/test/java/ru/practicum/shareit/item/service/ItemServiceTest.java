@@ -1,16 +1,21 @@
 package ru.practicum.shareit.item.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.experimental.FieldDefaults;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -23,6 +28,8 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchOrder;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
@@ -31,9 +38,16 @@ import ru.practicum.shareit.tools.factories.ItemRequestFactory;
 import ru.practicum.shareit.tools.factories.UserFactory;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -48,7 +62,8 @@ import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
 import static ru.practicum.shareit.tools.matchers.DateMatcher.near;
 import static ru.practicum.shareit.tools.matchers.ItemMatcher.equalToItem;
 
-@SpringBootTest(classes = {ItemServiceImpl.class, ItemMapperImpl.class, CommentMapperImpl.class})
+@SpringBootTest(classes = {ItemServiceImpl.class, ItemMapperImpl.class, CommentMapperImpl.class,
+        LikeItemSearchEngine.class, ItemResponseCache.class, JacksonAutoConfiguration.class})
 @SpringJUnitConfig({AppTestConfiguration.class})
 @FieldDefaults(level = AccessLevel.PRIVATE)
 class ItemServiceTest {
@@ -70,6 +85,21 @@ class ItemServiceTest {
     @MockBean
     CommentRepository commentRepository;
 
+    @SpyBean
+    LikeItemSearchEngine searchEngine;
+
+    @MockBean
+    EntityManager entityManager;
+
+    @MockBean
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ItemResponseCache responseCache;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
     ItemDtoFromClient requestItemDto;
 
     CommentDtoFromClient requestCommentDto;
@@ -108,6 +138,7 @@ class ItemServiceTest {
 
     @BeforeEach
     void setUp() {
+        responseCache.clear();
         requestItemDto = createItemDtoFromClient("itemName", "itemDescription", true,
                 requestId);
         requestCommentDto = createCommentDtoFromClient("commentText");
@@ -133,17 +164,18 @@ class ItemServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.create(userId, requestItemDto));
-        verify(itemRequestRepository, never()).findById(any());
+        verify(itemRequestRepository, never()).findForUpdateById(any());
         verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
     void create_withNotExistingRequestId_shouldThrowNotFoundException() {
         when(userRepository.findById(userId)).thenReturn(Optional.of(UserFactory.copyOf(user)));
-        when(itemRequestRepository.findById(requestId)).thenReturn(Optional.empty());
+        when(itemRequestRepository.findForUpdateById(requestId)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.create(userId, requestItemDto));
         verify(repository, never()).saveAndFlush(any());
+        verify(searchEngine, never()).index(any());
     }
 
     @Test
@@ -177,14 +209,15 @@ class ItemServiceTest {
                 hasProperty("comments", is(nullValue()))
         ));
 
-        verify(itemRequestRepository, never()).findById(any());
+        verify(itemRequestRepository, never()).findForUpdateById(any());
+        verify(searchEngine, times(1)).index(argThat(equalToItem(createdItem)));
     }
 
     @Test
     void create_withNotNullRequestId_shouldReturnDtoOfCreatedWithRequestItem() {
         ArgumentCaptor<Item> itemArgumentCaptor = ArgumentCaptor.forClass(Item.class);
         when(userRepository.findById(userId)).thenReturn(Optional.of(UserFactory.copyOf(user)));
-        when(itemRequestRepository.findById(requestId)).thenReturn(Optional.of(ItemRequestFactory.copyOf(request)));
+        when(itemRequestRepository.findForUpdateById(requestId)).thenReturn(Optional.of(ItemRequestFactory.copyOf(request)));
         when(repository.saveAndFlush(itemArgumentCaptor.capture())).thenReturn(copyOf(createdItem));
 
         ItemDtoToClient resultItemDto = service.create(userId, requestItemDto);
@@ -209,6 +242,9 @@ class ItemServiceTest {
                 hasProperty("nextBooking", is(nullValue())),
                 hasProperty("comments", is(nullValue()))
         ));
+
+        verify(entityManager, times(1)).lock(isA(ItemRequest.class),
+                eq(LockModeType.PESSIMISTIC_FORCE_INCREMENT));
     }
 
     @Test
@@ -229,16 +265,33 @@ class ItemServiceTest {
         verify(commentRepository, never()).saveAndFlush(any());
     }
 
+    @Test
+    void createComment_withNotExistingItem_shouldThrowNotFoundException() {
+        when(bookingRepository.getItemBookingsCountForBooker(id, userId, BookingStatus.APPROVED)).thenReturn(1L);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(UserFactory.copyOf(user)));
+        when(repository.findForUpdateById(id)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.createComment(userId, id, requestCommentDto));
+        verify(commentRepository, never()).saveAndFlush(any());
+        verify(entityManager, never()).lock(any(), any());
+    }
+
     @Test
     void createComment_shouldReturnDtoOfCreatedComment() {
+        responseCache.get(id, 0, () -> "cached");
         when(bookingRepository.getItemBookingsCountForBooker(id, userId, BookingStatus.APPROVED)).thenReturn(1L);
         when(userRepository.findById(userId)).thenReturn(Optional.of(UserFactory.copyOf(user)));
+        when(repository.findForUpdateById(id)).thenReturn(Optional.of(copyOf(existingItem)));
         ArgumentCaptor<Comment> commentArgumentCaptor = ArgumentCaptor.forClass(Comment.class);
         when(commentRepository.saveAndFlush(commentArgumentCaptor.capture())).thenReturn(copyOf(comment));
 
         CommentDtoToClient resultCommentDto = service.createComment(userId, id, requestCommentDto);
         Comment commentToRepository = commentArgumentCaptor.getValue();
 
+        verify(entityManager, times(1)).lock(isA(Item.class),
+                eq(LockModeType.PESSIMISTIC_FORCE_INCREMENT));
+        assertThat(responseCache.size(), equalTo(0));
+
         assertThat(commentToRepository, allOf(
                 hasProperty("id", is(nullValue())),
                 hasProperty("text", equalTo(requestCommentDto.getText())),
@@ -256,16 +309,36 @@ class ItemServiceTest {
         ));
     }
 
+    @Test
+    void readByOwner_withConsumer_shouldPassDtoOfEveryOwnerItemToConsumerLoadingBookingsPerChunk() {
+        List<Item> items = LongStream.rangeClosed(1, 150)
+                .mapToObj(itemId -> createItem(itemId, "name" + itemId, "description", true, user, null))
+                .collect(Collectors.toList());
+        when(repository.streamByOwner_IdOrderByIdAsc(userId)).thenReturn(items.stream());
+        List<ItemDtoToClient> streamed = new ArrayList<>();
+
+        service.readByOwner(userId, streamed::add);
+
+        assertThat(streamed.stream().map(ItemDtoToClient::getId).collect(Collectors.toList()),
+                equalTo(LongStream.rangeClosed(1, 150).boxed().collect(Collectors.toList())));
+        verify(bookingRepository, times(2)).findLastForItems(any(), any());
+        verify(bookingRepository, times(2)).findNextForItems(any(), any());
+        verify(commentRepository, times(2)).findByItem_IdInOrderByCreatedDesc(any());
+        verify(entityManager, times(2)).clear();
+    }
+
     @Test
     void readByOwner_shouldReturnDtoListOfOwnerItemsWithLastAndNextBookingAndComments() {
         OffsetPageRequest offsetPageRequest = OffsetPageRequest.ofOffset(from, size, sort);
         when(repository.findByOwner_Id(userId, offsetPageRequest))
                 .thenReturn(new PageImpl<>(List.of(copyOf(existingItem))));
-        when(bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(eq(existingItem.getId()),
-                argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(last)));
-        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(eq(existingItem.getId()),
-                argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(next)));
-        when(commentRepository.findByItem_IdOrderByCreatedDesc(existingItem.getId()))
+        last.setItem(existingItem);
+        next.setItem(existingItem);
+        when(bookingRepository.findLastForItems(eq(Set.of(existingItem.getId())),
+                argThat(near(LocalDateTime.now())))).thenReturn(List.of(BookingFactory.copyOf(last)));
+        when(bookingRepository.findNextForItems(eq(Set.of(existingItem.getId())),
+                argThat(near(LocalDateTime.now())))).thenReturn(List.of(BookingFactory.copyOf(next)));
+        when(commentRepository.findByItem_IdInOrderByCreatedDesc(Set.of(existingItem.getId())))
                 .thenReturn(List.of(copyOf(comment)));
 
         List<ItemDtoToClient> resultItemDtoList = service.readByOwner(userId, from, size);
@@ -299,12 +372,14 @@ class ItemServiceTest {
         OffsetPageRequest offsetPageRequest = OffsetPageRequest.ofOffset(from, size, sort);
         when(repository.findByQuery(query, offsetPageRequest)).thenReturn(new PageImpl<>(List.of(copyOf(existingItem),
                 copyOf(otherUserItem))));
-        when(bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(eq(existingItem.getId()),
-                argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(last)));
-        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(eq(existingItem.getId()),
-                argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(next)));
+        last.setItem(existingItem);
+        next.setItem(existingItem);
+        when(bookingRepository.findLastForItems(eq(Set.of(existingItem.getId())),
+                argThat(near(LocalDateTime.now())))).thenReturn(List.of(BookingFactory.copyOf(last)));
+        when(bookingRepository.findNextForItems(eq(Set.of(existingItem.getId())),
+                argThat(near(LocalDateTime.now())))).thenReturn(List.of(BookingFactory.copyOf(next)));
 
-        List<ItemDtoToClient> resultItemDtoList = service.readByQuery(userId, query, from, size);
+        List<ItemDtoToClient> resultItemDtoList = service.readByQuery(userId, query, ItemSearchOrder.ID, from, size);
 
         assertThat(resultItemDtoList, contains(
                 allOf(
@@ -334,13 +409,20 @@ class ItemServiceTest {
                 )
         ));
 
-        verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(any());
+        verify(commentRepository, never()).findByItem_IdInOrderByCreatedDesc(any());
+        verify(transactionManager, times(1)).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
 
-        verify(bookingRepository, never())
-                .findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(eq(otherUserItem.getId()), any());
+    @Test
+    void readByQuery_withEngineWithoutDatabase_shouldNotStartTransaction() {
+        doReturn(false).when(searchEngine).usesDatabase();
+        doReturn(List.of(copyOf(otherUserItem))).when(searchEngine).search("query", ItemSearchOrder.ID, from, size);
+
+        List<ItemDtoToClient> resultItemDtoList = service.readByQuery(userId, "query", ItemSearchOrder.ID, from,
+                size);
 
-        verify(bookingRepository, never())
-                .findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(eq(otherUserItem.getId()), any());
+        assertThat(resultItemDtoList, contains(hasProperty("id", equalTo(otherUserItem.getId()))));
+        verify(transactionManager, never()).getTransaction(any());
     }
 
     @Test
@@ -417,16 +499,110 @@ class ItemServiceTest {
     }
 
     @Test
-    void update_withNotExistingId_shouldThrowNotFoundException() {
+    void readById_withOtherUserAndMatchingETag_shouldReturnNullWithoutLoadingComments() {
+        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        List<String> eTags = new ArrayList<>();
+
+        ItemDtoToClient resultItemDto = service.readById(otherUserId, id, eTags::add);
+
+        assertThat(resultItemDto, is(nullValue()));
+        assertThat(eTags, equalTo(List.of("\"" + existingItem.getId() + "-" + existingItem.getVersion() + "\"")));
+        verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(any());
+    }
+
+    @Test
+    void readById_withOwnerAndMatchingETag_shouldReturnNullWithoutLoadingComments() {
+        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        when(bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(eq(existingItem.getId()),
+                argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(last)));
+        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(eq(existingItem.getId()),
+                argThat(near(LocalDateTime.now())))).thenReturn(Optional.empty());
+        List<String> eTags = new ArrayList<>();
+
+        ItemDtoToClient resultItemDto = service.readById(userId, id, eTags::add);
+
+        assertThat(resultItemDto, is(nullValue()));
+        assertThat(eTags, equalTo(List.of("\"" + existingItem.getId() + "-" + existingItem.getVersion() + "-"
+                + last.getId() + "-null\"")));
+        verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(any());
+    }
+
+    @Test
+    void readSerializedById_withOtherUser_shouldSerializeOnceAndReturnCachedJson() throws Exception {
+        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        when(commentRepository.findByItem_IdOrderByCreatedDesc(existingItem.getId()))
+                .thenReturn(List.of(copyOf(comment)));
+        byte[] expectedJson = objectMapper.writeValueAsBytes(service.readById(otherUserId, id));
+        clearInvocations(commentRepository);
+
+        byte[] firstJson = service.readSerializedById(otherUserId, id, eTag -> false);
+        byte[] secondJson = service.readSerializedById(otherUserId, id, eTag -> false);
+
+        assertThat(firstJson, equalTo(expectedJson));
+        assertThat(secondJson, sameInstance(firstJson));
+        verify(commentRepository, times(1)).findByItem_IdOrderByCreatedDesc(existingItem.getId());
+    }
+
+    @Test
+    void readSerializedById_withOtherUserAndNewerVersion_shouldSerializeAgain() {
+        Item changedItem = copyOf(existingItem);
+        changedItem.setVersion(existingItem.getVersion() + 1);
+        changedItem.setName("changedName");
+        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)))
+                .thenReturn(Optional.of(changedItem));
+
+        service.readSerializedById(otherUserId, id, eTag -> false);
+        byte[] resultJson = service.readSerializedById(otherUserId, id, eTag -> false);
+
+        assertThat(new String(resultJson, StandardCharsets.UTF_8), containsString("\"changedName\""));
+        verify(commentRepository, times(2)).findByItem_IdOrderByCreatedDesc(existingItem.getId());
+    }
+
+    @Test
+    void readSerializedById_withOtherUserAndMatchingETag_shouldReturnNullWithoutCaching() {
+        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+
+        byte[] resultJson = service.readSerializedById(otherUserId, id, eTag -> true);
+
+        assertThat(resultJson, is(nullValue()));
+        assertThat(responseCache.size(), equalTo(0));
+        verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(any());
+    }
+
+    @Test
+    void readSerializedById_withOwner_shouldSerializeLiveViewWithoutCaching() throws Exception {
+        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        when(bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(eq(existingItem.getId()),
+                argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(last)));
+        when(bookingRepository.findFirst1ByItem_IdAndStartGreaterThanOrderByStartAsc(eq(existingItem.getId()),
+                argThat(near(LocalDateTime.now())))).thenReturn(Optional.empty());
+
+        byte[] resultJson = service.readSerializedById(userId, id, eTag -> false);
+        service.readSerializedById(userId, id, eTag -> false);
+
+        assertThat(objectMapper.readTree(resultJson).get("lastBooking").get("id").asLong(), equalTo(last.getId()));
+        assertThat(responseCache.size(), equalTo(0));
+        verify(commentRepository, times(2)).findByItem_IdOrderByCreatedDesc(existingItem.getId());
+    }
+
+    @Test
+    void readSerializedById_withNotExistingId_shouldThrowNotFoundException() {
         when(repository.findById(id)).thenReturn(Optional.empty());
 
+        assertThrows(NotFoundException.class, () -> service.readSerializedById(otherUserId, id, eTag -> false));
+    }
+
+    @Test
+    void update_withNotExistingId_shouldThrowNotFoundException() {
+        when(repository.findForUpdateById(id)).thenReturn(Optional.empty());
+
         assertThrows(NotFoundException.class, () -> service.update(userId, id, requestItemDto));
         verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
     void update_withNotUserItem_shouldThrowAccessDeniedException() {
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        when(repository.findForUpdateById(id)).thenReturn(Optional.of(copyOf(existingItem)));
 
         assertThrows(AccessDeniedException.class, () -> service.update(otherUserId, id, requestItemDto));
         verify(repository, never()).saveAndFlush(any());
@@ -434,7 +610,10 @@ class ItemServiceTest {
 
     @Test
     void update_shouldReturnDtoOfUpdatedItemWithLastAndNextBookingAndWithoutComments() {
-        when(repository.findById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        responseCache.get(id, 0, () -> "cached");
+        when(repository.findForUpdateById(id)).thenReturn(Optional.of(copyOf(existingItem)));
+        when(itemRequestRepository.findForUpdateById(requestId))
+                .thenReturn(Optional.of(ItemRequestFactory.copyOf(request)));
         when(repository.saveAndFlush(argThat(equalToItem(updatedItem)))).thenReturn(copyOf(updatedItem));
         when(bookingRepository.findFirst1ByItem_IdAndEndLessThanOrderByEndDesc(eq(updatedItem.getId()),
                 argThat(near(LocalDateTime.now())))).thenReturn(Optional.of(BookingFactory.copyOf(last)));
@@ -461,5 +640,9 @@ class ItemServiceTest {
         ));
 
         verify(commentRepository, never()).findByItem_IdOrderByCreatedDesc(updatedItem.getId());
+        verify(searchEngine, times(1)).index(argThat(equalToItem(updatedItem)));
+        assertThat(responseCache.size(), equalTo(0));
+        verify(entityManager, times(1)).lock(isA(ItemRequest.class),
+                eq(LockModeType.PESSIMISTIC_FORCE_INCREMENT));
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.ItemRequestDtoFromClient;
 import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
@@ -32,9 +33,11 @@ import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
 import static ru.practicum.shareit.tools.factories.ItemRequestFactory.*;
 import static ru.practicum.shareit.tools.factories.UserFactory.createUser;
 import static ru.practicum.shareit.tools.matchers.HamcrestDateMatcher.*;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementBudget;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementCount;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
 @AutoConfigureTestDatabase
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemRequestControllerIntegrationTests {
@@ -71,6 +74,7 @@ public class ItemRequestControllerIntegrationTests {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(controller)
                 .setControllerAdvice(controllerErrorHandler)
+                .apply(sqlStatementBudget())
                 .build();
         requestor = createUser(null, "requestorName", "requestor@email.com");
         otherUser = createUser(null, "otherUserName", "otherUser@email.com");
@@ -175,6 +179,35 @@ public class ItemRequestControllerIntegrationTests {
                 );
     }
 
+    @Test
+    void readByUser_withPagination_shouldReturnPageOfUserRequestsWithItemsLoadedInOneQuery() throws Exception {
+        ItemRequest requestCreated1 = createItemRequest(null, "d1", now.minusSeconds(30), requestor);
+        ItemRequest requestCreated2 = createItemRequest(null, "d2", now.minusSeconds(20), requestor);
+        ItemRequest requestCreated3 = createItemRequest(null, "d3", now.minusSeconds(10), requestor);
+        em.persist(requestCreated1);
+        em.persist(requestCreated2);
+        em.persist(requestCreated3);
+        Item request2item1 = createItem(null, "n1", "d4", true, otherUser, requestCreated2);
+        Item request1item = createItem(null, "n2", "d5", true, otherUser, requestCreated1);
+        Item request2item2 = createItem(null, "n3", "d6", true, otherUser, requestCreated2);
+        em.persist(request2item1);
+        em.persist(request1item);
+        em.persist(request2item2);
+        em.flush();
+        em.clear();
+
+        mockMvc.perform(get("/requests?from=1&size=2").header("X-Sharer-User-Id", requestor.getId()))
+                .andExpectAll(status().isOk(),
+                        sqlStatementCount(equalTo(3)),
+                        jsonPath("$", hasSize(2)),
+                        jsonPath("$[0].id", equalTo(requestCreated2.getId()), Long.class),
+                        jsonPath("$[0].items[*].id", contains(request2item1.getId().intValue(),
+                                request2item2.getId().intValue())),
+                        jsonPath("$[1].id", equalTo(requestCreated1.getId()), Long.class),
+                        jsonPath("$[1].items[*].id", contains(request1item.getId().intValue()))
+                );
+    }
+
     @Test
     void readAll_shouldReturnDtoListOfOtherUsersRequestsSortedByCreatedDescWithPagination() throws Exception {
         ItemRequest requestCreated1OutOfPage = createItemRequest(null, "d1", now.minusSeconds(50),
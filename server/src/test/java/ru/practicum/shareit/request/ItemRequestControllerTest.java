@@ -10,6 +10,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
@@ -19,10 +20,13 @@ import ru.practicum.shareit.controller.ControllerErrorHandler;
 import ru.practicum.shareit.request.dto.ItemRequestDtoFromClient;
 import ru.practicum.shareit.request.dto.ItemRequestDtoToClient;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.support.Ndjson;
+import ru.practicum.shareit.support.PageSizeLimit;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +40,7 @@ import static ru.practicum.shareit.tools.matchers.ItemRequestDtoFromClientMatche
 
 @WebMvcTest(ItemRequestController.class)
 @SpringJUnitConfig({AppTestConfiguration.class})
+@Import(PageSizeLimit.class)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemRequestControllerTest {
     @Autowired
@@ -116,6 +121,14 @@ public class ItemRequestControllerTest {
                         get("/requests")
                                 .header("X-Sharer-User-Id", incorrectUserId)),
 
+                Arguments.of("readByUser with incorrect size",
+                        get("/requests?size=" + incorrectSize)
+                                .header("X-Sharer-User-Id", validUserId)),
+
+                Arguments.of("readByUser with incorrect from",
+                        get("/requests?from=" + incorrectFrom)
+                                .header("X-Sharer-User-Id", validUserId)),
+
                 Arguments.of("readAll with incorrect userId",
                         get("/requests/all")
                                 .header("X-Sharer-User-Id", incorrectUserId)),
@@ -165,9 +178,11 @@ public class ItemRequestControllerTest {
     @Test
     void request_withReadByUserEndPoint_shouldReturnStatusOkAndServiceReadByUserMethodResult()
             throws Exception {
-        doReturn(resultListDto).when(service).readByUser(validUserId);
+        Integer validFrom = 2;
+        Integer validSize = 10;
+        doReturn(resultListDto).when(service).readByUser(validUserId, validFrom, validSize);
 
-        mockMvc.perform(get("/requests")
+        mockMvc.perform(get("/requests?from=" + validFrom + "&size=" + validSize)
                         .header("X-Sharer-User-Id", validUserId))
                 .andExpect(content().json(objectMapper.writeValueAsString(resultListDto)))
                 .andExpect(status().isOk());
@@ -186,10 +201,40 @@ public class ItemRequestControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void request_withReadAllEndPointWithoutSize_shouldCallServiceWithMaxPageSize()
+            throws Exception {
+        doReturn(resultListDto).when(service).readAll(validUserId, 0, 100);
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", validUserId))
+                .andExpect(content().json(objectMapper.writeValueAsString(resultListDto)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_withReadAllEndPointAndNdjsonAccept_shouldStreamServiceResultAsJsonLines()
+            throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ItemRequestDtoToClient> consumer = invocation.getArgument(1);
+            consumer.accept(resultDto);
+            return null;
+        }).when(service).readAll(eq(validUserId), any());
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", validUserId)
+                        .accept(Ndjson.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(Ndjson.MEDIA_TYPE_VALUE))
+                .andExpect(content().string(objectMapper.writeValueAsString(resultDto) + "\n"));
+
+        verify(service, never()).readAll(any(), any(), any());
+    }
+
     @Test
     void request_withReadByIdEndPoint_shouldReturnStatusOkAndServiceReadByIdMethodResult()
             throws Exception {
-        doReturn(resultDto).when(service).readById(validUserId, validId);
+        doReturn(resultDto).when(service).readById(eq(validUserId), eq(validId), any());
 
         mockMvc.perform(get("/requests/" + validId)
                         .header("X-Sharer-User-Id", validUserId))
@@ -22,6 +22,7 @@ import javax.transaction.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -149,7 +150,7 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    void findByRequestor_IdOrderByCreatedDesc_shouldReturnListOfUserRequestsSortedByCreatedDesc() {
+    void findByRequestor_Id_shouldReturnPageOfUserRequestsSortedByCreatedDesc() {
         ItemRequest requestCreated1 = createItemRequest(null, "d1", now.minusSeconds(30), requestor);
         ItemRequest requestCreated2OtherUser = createItemRequest(null, "d2", now.minusSeconds(20),
                 otherUser);
@@ -162,13 +163,17 @@ class ItemRequestRepositoryTest {
         em.flush();
         Long userId = requestor.getId();
 
-        List<ItemRequest> result = repository.findByRequestor_IdOrderByCreatedDesc(userId);
+        List<ItemRequest> result = repository.findByRequestor_Id(userId,
+                OffsetPageRequest.ofOffset(0, null, Sort.by("created").descending()));
+        List<ItemRequest> page = repository.findByRequestor_Id(userId,
+                OffsetPageRequest.ofOffset(1, 1, Sort.by("created").descending()));
 
         assertThat(result, contains(
                 equalTo(requestCreated4),
                 equalTo(requestCreated3),
                 equalTo(requestCreated1)
         ));
+        assertThat(page, contains(equalTo(requestCreated3)));
     }
 
     @Test
@@ -199,4 +204,22 @@ class ItemRequestRepositoryTest {
                 equalTo(requestCreated2)
         ));
     }
+
+    @Test
+    void streamByRequestor_IdNotOrderByCreatedDesc_shouldStreamAllNotUserRequestsSortedByCreatedDesc() {
+        ItemRequest requestCreated1 = createItemRequest(null, "d1", now.minusSeconds(30), requestor);
+        ItemRequest requestCreated2ByUser = createItemRequest(null, "d2", now.minusSeconds(20), otherUser);
+        ItemRequest requestCreated3 = createItemRequest(null, "d3", now.minusSeconds(10), requestor);
+        em.persist(requestCreated1);
+        em.persist(requestCreated2ByUser);
+        em.persist(requestCreated3);
+        em.flush();
+
+        try (Stream<ItemRequest> result = repository.streamByRequestor_IdNotOrderByCreatedDesc(otherUser.getId())) {
+            assertThat(result.collect(Collectors.toList()), contains(
+                    equalTo(requestCreated3),
+                    equalTo(requestCreated1)
+            ));
+        }
+    }
 }
\ No newline at end of file
@@ -11,6 +11,7 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.Matchers.nullValue;
@@ -56,6 +57,47 @@ class ItemRequestMapperTest {
         ));
     }
 
+    @Test
+    void toDtoList_withRepository_shouldLoadItemsOfAllRequestsInOneQuery() {
+        ItemRequest first = createItemRequest(10L, "first", LocalDateTime.now(), createUser(1000L, "name", "email"));
+        ItemRequest second = createItemRequest(20L, "second", LocalDateTime.now(), createUser(1000L, "name", "email"));
+        ItemRequest third = createItemRequest(30L, "third", LocalDateTime.now(), createUser(1000L, "name", "email"));
+        List<Item> items = List.of(
+                createItem(1L, "itemName1", "itemDesc1", true, null, second),
+                createItem(2L, "itemName2", "itemDesc2", true, null, first),
+                createItem(3L, "itemName3", "itemDesc3", true, null, second));
+        when(repository.findByRequest_IdInOrderByIdAsc(Set.of(10L, 20L, 30L))).thenReturn(items);
+
+        List<ItemRequestDtoToClient> targets = itemRequestMapper.toDtoList(List.of(first, second, third), repository);
+
+        assertThat(targets, contains(
+                allOf(hasProperty("id", equalTo(10L)),
+                        hasProperty("items", contains(hasProperty("id", equalTo(2L))))),
+                allOf(hasProperty("id", equalTo(20L)),
+                        hasProperty("items", contains(hasProperty("id", equalTo(1L)), hasProperty("id", equalTo(3L))))),
+                allOf(hasProperty("id", equalTo(30L)),
+                        hasProperty("items", is(empty())))
+        ));
+        verify(repository, times(1)).findByRequest_IdInOrderByIdAsc(anyCollection());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void toDtoList_withNullRepository_shouldReturnDtoListWithNullItems() {
+        ItemRequest source = createItemRequest(10L, "name", LocalDateTime.now(), createUser(1000L, "name", "email"));
+
+        assertThat(itemRequestMapper.toDtoList(List.of(source), null), contains(allOf(
+                hasProperty("id", equalTo(source.getId())),
+                hasProperty("items", is(nullValue()))
+        )));
+    }
+
+    @Test
+    void toDtoList_withEmptyListAndRepository_shouldNotQueryItems() {
+        assertThat(itemRequestMapper.toDtoList(List.of(), repository), is(empty()));
+        verifyNoInteractions(repository);
+    }
+
     @Test
     void toDto_withNullAndNullRepository_shouldReturnNull() {
         assertThat(itemRequestMapper.toDto(null, null), is(nullValue()));
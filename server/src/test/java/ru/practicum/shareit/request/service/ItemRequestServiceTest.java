@@ -25,8 +25,10 @@ import ru.practicum.shareit.tools.factories.ItemFactory;
 import ru.practicum.shareit.tools.factories.UserFactory;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -54,6 +56,9 @@ class ItemRequestServiceTest {
     @MockBean
     ItemRequestRepository repository;
 
+    @MockBean
+    EntityManager entityManager;
+
     ItemRequestDtoFromClient requestDto;
 
     final Long id = 1L;
@@ -151,17 +156,21 @@ class ItemRequestServiceTest {
     void readByUser_withNotExistingUser_shouldThrowNotFoundException() {
         when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> service.readByUser(userId));
+        assertThrows(NotFoundException.class, () -> service.readByUser(userId, 0, null));
     }
 
     @Test
-    void readByUser_shouldReturnDtoListOfUserRequestsWithItems() {
+    void readByUser_shouldReturnDtoListFromPageOfUserRequestsWithItems() {
+        Integer from = 2;
+        Integer size = 5;
+        OffsetPageRequest pageRequest =
+                OffsetPageRequest.ofOffset(from, size, Sort.by("created").descending());
         when(userRepository.findById(userId)).thenReturn(Optional.of(UserFactory.copyOf(user)));
-        when(repository.findByRequestor_IdOrderByCreatedDesc(userId)).thenReturn(List.of(copyOf(existingRequest)));
-        when(itemRepository.findByRequest_IdOrderByIdAsc(existingRequest.getId()))
+        when(repository.findByRequestor_Id(userId, pageRequest)).thenReturn(List.of(copyOf(existingRequest)));
+        when(itemRepository.findByRequest_IdInOrderByIdAsc(Set.of(existingRequest.getId())))
                 .thenReturn(List.of(ItemFactory.copyOf(item)));
 
-        List<ItemRequestDtoToClient> resultRequestDtoList = service.readByUser(userId);
+        List<ItemRequestDtoToClient> resultRequestDtoList = service.readByUser(userId, from, size);
 
         assertThat(resultRequestDtoList, contains(allOf(
                 hasProperty("id", equalTo(existingRequest.getId())),
@@ -186,7 +195,8 @@ class ItemRequestServiceTest {
         when(userRepository.findById(userId)).thenReturn(Optional.of(UserFactory.copyOf(user)));
         when(repository.findByRequestor_IdNot(userId, pageRequest))
                 .thenReturn(new PageImpl<>(List.of(copyOf(existingRequest))));
-        when(itemRepository.findByRequest_IdOrderByIdAsc(existingRequest.getId())).thenReturn(List.of(ItemFactory.copyOf(item)));
+        when(itemRepository.findByRequest_IdInOrderByIdAsc(Set.of(existingRequest.getId())))
+                .thenReturn(List.of(ItemFactory.copyOf(item)));
 
         List<ItemRequestDtoToClient> resultRequestDtoList = service.readAll(userId, from, size);
 
@@ -203,4 +213,21 @@ class ItemRequestServiceTest {
                 )))
         )));
     }
+
+    @Test
+    void readAll_withConsumer_shouldPassDtoOfEveryOtherUsersRequestWithItemsToConsumer() {
+        when(repository.streamByRequestor_IdNotOrderByCreatedDesc(userId))
+                .thenReturn(Stream.of(copyOf(existingRequest)));
+        when(itemRepository.findByRequest_IdInOrderByIdAsc(Set.of(existingRequest.getId())))
+                .thenReturn(List.of(ItemFactory.copyOf(item)));
+        List<ItemRequestDtoToClient> streamed = new ArrayList<>();
+
+        service.readAll(userId, streamed::add);
+
+        assertThat(streamed, contains(allOf(
+                hasProperty("id", equalTo(existingRequest.getId())),
+                hasProperty("items", contains(hasProperty("id", equalTo(item.getId()))))
+        )));
+        verify(entityManager, times(1)).clear();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class AfterCommitTest {
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void run_withoutTransaction_shouldRunActionImmediately() {
+        AtomicInteger runs = new AtomicInteger();
+
+        AfterCommit.run(runs::incrementAndGet);
+
+        assertThat(runs.get(), equalTo(1));
+    }
+
+    @Test
+    void run_withTransaction_shouldRunActionOnlyAfterCommit() {
+        AtomicInteger runs = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCommit.run(runs::incrementAndGet);
+
+        assertThat(runs.get(), equalTo(0));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(runs.get(), equalTo(1));
+    }
+
+    @Test
+    void run_withRolledBackTransaction_shouldNotRunAction() {
+        AtomicInteger runs = new AtomicInteger();
+        TransactionSynchronizationManager.initSynchronization();
+
+        AfterCommit.run(runs::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(runs.get(), equalTo(0));
+    }
+}
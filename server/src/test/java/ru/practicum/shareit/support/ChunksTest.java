@@ -0,0 +1,33 @@
+package ru.practicum.shareit.support;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ChunksTest {
+    @Test
+    void forEach_shouldPassElementsInOrderInChunksOfSize() {
+        List<List<Integer>> chunks = new ArrayList<>();
+
+        Chunks.forEach(IntStream.range(0, 2 * Chunks.SIZE + 1).boxed(), chunks::add);
+
+        assertThat(chunks.stream().map(List::size).collect(Collectors.toList()),
+                contains(Chunks.SIZE, Chunks.SIZE, 1));
+        assertThat(chunks.stream().flatMap(List::stream).collect(Collectors.toList()),
+                equalTo(IntStream.range(0, 2 * Chunks.SIZE + 1).boxed().collect(Collectors.toList())));
+    }
+
+    @Test
+    void forEach_withEmptyStream_shouldNotCallAction() {
+        List<List<Object>> chunks = new ArrayList<>();
+
+        Chunks.forEach(Stream.empty(), chunks::add);
+
+        assertThat(chunks, is(empty()));
+    }
+}
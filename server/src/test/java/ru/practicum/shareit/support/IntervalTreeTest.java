@@ -0,0 +1,115 @@
+package ru.practicum.shareit.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import java.util.stream.Stream;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntervalTreeTest {
+    private IntervalTree<Integer> createTree() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        tree.add(1, 10, 20);
+        tree.add(2, 30, 40);
+        tree.add(3, 50, 60);
+        return tree;
+    }
+
+    private static Stream<Arguments> overlapping() {
+        return Stream.of(
+                Arguments.of("inside interval", 12, 15),
+                Arguments.of("covering interval", 5, 25),
+                Arguments.of("crossing start", 25, 31),
+                Arguments.of("crossing end", 59, 70),
+                Arguments.of("same interval", 30, 40),
+                Arguments.of("covering several intervals", 0, 100)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("overlapping")
+    void overlaps_withOverlappingInterval_shouldReturnTrue(String testName, Integer start, Integer end) {
+        assertThat(createTree().overlaps(start, end), is(true));
+    }
+
+    private static Stream<Arguments> notOverlapping() {
+        return Stream.of(
+                Arguments.of("before all", 0, 5),
+                Arguments.of("after all", 70, 80),
+                Arguments.of("between intervals", 21, 29),
+                Arguments.of("ends at interval start", 25, 30),
+                Arguments.of("starts at interval end", 40, 45)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("notOverlapping")
+    void overlaps_withNotOverlappingInterval_shouldReturnFalse(String testName, Integer start, Integer end) {
+        assertThat(createTree().overlaps(start, end), is(false));
+    }
+
+    @Test
+    void overlaps_withEmptyTree_shouldReturnFalse() {
+        assertThat(new IntervalTree<Integer>().overlaps(0, 100), is(false));
+    }
+
+    @Test
+    void add_withSameId_shouldNotAddDuplicate() {
+        IntervalTree<Integer> tree = createTree();
+
+        tree.add(2, 30, 40);
+
+        assertThat(tree.size(), equalTo(3));
+    }
+
+    @Test
+    void add_withSameStartAndDifferentId_shouldAddInterval() {
+        IntervalTree<Integer> tree = createTree();
+
+        tree.add(4, 30, 35);
+
+        assertThat(tree.size(), equalTo(4));
+    }
+
+    @Test
+    void add_withNullBound_shouldThrowIllegalArgumentException() {
+        IntervalTree<Integer> tree = createTree();
+
+        assertThrows(IllegalArgumentException.class, () -> tree.add(4, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> tree.add(4, 10, null));
+        assertThat(tree.size(), equalTo(3));
+    }
+
+    @Test
+    void add_withSortedIntervals_shouldKeepTreeBalanced() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        int count = 1 << 12;
+
+        for (int i = 0; i < count; i++) {
+            tree.add(i, i * 10, i * 10 + 5);
+        }
+
+        assertThat(tree.size(), equalTo(count));
+        assertThat(tree.height(), lessThanOrEqualTo(18));
+        assertThat(tree.overlaps(0, 1), is(true));
+        assertThat(tree.overlaps((count - 1) * 10 + 4, count * 10), is(true));
+        assertThat(tree.overlaps(count / 2 * 10 + 5, count / 2 * 10 + 10), is(false));
+    }
+
+    @Test
+    void overlaps_withLongIntervalInLeftSubtree_shouldReturnTrue() {
+        IntervalTree<Integer> tree = new IntervalTree<>();
+
+        tree.add(1, 0, 1000);
+
+        for (int i = 2; i < 100; i++) {
+            tree.add(i, i * 10, i * 10 + 1);
+        }
+
+        assertThat(tree.overlaps(995, 999), is(true));
+        assertThat(tree.overlaps(1000, 1001), is(false));
+    }
+}
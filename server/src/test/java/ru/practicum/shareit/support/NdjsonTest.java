@@ -0,0 +1,35 @@
+package ru.practicum.shareit.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class NdjsonTest {
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void write_shouldWriteEveryValueAsJsonLine() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Ndjson.write(objectMapper, outputStream, consumer -> {
+            consumer.accept(Map.of("id", 1));
+            consumer.accept(Map.of("id", 2));
+        });
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8), equalTo("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void write_withoutValues_shouldWriteNothing() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        Ndjson.write(objectMapper, outputStream, consumer -> {
+        });
+
+        assertThat(outputStream.size(), equalTo(0));
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageSizeLimitTest {
+    final DefaultLocaleMessageSource messageSource = new AppTestConfiguration().messageSource();
+
+    final PageSizeLimit limit = new PageSizeLimit(messageSource, 100);
+
+    @Test
+    void apply_withoutSize_shouldReturnMaxPageSize() {
+        assertThat(limit.apply(null), equalTo(100));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {101, Integer.MAX_VALUE})
+    void apply_withSizeOverMax_shouldThrowBadRequestException(int size) {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> limit.apply(size));
+
+        assertThat(exception.getErrors(), hasKey("size"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 1, 100})
+    void apply_withSizeNotOverMax_shouldReturnSize(int size) {
+        assertThat(limit.apply(size), equalTo(size));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0})
+    void constructor_withNotPositiveMaxPageSize_shouldThrowIllegalArgumentException(int maxPageSize) {
+        assertThrows(IllegalArgumentException.class, () -> new PageSizeLimit(messageSource, maxPageSize));
+    }
+}
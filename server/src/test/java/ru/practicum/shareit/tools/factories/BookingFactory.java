@@ -5,6 +5,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoFromClient;
 import ru.practicum.shareit.booking.dto.BookingDtoToClient;
 import ru.practicum.shareit.booking.dto.ItemDtoToClient;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingListEntry;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -45,6 +46,13 @@ public class BookingFactory {
         return bookerDto;
     }
 
+    public static BookingListEntry createBookingListEntry(Booking booking) {
+        return new BookingListEntry(booking.getId(), booking.getStart(), booking.getEnd(), booking.getStatus(),
+                booking.getItem() == null ? null : booking.getItem().getId(),
+                booking.getItem() == null ? null : booking.getItem().getName(),
+                booking.getBooker() == null ? null : booking.getBooker().getId());
+    }
+
     public static Booking copyOf(Booking booking) {
         Booking copy = new Booking();
         copy.setId(booking.getId());
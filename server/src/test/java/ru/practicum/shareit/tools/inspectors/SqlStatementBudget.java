@@ -0,0 +1,104 @@
+package ru.practicum.shareit.tools.inspectors;
+
+import org.hamcrest.Matcher;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.ConfigurableMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcConfigurerAdapter;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Properties;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class SqlStatementBudget extends MockMvcConfigurerAdapter {
+    public static final String BUDGET_FILE = "/sql-statement-budget.properties";
+
+    private static final String STATEMENTS_ATTRIBUTE = SqlStatementBudget.class.getName() + ".statements";
+
+    private static final Properties budgets = loadBudgets();
+
+    public static SqlStatementBudget sqlStatementBudget() {
+        return new SqlStatementBudget();
+    }
+
+    public static ResultMatcher sqlStatementCount(Matcher<? super Integer> matcher) {
+        return result -> {
+            List<String> statements = statementsOf(result);
+            assertThat("SQL statements " + statements, statements.size(), matcher);
+        };
+    }
+
+    @Override
+    public void afterConfigurerAdded(ConfigurableMockMvcBuilder<?> builder) {
+        builder.addFilters(new RecordingFilter()).alwaysDo(SqlStatementBudget::checkBudget);
+    }
+
+    private static void checkBudget(MvcResult result) {
+        if (!(result.getHandler() instanceof HandlerMethod)) {
+            return;
+        }
+
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        String endpoint = handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName();
+        List<String> statements = statementsOf(result);
+        String budget = budgets.getProperty(endpoint);
+
+        if (budget == null) {
+            throw new AssertionError("No SQL statement budget for " + endpoint + " in " + BUDGET_FILE
+                    + ", it executed " + statements.size() + " statements: " + statements);
+        }
+
+        assertThat("SQL statements of " + endpoint + " over budget in " + BUDGET_FILE + ": " + statements,
+                statements.size(), lessThanOrEqualTo(Integer.parseInt(budget.trim())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> statementsOf(MvcResult result) {
+        List<String> statements = (List<String>) result.getRequest().getAttribute(STATEMENTS_ATTRIBUTE);
+
+        if (statements == null) {
+            throw new IllegalStateException("SQL statements were not recorded, apply sqlStatementBudget() to MockMvc");
+        }
+
+        return statements;
+    }
+
+    private static Properties loadBudgets() {
+        Properties properties = new Properties();
+
+        try (InputStream input = SqlStatementBudget.class.getResourceAsStream(BUDGET_FILE)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing " + BUDGET_FILE + " on the test classpath");
+            }
+
+            properties.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return properties;
+    }
+
+    private static class RecordingFilter extends OncePerRequestFilter {
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            StatementRecorder.clear();
+
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                request.setAttribute(STATEMENTS_ATTRIBUTE, StatementRecorder.getStatements());
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.tools.inspectors;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class StatementRecorder implements StatementInspector {
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "ru.practicum.shareit.tools.inspectors.StatementRecorder";
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    public static List<String> getStatements() {
+        return List.copyOf(statements);
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+}
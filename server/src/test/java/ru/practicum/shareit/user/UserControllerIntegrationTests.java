@@ -12,6 +12,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.controller.ControllerErrorHandler;
+import ru.practicum.shareit.tools.inspectors.StatementRecorder;
 import ru.practicum.shareit.user.dto.UserDtoFromClient;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
@@ -24,9 +25,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static ru.practicum.shareit.tools.factories.UserFactory.createUserDtoFromClient;
 import static ru.practicum.shareit.tools.factories.UserFactory.*;
+import static ru.practicum.shareit.tools.inspectors.SqlStatementBudget.sqlStatementBudget;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
 @AutoConfigureTestDatabase
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class UserControllerIntegrationTests {
@@ -57,6 +59,7 @@ public class UserControllerIntegrationTests {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(controller)
                 .setControllerAdvice(controllerErrorHandler)
+                .apply(sqlStatementBudget())
                 .build();
     }
 
@@ -10,19 +10,33 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import ru.practicum.shareit.booking.service.ApprovedBookingsIndex;
 import ru.practicum.shareit.exception.AlreadyExistException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemResponseCache;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.tools.configuration.AppTestConfiguration;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDtoFromClient;
 import ru.practicum.shareit.user.dto.UserDtoToClient;
 import ru.practicum.shareit.user.dto.UserMapperImpl;
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
 import java.util.*;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.tools.factories.ItemFactory.createItem;
+import static ru.practicum.shareit.tools.factories.ItemRequestFactory.createItemRequest;
 import static ru.practicum.shareit.tools.factories.UserFactory.*;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -39,6 +53,28 @@ class UserServiceTest {
     @MockBean
     UserRepository repository;
 
+    @MockBean
+    ApprovedBookingsIndex approvedBookingsIndex;
+
+    @MockBean
+    ItemSearchEngine itemSearchEngine;
+
+    @MockBean
+    ItemRepository itemRepository;
+
+    @MockBean
+    ItemRequestRepository itemRequestRepository;
+
+    @MockBean
+    EntityManager entityManager;
+
+    @MockBean
+    ItemResponseCache itemResponseCache;
+
+    final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+
+    final Cache cache = mock(Cache.class);
+
     final RuntimeException emailConstraintException = new RuntimeException("UQ_USER_EMAIL constraint");
 
     final Long id = 1L;
@@ -57,6 +93,8 @@ class UserServiceTest {
         createdUser = createUser(id, requestUserDto.getName(), requestUserDto.getEmail());
         updatedUser = copyOf(createdUser);
         existingUser = createUser(id, "n2", "e2");
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
     }
 
     @Test
@@ -130,7 +168,7 @@ class UserServiceTest {
 
     @Test
     void update_withNotExistingId_shouldThrowNotFoundException() {
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findForUpdateById(id)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> service.update(id, requestUserDto));
         verify(repository, never()).saveAndFlush(any());
@@ -138,7 +176,7 @@ class UserServiceTest {
 
     @Test
     void update_withNotUniqueEmail_shouldThrowAlreadyExistException() {
-        when(repository.findById(id)).thenReturn(Optional.of(existingUser));
+        when(repository.findForUpdateById(id)).thenReturn(Optional.of(existingUser));
         when(repository.saveAndFlush(argThat(equalToUser(updatedUser))))
                 .thenThrow(emailConstraintException);
 
@@ -147,7 +185,9 @@ class UserServiceTest {
 
     @Test
     void update_shouldReturnUpdatedUserDto() {
-        when(repository.findById(id)).thenReturn(Optional.of(existingUser));
+        Item commentedItem = createItem(2L, "name", "description", true, createUser(3L, null, null), null);
+        when(repository.findForUpdateById(id)).thenReturn(Optional.of(existingUser));
+        when(itemRepository.findForUpdateByCommentAuthor(id)).thenReturn(List.of(commentedItem));
         when(repository.saveAndFlush(argThat(equalToUser(updatedUser))))
                 .thenReturn(copyOf(updatedUser));
 
@@ -158,6 +198,20 @@ class UserServiceTest {
                 hasProperty("name", equalTo(updatedUser.getName())),
                 hasProperty("email", equalTo(updatedUser.getEmail()))
         ));
+        verify(entityManager, times(1)).lock(commentedItem, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    void update_withSameName_shouldNotIncrementCommentedItemsVersions() {
+        existingUser.setName(requestUserDto.getName());
+        when(repository.findForUpdateById(id)).thenReturn(Optional.of(existingUser));
+        when(repository.saveAndFlush(argThat(equalToUser(updatedUser))))
+                .thenReturn(copyOf(updatedUser));
+
+        service.update(id, requestUserDto);
+
+        verify(itemRepository, never()).findForUpdateByCommentAuthor(any());
+        verify(entityManager, never()).lock(any(), any());
     }
 
     @Test
@@ -165,12 +219,33 @@ class UserServiceTest {
         doThrow(new EmptyResultDataAccessException(1)).when(repository).deleteById(id);
 
         assertThrows(NotFoundException.class, () -> service.delete(id));
+        verify(approvedBookingsIndex, never()).clear();
+        verify(itemSearchEngine, never()).removeByOwner(any());
+        verify(cache, never()).evict(any(), any());
+        verify(itemResponseCache, never()).evictAll(any());
     }
 
     @Test
     void delete_shouldInvokeRepositoryDeleteByIdMethodWithSelectedId() {
+        User otherUser = createUser(3L, null, null);
+        Item otherItem = createItem(4L, "name", "description", true, otherUser, null);
+        ItemRequest otherRequest = createItemRequest(5L, "description", LocalDateTime.now(), otherUser);
+        when(itemRepository.findIdsByOwnerId(id)).thenReturn(List.of(6L));
+        when(itemRequestRepository.findIdsByRequestorId(id)).thenReturn(List.of(7L));
+        when(itemRepository.findForUpdateByOtherOwnerAndCommentAuthorOrRequestor(id)).thenReturn(List.of(otherItem));
+        when(itemRequestRepository.findForUpdateByOtherRequestorAndItemOwner(id)).thenReturn(List.of(otherRequest));
+
         service.delete(id);
 
         verify(repository, times(1)).deleteById(id);
+        verify(entityManager, times(1)).lock(otherItem, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        verify(entityManager, times(1)).lock(otherRequest, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        verify(cache, times(1)).evict(Item.class, 6L);
+        verify(cache, times(1)).evict(ItemRequest.class, 7L);
+        verify(cache, never()).evictAll();
+        verify(itemResponseCache, times(1)).evictAll(List.of(6L));
+        verify(approvedBookingsIndex, times(1)).clear();
+        verify(itemSearchEngine, times(1)).removeByOwner(id);
+        verify(itemSearchEngine, never()).rebuild();
     }
 }
\ No newline at end of file